@@ -0,0 +1,109 @@
+package org.drools.drlx.perf;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.drlx.builder.DrlxPropertyAccessMode;
+import org.drools.drlx.domain.Person;
+import org.drools.drlx.tools.DrlxCompiler;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.mvel3.lambdaextractor.LambdaRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark measuring beta constraint evaluation cost (fireAllRules on join rule
+ * types) with reflective vs direct property access in {@code DrlxLambdaBetaConstraint}.
+ * Several facts per entry point make the join checks dominate the session work.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 3, jvmArgsAppend = {"-Dmvel3.compiler.lambda.persistence=false", "-Dmvel3.compiler.lambda.resetOnTestStartup=true"})
+public class BetaJoinPropertyAccessBenchmark {
+
+    @Param({"100"})
+    private int ruleCount;
+
+    @Param({"10"})
+    private int factCount;
+
+    @Param({"join", "multiJoin"})
+    private String ruleType;
+
+    @Param({"direct", "reflection"})
+    private String propertyAccess;
+
+    private KieBase drlxKieBase;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Accessors are bound while the KieBase is built
+        System.setProperty(DrlxPropertyAccessMode.PROPERTY, propertyAccess);
+
+        String drlxSource = DrlxSourceGenerator.generateDrlx(ruleCount, ruleType);
+        LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+        drlxKieBase = DrlxCompiler.noPersist().build(drlxSource);
+
+        // Redirect System.out to avoid println noise from rule consequences
+        originalOut = System.out;
+        System.setOut(new PrintStream(java.io.OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+        System.clearProperty(DrlxPropertyAccessMode.PROPERTY);
+    }
+
+    @Benchmark
+    public int fireWithDrlx() {
+        KieSession ks = drlxKieBase.newKieSession();
+        insertFacts(ks.getEntryPoint("persons1"));
+        insertFacts(ks.getEntryPoint("persons2"));
+        if ("multiJoin".equals(ruleType)) {
+            insertFacts(ks.getEntryPoint("persons3"));
+        }
+        int fired = ks.fireAllRules();
+        ks.dispose();
+        return fired;
+    }
+
+    private void insertFacts(EntryPoint entryPoint) {
+        for (int i = 0; i < factCount; i++) {
+            entryPoint.insert(new Person("Person" + i, 20 + i * 5));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        Options opt = new OptionsBuilder()
+                .parent(cmdOptions)
+                .include(BetaJoinPropertyAccessBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -5,6 +5,9 @@ package org.drools.drlx.perf;
  */
 public final class DrlxSourceGenerator {
 
+    /** Width of the overlapping age bands generated for the "banding" rule type. */
+    static final int BAND_WIDTH = 5;
+
     private DrlxSourceGenerator() {
         // Utility class
     }
@@ -14,6 +17,9 @@ public final class DrlxSourceGenerator {
             case "join" -> generateDrlJoin(count);
             case "multiJoin" -> generateDrlMultiJoin(count);
             case "multiAlpha" -> generateDrlMultiAlpha(count);
+            case "alphaHash" -> generateDrlAlphaHash(count);
+            case "banding" -> generateDrlBanding(count);
+            case "groupBy" -> generateDrlGroupBy(count);
             default -> generateDrlAlpha(count);
         };
     }
@@ -23,6 +29,9 @@ public final class DrlxSourceGenerator {
             case "join" -> generateDrlxJoin(count);
             case "multiJoin" -> generateDrlxMultiJoin(count);
             case "multiAlpha" -> generateDrlxMultiAlpha(count);
+            case "alphaHash" -> generateDrlxAlphaHash(count);
+            case "banding" -> generateDrlxBanding(count);
+            case "groupBy" -> generateDrlxGroupBy(count);
             default -> generateDrlxAlpha(count);
         };
     }
@@ -152,4 +161,108 @@ public final class DrlxSourceGenerator {
         }
         return sb.toString();
     }
+
+    static String generateDrlAlphaHash(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package org.drools.drlx.perf;\n\n");
+        sb.append("import org.drools.drlx.domain.Person;\n\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("rule \"Rule_").append(i).append("\"\n");
+            sb.append("when\n");
+            sb.append("    $p : Person( value1 == \"V").append(i).append("\" ) from entry-point \"persons\"\n");
+            sb.append("then\n");
+            sb.append("    System.out.println($p);\n");
+            sb.append("end\n\n");
+        }
+        return sb.toString();
+    }
+
+    static String generateDrlxAlphaHash(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package org.drools.drlx.perf;\n\n");
+        sb.append("import org.drools.drlx.domain.Person;\n");
+        sb.append("import org.drools.drlx.ruleunit.MyUnit;\n\n");
+        sb.append("unit MyUnit;\n\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("rule Rule_").append(i).append(" {\n");
+            sb.append("    Person p : /persons[ value1 == \"V").append(i).append("\" ],\n");
+            sb.append("    do { System.out.println(p); }\n");
+            sb.append("}\n\n");
+        }
+        return sb.toString();
+    }
+
+    static String generateDrlBanding(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package org.drools.drlx.perf;\n\n");
+        sb.append("import org.drools.drlx.domain.Person;\n\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("rule \"Rule_").append(i).append("\"\n");
+            sb.append("when\n");
+            sb.append("    $p : Person( age >= ").append(i).append(" && age < ").append(i + BAND_WIDTH).append(" ) from entry-point \"persons\"\n");
+            sb.append("then\n");
+            sb.append("    System.out.println($p);\n");
+            sb.append("end\n\n");
+        }
+        return sb.toString();
+    }
+
+    static String generateDrlxBanding(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package org.drools.drlx.perf;\n\n");
+        sb.append("import org.drools.drlx.domain.Person;\n");
+        sb.append("import org.drools.drlx.ruleunit.MyUnit;\n\n");
+        sb.append("unit MyUnit;\n\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("rule Rule_").append(i).append(" {\n");
+            sb.append("    Person p : /persons[ age >= ").append(i).append(" && age < ").append(i + BAND_WIDTH).append(" ],\n");
+            sb.append("    do { System.out.println(p); }\n");
+            sb.append("}\n\n");
+        }
+        return sb.toString();
+    }
+
+    static String generateDrlGroupBy(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package org.drools.drlx.perf;\n\n");
+        sb.append("import org.drools.drlx.domain.Person;\n\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("rule \"Rule_").append(i).append("\"\n");
+            sb.append("when\n");
+            sb.append("    groupby( $p : Person( age > ").append(i).append(" ) from entry-point \"persons\";\n");
+            sb.append("             $g : $p.getValue1();\n");
+            sb.append("             $total : sum( $p.getAge() ) )\n");
+            sb.append("then\n");
+            sb.append("    System.out.println($g + \" \" + $total);\n");
+            sb.append("end\n\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * groupBy rules; even rules use an accumulate function, odd rules the equivalent
+     * custom accumulator, so both groupBy forms of the RuleAST are exercised.
+     */
+    static String generateDrlxGroupBy(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package org.drools.drlx.perf;\n\n");
+        sb.append("import org.drools.drlx.domain.Person;\n");
+        sb.append("import org.drools.drlx.ruleunit.MyUnit;\n\n");
+        sb.append("unit MyUnit;\n\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("rule Rule_").append(i).append(" {\n");
+            sb.append("    groupBy(var p : /persons[ age > ").append(i).append(" ],\n");
+            sb.append("            var g = p.value1,\n");
+            if (i % 2 == 0) {
+                sb.append("            var total = sum(p.age)),\n");
+            } else {
+                sb.append("            int s = 0;,\n");
+                sb.append("            (s = s + p.age, s = s - p.age),\n");
+                sb.append("            int total = s),\n");
+            }
+            sb.append("    do { System.out.println(g + \" \" + total); }\n");
+            sb.append("}\n\n");
+        }
+        return sb.toString();
+    }
 }
@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.concurrent.TimeUnit;
 
 import org.drools.drlx.builder.DrlxBuildCacheStrategy;
+import org.drools.drlx.builder.DrlxLambdaDefineMode;
 import org.drools.drlx.domain.Person;
 import org.drools.drlx.tools.DrlxCompiler;
 import org.kie.api.KieBase;
@@ -50,7 +51,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
  * <pre>
  * java -jar target/drlx-benchmarks.jar \
  *   -jvmArgs "-Xms4g -Xmx4g" \
- *   -f 5 -wi 0 -i 1 -bm ss -p ruleCount=100 \
+ *   -f 5 -wi 0 -i 1 -bm ss -p ruleCount=100 -p lambdaDefine=classManager,bulk \
  *   org.drools.drlx.perf.KieBaseBuildUsingPreBuildArtifactsBenchmark
  * </pre>
  */
@@ -70,12 +71,16 @@ public class KieBaseBuildUsingPreBuildArtifactsBenchmark {
     @Param({"100"})
     private int ruleCount;
 
-    @Param({"alpha", "multiAlpha", "join", "multiJoin"})
+    @Param({"alpha", "multiAlpha", "join", "multiJoin", "groupBy"})
     private String ruleType;
 
     @Param({"none", "ruleast", "exec-model"})
     private String runConfig;
 
+    // how pre-built lambda classes are defined; ignored by exec-model
+    @Param({"classManager", "bulk"})
+    private String lambdaDefine;
+
     private String drlxSource;
     private Path kjarPath;
     private Path kjarDir;
@@ -83,6 +88,7 @@ public class KieBaseBuildUsingPreBuildArtifactsBenchmark {
     @Setup(Level.Trial)
     public void setup() throws IOException, InterruptedException {
         configureCacheStrategy();
+        System.setProperty(DrlxLambdaDefineMode.PROPERTY, lambdaDefine);
 
         // Clean up the default output directory once at the beginning
         if (Files.exists(DEFAULT_OUTPUT_DIR)) {
@@ -122,6 +128,7 @@ public class KieBaseBuildUsingPreBuildArtifactsBenchmark {
     @TearDown(Level.Trial)
     public void tearDown() throws IOException {
         System.clearProperty(DrlxBuildCacheStrategy.PROPERTY);
+        System.clearProperty(DrlxLambdaDefineMode.PROPERTY);
 
         if (Files.exists(DEFAULT_OUTPUT_DIR)) {
             Files.walk(DEFAULT_OUTPUT_DIR)
@@ -45,10 +45,13 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 @Fork(value = 3, jvmArgsAppend = {"-Dmvel3.compiler.lambda.persistence=false", "-Dmvel3.compiler.lambda.resetOnTestStartup=true"})
 public class KieSessionFireAllRulesBenchmark {
 
+    /** Rule count of the {@code alphaHash1000} case, independent of {@link #ruleCount}. */
+    private static final int LARGE_ALPHA_RULE_COUNT = 1000;
+
     @Param({"100"})
     private int ruleCount;
 
-    @Param({"alpha", "multiAlpha", "join", "multiJoin"})
+    @Param({"alpha", "multiAlpha", "alphaHash", "alphaHash1000", "banding", "join", "multiJoin"})
     private String ruleType;
 
     private KieBase execModelKieBase;
@@ -57,8 +60,8 @@ public class KieSessionFireAllRulesBenchmark {
 
     @Setup(Level.Trial)
     public void setup() throws IOException {
-        String drlSource = DrlxSourceGenerator.generateDrl(ruleCount, ruleType);
-        String drlxSource = DrlxSourceGenerator.generateDrlx(ruleCount, ruleType);
+        String drlSource = DrlxSourceGenerator.generateDrl(effectiveRuleCount(), sourceRuleType());
+        String drlxSource = DrlxSourceGenerator.generateDrlx(effectiveRuleCount(), sourceRuleType());
 
         // Build exec-model KieBase
         execModelKieBase = new KieHelper()
@@ -111,6 +114,17 @@ public class KieSessionFireAllRulesBenchmark {
                 p.setValue3("C");
                 ks.getEntryPoint("persons").insert(p);
                 break;
+            case "alphaHash":
+            case "alphaHash1000":
+                // one rule in effectiveRuleCount() matches; the rest should be skipped by the alpha hash
+                Person hashed = new Person("John", 50);
+                hashed.setValue1("V" + (effectiveRuleCount() / 2));
+                ks.getEntryPoint("persons").insert(hashed);
+                break;
+            case "banding":
+                // falls into DrlxSourceGenerator.BAND_WIDTH overlapping bands
+                ks.getEntryPoint("persons").insert(new Person("John", 50));
+                break;
             case "join":
                 ks.getEntryPoint("persons1").insert(new Person("John", 50));
                 ks.getEntryPoint("persons2").insert(new Person("Paul", 20));
@@ -123,6 +137,14 @@ public class KieSessionFireAllRulesBenchmark {
         }
     }
 
+    private int effectiveRuleCount() {
+        return "alphaHash1000".equals(ruleType) ? LARGE_ALPHA_RULE_COUNT : ruleCount;
+    }
+
+    private String sourceRuleType() {
+        return "alphaHash1000".equals(ruleType) ? "alphaHash" : ruleType;
+    }
+
     public static void main(String[] args) throws RunnerException, CommandLineOptionException {
         CommandLineOptions cmdOptions = new CommandLineOptions(args);
         Options opt = new OptionsBuilder()
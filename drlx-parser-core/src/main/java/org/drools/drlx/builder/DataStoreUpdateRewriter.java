@@ -1,5 +1,6 @@
 package org.drools.drlx.builder;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -16,10 +17,22 @@ import com.github.javaparser.ast.stmt.ExpressionStmt;
 import org.mvel3.parser.MvelParser;
 import org.mvel3.parser.ast.expr.CompactWithExpression;
 
-
-
+/**
+ * Prepares a consequence body for compilation. Rewrites {@code store.update(fact)} on
+ * {@code DataStore} globals into {@link DataStoreSupport#update} calls, and reports
+ * which unit globals the body references so the consequence binds only those.
+ */
 public final class DataStoreUpdateRewriter {
 
+    /**
+     * A consequence body after {@link #rewrite(String, Set, Set)}.
+     *
+     * @param referencedGlobals the globals the body references
+     * @param usesMatch whether the body now needs {@code __match__} and {@code __ruleBase__}
+     */
+    public record Rewrite(String body, Set<String> referencedGlobals, boolean usesMatch) {
+    }
+
     private final MvelParser mvelParser;
 
     public DataStoreUpdateRewriter(MvelParser mvelParser) {
@@ -27,8 +40,21 @@ public final class DataStoreUpdateRewriter {
     }
 
     public String rewrite(String consequenceBody, Set<String> dataStoreGlobalNames) {
-        if (dataStoreGlobalNames.isEmpty()) {
-            return consequenceBody;
+        return rewrite(consequenceBody, dataStoreGlobalNames, Set.of()).body();
+    }
+
+    /**
+     * Rewrites DataStore updates and collects the referenced names among
+     * {@code globalNames}, from a single parse of the body. When the body cannot be
+     * parsed it is returned unchanged, and every global whose name occurs in the text
+     * counts as referenced.
+     */
+    public Rewrite rewrite(String consequenceBody, Set<String> dataStoreGlobalNames, Set<String> globalNames) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String name : globalNames) {
+            if (consequenceBody.contains(name)) {
+                candidates.add(name);
+            }
         }
         boolean anyCandidateSubstring = false;
         for (String name : dataStoreGlobalNames) {
@@ -37,8 +63,8 @@ public final class DataStoreUpdateRewriter {
                 break;
             }
         }
-        if (!anyCandidateSubstring) {
-            return consequenceBody;
+        if (candidates.isEmpty() && !anyCandidateSubstring) {
+            return new Rewrite(consequenceBody, Set.of(), false);
         }
 
         String wrapped = "{\n" + consequenceBody + "\n}";
@@ -46,31 +72,40 @@ public final class DataStoreUpdateRewriter {
         try {
             parseResult = mvelParser.parseBlock(wrapped);
         } catch (RuntimeException e) {
-            return consequenceBody;
+            return new Rewrite(consequenceBody, candidates, false);
         }
         if (!parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
-            return consequenceBody;
+            return new Rewrite(consequenceBody, candidates, false);
         }
         BlockStmt block = parseResult.getResult().get();
 
+        Set<String> referenced = new LinkedHashSet<>();
+        for (NameExpr name : block.findAll(NameExpr.class)) {
+            if (candidates.contains(name.getNameAsString())) {
+                referenced.add(name.getNameAsString());
+            }
+        }
+
         boolean modified = false;
-        for (MethodCallExpr call : block.findAll(MethodCallExpr.class)) {
-            if (rewriteCallIfMatch(call, dataStoreGlobalNames)) {
-                modified = true;
+        if (anyCandidateSubstring) {
+            for (MethodCallExpr call : block.findAll(MethodCallExpr.class)) {
+                if (rewriteCallIfMatch(call, dataStoreGlobalNames)) {
+                    modified = true;
+                }
             }
         }
 
         if (!modified) {
-            return consequenceBody;
+            return new Rewrite(consequenceBody, referenced, false);
         }
 
         String emitted = block.toString();
         int firstBrace = emitted.indexOf('{');
         int lastBrace = emitted.lastIndexOf('}');
         if (firstBrace < 0 || lastBrace < 0 || lastBrace <= firstBrace) {
-            return consequenceBody;
+            return new Rewrite(consequenceBody, referenced, false);
         }
-        return emitted.substring(firstBrace + 1, lastBrace);
+        return new Rewrite(emitted.substring(firstBrace + 1, lastBrace), referenced, true);
     }
 
     private boolean rewriteCallIfMatch(MethodCallExpr call, Set<String> dataStoreGlobalNames) {
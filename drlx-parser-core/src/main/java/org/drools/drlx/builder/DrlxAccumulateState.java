@@ -0,0 +1,89 @@
+package org.drools.drlx.builder;
+
+/**
+ * Primitive-typed state of a custom {@code acc(...)}: one slot per primitive init var,
+ * in the array of its type. The action, reverse and result lambdas read and write the
+ * slots directly ({@code total} is compiled as {@code __state.ints()[0]}, see
+ * {@link DrlxAccumulateStateLayout}), so accumulating a fact boxes nothing. Init vars of
+ * reference types stay in the accumulate context map.
+ *
+ * <p>Public because the generated lambda classes call the accessors.
+ */
+public final class DrlxAccumulateState {
+
+    /** Name of the state variable in the accumulate context. */
+    public static final String VARIABLE = "__state";
+
+    private final int[] ints;
+    private final long[] longs;
+    private final double[] doubles;
+    private final float[] floats;
+    private final short[] shorts;
+    private final byte[] bytes;
+    private final char[] chars;
+    private final boolean[] booleans;
+
+    DrlxAccumulateState(int ints, int longs, int doubles, int floats, int shorts, int bytes, int chars, int booleans) {
+        this.ints = new int[ints];
+        this.longs = new long[longs];
+        this.doubles = new double[doubles];
+        this.floats = new float[floats];
+        this.shorts = new short[shorts];
+        this.bytes = new byte[bytes];
+        this.chars = new char[chars];
+        this.booleans = new boolean[booleans];
+    }
+
+    public int[] ints() {
+        return ints;
+    }
+
+    public long[] longs() {
+        return longs;
+    }
+
+    public double[] doubles() {
+        return doubles;
+    }
+
+    public float[] floats() {
+        return floats;
+    }
+
+    public short[] shorts() {
+        return shorts;
+    }
+
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public char[] chars() {
+        return chars;
+    }
+
+    public boolean[] booleans() {
+        return booleans;
+    }
+
+    DrlxAccumulateState copy() {
+        DrlxAccumulateState copy = new DrlxAccumulateState(ints.length, longs.length, doubles.length, floats.length,
+                shorts.length, bytes.length, chars.length, booleans.length);
+        copy.resetTo(this);
+        return copy;
+    }
+
+    /**
+     * Overwrites every slot with the one of {@code defaults}, which has the same layout.
+     */
+    void resetTo(DrlxAccumulateState defaults) {
+        System.arraycopy(defaults.ints, 0, ints, 0, ints.length);
+        System.arraycopy(defaults.longs, 0, longs, 0, longs.length);
+        System.arraycopy(defaults.doubles, 0, doubles, 0, doubles.length);
+        System.arraycopy(defaults.floats, 0, floats, 0, floats.length);
+        System.arraycopy(defaults.shorts, 0, shorts, 0, shorts.length);
+        System.arraycopy(defaults.bytes, 0, bytes, 0, bytes.length);
+        System.arraycopy(defaults.chars, 0, chars, 0, chars.length);
+        System.arraycopy(defaults.booleans, 0, booleans, 0, booleans.length);
+    }
+}
@@ -0,0 +1,200 @@
+package org.drools.drlx.builder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import org.drools.drlx.builder.DrlxRuleAstModel.CustomAccumulateIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.InitVarIR;
+import org.mvel3.parser.MvelParser;
+import org.mvel3.parser.antlr4.Antlr4MvelParser;
+
+/**
+ * Build-time layout of a custom {@code acc(...)} over a {@link DrlxAccumulateState}:
+ * assigns every primitive init var a slot and rewrites the action, reverse and result
+ * source so each reference to the var becomes an access to its slot. The rewritten
+ * source is what gets compiled (and recorded in the lambda metadata).
+ *
+ * <p>When a block cannot be parsed, or declares a local or parameter shadowing a
+ * primitive init var, the layout has no slots and the source is compiled unchanged
+ * against the context map, as before.
+ */
+final class DrlxAccumulateStateLayout {
+
+    private record Slot(String accessor, int index) {}
+
+    private final Map<String, Slot> slots;
+    private final DrlxAccumulateState defaults;
+    private final String actionBlock;
+    private final String reverseBlock;
+    private final String resultExpression;
+
+    private DrlxAccumulateStateLayout(Map<String, Slot> slots, DrlxAccumulateState defaults,
+                                      String actionBlock, String reverseBlock, String resultExpression) {
+        this.slots = slots;
+        this.defaults = defaults;
+        this.actionBlock = actionBlock;
+        this.reverseBlock = reverseBlock;
+        this.resultExpression = resultExpression;
+    }
+
+    /**
+     * @param actionBlock the normalised action block
+     * @param reverseBlock the normalised reverse block, or {@code null}
+     */
+    static DrlxAccumulateStateLayout of(CustomAccumulateIR ir, String actionBlock, String reverseBlock) {
+        Map<String, Slot> slots = new LinkedHashMap<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (InitVarIR iv : ir.initVars()) {
+            String accessor = accessorFor(iv.typeName());
+            if (accessor != null) {
+                int index = counts.merge(accessor, 1, Integer::sum) - 1;
+                slots.put(iv.name(), new Slot(accessor, index));
+            }
+        }
+        if (slots.isEmpty()) {
+            return new DrlxAccumulateStateLayout(Map.of(), null, actionBlock, reverseBlock, ir.resultExpression());
+        }
+
+        MvelParser parser = new Antlr4MvelParser();
+        Optional<String> action = rewriteBlock(parser, actionBlock, slots);
+        Optional<String> reverse = reverseBlock == null ? Optional.empty() : rewriteBlock(parser, reverseBlock, slots);
+        Optional<String> result = rewriteBlock(parser, "return (" + ir.resultExpression() + ");", slots)
+                .flatMap(DrlxAccumulateStateLayout::returnedExpression);
+        if (action.isEmpty() || (reverseBlock != null && reverse.isEmpty()) || result.isEmpty()) {
+            return new DrlxAccumulateStateLayout(Map.of(), null, actionBlock, reverseBlock, ir.resultExpression());
+        }
+
+        DrlxAccumulateState defaults = new DrlxAccumulateState(
+                counts.getOrDefault("ints", 0), counts.getOrDefault("longs", 0),
+                counts.getOrDefault("doubles", 0), counts.getOrDefault("floats", 0),
+                counts.getOrDefault("shorts", 0), counts.getOrDefault("bytes", 0),
+                counts.getOrDefault("chars", 0), counts.getOrDefault("booleans", 0));
+        for (InitVarIR iv : ir.initVars()) {
+            Slot slot = slots.get(iv.name());
+            if (slot != null) {
+                setDefault(defaults, slot, DrlxCustomAccumulator.parseLiteralValue(iv.initializer(), iv.typeName()));
+            }
+        }
+        return new DrlxAccumulateStateLayout(slots, defaults, action.get(), reverse.orElse(null), result.get());
+    }
+
+    boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    /** Whether init var {@code name} lives in the state rather than in the context map. */
+    boolean holds(String name) {
+        return slots.containsKey(name);
+    }
+
+    DrlxAccumulateState newState() {
+        return defaults.copy();
+    }
+
+    void reset(DrlxAccumulateState state) {
+        state.resetTo(defaults);
+    }
+
+    String actionBlock() {
+        return actionBlock;
+    }
+
+    String reverseBlock() {
+        return reverseBlock;
+    }
+
+    String resultExpression() {
+        return resultExpression;
+    }
+
+    private static String accessorFor(String typeName) {
+        return switch (typeName) {
+            case "int" -> "ints";
+            case "long" -> "longs";
+            case "double" -> "doubles";
+            case "float" -> "floats";
+            case "short" -> "shorts";
+            case "byte" -> "bytes";
+            case "char" -> "chars";
+            case "boolean" -> "booleans";
+            default -> null;
+        };
+    }
+
+    private static Optional<String> rewriteBlock(MvelParser parser, String source, Map<String, Slot> slots) {
+        ParseResult<BlockStmt> parseResult;
+        try {
+            parseResult = parser.parseBlock("{\n" + source + "\n}");
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+        if (!parseResult.isSuccessful() || parseResult.getResult().isEmpty()) {
+            return Optional.empty();
+        }
+        BlockStmt block = parseResult.getResult().get();
+        if (shadowsSlot(block, slots)) {
+            return Optional.empty();
+        }
+        for (NameExpr name : block.findAll(NameExpr.class)) {
+            Slot slot = slots.get(name.getNameAsString());
+            if (slot != null) {
+                MethodCallExpr array = new MethodCallExpr(new NameExpr(DrlxAccumulateState.VARIABLE), slot.accessor());
+                name.replace(new ArrayAccessExpr(array, new IntegerLiteralExpr(String.valueOf(slot.index()))));
+            }
+        }
+        String emitted = block.toString();
+        int firstBrace = emitted.indexOf('{');
+        int lastBrace = emitted.lastIndexOf('}');
+        if (firstBrace < 0 || lastBrace <= firstBrace) {
+            return Optional.empty();
+        }
+        return Optional.of(emitted.substring(firstBrace + 1, lastBrace).trim());
+    }
+
+    private static boolean shadowsSlot(BlockStmt block, Map<String, Slot> slots) {
+        for (Node node : block.findAll(Node.class)) {
+            if (node instanceof VariableDeclarator v && slots.containsKey(v.getNameAsString())) {
+                return true;
+            }
+            if (node instanceof Parameter p && slots.containsKey(p.getNameAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Optional<String> returnedExpression(String block) {
+        String prefix = "return ";
+        if (!block.startsWith(prefix) || !block.endsWith(";")) {
+            return Optional.empty();
+        }
+        return Optional.of(block.substring(prefix.length(), block.length() - 1).trim());
+    }
+
+    private static void setDefault(DrlxAccumulateState state, Slot slot, Object value) {
+        int i = slot.index();
+        switch (slot.accessor()) {
+            case "ints" -> state.ints()[i] = value == null ? 0 : ((Number) value).intValue();
+            case "longs" -> state.longs()[i] = value == null ? 0L : ((Number) value).longValue();
+            case "doubles" -> state.doubles()[i] = value == null ? 0.0 : ((Number) value).doubleValue();
+            case "floats" -> state.floats()[i] = value == null ? 0.0f : ((Number) value).floatValue();
+            case "shorts" -> state.shorts()[i] = value == null ? 0 : ((Number) value).shortValue();
+            case "bytes" -> state.bytes()[i] = value == null ? 0 : ((Number) value).byteValue();
+            case "chars" -> state.chars()[i] = value == null ? '\0' : (Character) value;
+            case "booleans" -> state.booleans()[i] = value != null && (Boolean) value;
+            default -> throw new IllegalStateException("Unknown accumulate state slot " + slot.accessor());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.drools.drlx.builder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.mvel3.ClassManager;
+import org.mvel3.CompilerParameters;
+import org.mvel3.Evaluator;
+import org.mvel3.MVELBatchCompiler;
+import org.mvel3.lambdaextractor.ArtifactRef;
+
+/**
+ * Front for {@link MVELBatchCompiler} used by {@link DrlxLambdaCompiler}. Lambdas are
+ * collected until {@link #compile(ClassLoader)}, which splits them in add order into
+ * contiguous shards and compiles the shards concurrently, one javac invocation each,
+ * into the shared persistence directory. Each shard defines its classes into its own
+ * {@link ClassManager}, the first one into {@link #getClassManager()}, so no
+ * ClassManager is used from two threads; a lambda resolves through the shard that
+ * compiled it, so the managers need no merging.
+ *
+ * <p>The shard count is {@link #SHARDS_PROPERTY} (default: available processors), capped
+ * so that each shard gets at least {@link #MIN_LAMBDAS_PER_SHARD} lambdas; small batches
+ * stay on one javac call, where a second compiler would cost more than it saves. Shard
+ * boundaries depend only on add order, so the lambda-to-handle mapping, and hence the
+ * recorded pre-build metadata, is the same as a serial build.
+ *
+ * <p>Lambdas already compiled by an earlier build join the batch through
+ * {@link #addCompiled}; they resolve to their evaluator without compilation.
+ */
+public final class DrlxBatchCompiler {
+
+    public static final String SHARDS_PROPERTY = "drlx.compiler.batchShards";
+
+    static final int MIN_LAMBDAS_PER_SHARD = 128;
+
+    /** A lambda added to the batch; resolvable once the batch is compiled. */
+    public static final class Handle {
+        private MVELBatchCompiler owner;
+        private MVELBatchCompiler.LambdaHandle delegate;
+        private ArtifactRef compiledRef;        // set for lambdas compiled by an earlier build
+        private Evaluator<?, ?, ?> compiled;
+
+        private Handle() {
+        }
+    }
+
+    private record Pending(CompilerParameters<?, ?, ?> params, Handle handle) {}
+
+    private final ClassManager classManager;
+    private final Path persistDir;
+    private final boolean shardable;
+    private final List<MVELBatchCompiler> shards = new ArrayList<>();
+    private final List<Pending> pending = new ArrayList<>();
+
+    /**
+     * Shardable batch compiler; shards are created on demand over {@code classManager}
+     * and {@code persistDir} ({@code null} = no persistence).
+     */
+    public DrlxBatchCompiler(ClassManager classManager, Path persistDir) {
+        this.classManager = classManager;
+        this.persistDir = persistDir;
+        this.shardable = true;
+    }
+
+    /**
+     * Wraps a single {@link MVELBatchCompiler}; never shards.
+     */
+    public DrlxBatchCompiler(MVELBatchCompiler batchCompiler) {
+        this.classManager = batchCompiler.getClassManager();
+        this.persistDir = null;
+        this.shardable = false;
+        this.shards.add(batchCompiler);
+    }
+
+    public ClassManager getClassManager() {
+        return classManager;
+    }
+
+    public Handle add(CompilerParameters<?, ?, ?> params) {
+        Handle handle = new Handle();
+        pending.add(new Pending(params, handle));
+        return handle;
+    }
+
+    /**
+     * Adds a lambda compiled by an earlier build, whose class is {@code ref} and whose
+     * evaluator is {@code evaluator}. With a persistence directory the class file is
+     * copied into it, so the artifacts of this batch do not depend on where it came from.
+     */
+    public Handle addCompiled(ArtifactRef ref, Evaluator<?, ?, ?> evaluator) throws IOException {
+        Handle handle = new Handle();
+        handle.compiledRef = ref;
+        handle.compiled = evaluator;
+        if (persistDir != null && ref.classFile() != null) {
+            Path target = persistDir.resolve(ref.fqn().replace('.', '/') + ".class");
+            if (!target.equals(ref.classFile())) {
+                Files.createDirectories(target.getParent());
+                Files.copy(ref.classFile(), target, StandardCopyOption.REPLACE_EXISTING);
+                handle.compiledRef = new ArtifactRef(ref.fqn(), target);
+            }
+        }
+        return handle;
+    }
+
+    /** Whether {@code handle} came from {@link #addCompiled} rather than this batch's compilation. */
+    public boolean isPreCompiled(Handle handle) {
+        return handle.compiled != null;
+    }
+
+    public void compile(ClassLoader classLoader) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        int shardCount = shardCount(pending.size());
+        while (shards.size() < shardCount) {
+            // shards compile concurrently: only the first defines into the shared ClassManager
+            shards.add(new MVELBatchCompiler(shards.isEmpty() ? classManager : new ClassManager(), persistDir));
+        }
+        int perShard = (pending.size() + shardCount - 1) / shardCount;
+        for (int i = 0; i < pending.size(); i++) {
+            Pending p = pending.get(i);
+            MVELBatchCompiler shard = shards.get(i / perShard);
+            p.handle().owner = shard;
+            p.handle().delegate = shard.add(p.params());
+        }
+        pending.clear();
+
+        if (shardCount == 1) {
+            shards.get(0).compile(classLoader);
+        } else {
+            compileConcurrently(shards.subList(0, shardCount), classLoader);
+        }
+    }
+
+    public Evaluator<?, ?, ?> resolve(Handle handle) {
+        return handle.compiled != null ? handle.compiled : handle.owner.resolve(handle.delegate);
+    }
+
+    public ArtifactRef getArtifactRef(Handle handle) {
+        return handle.compiled != null ? handle.compiledRef : handle.owner.getArtifactRef(handle.delegate);
+    }
+
+    private int shardCount(int lambdaCount) {
+        if (!shardable) {
+            return 1;
+        }
+        return Math.max(1, Math.min(configuredShards(), lambdaCount / MIN_LAMBDAS_PER_SHARD));
+    }
+
+    static int configuredShards() {
+        String configured = System.getProperty(SHARDS_PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            int shards = Integer.parseInt(configured.trim());
+            if (shards >= 1) {
+                return shards;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid " + SHARDS_PROPERTY + " (expected a positive integer): " + configured);
+    }
+
+    /**
+     * Compiles {@code shards} on {@link CompilePool} threads, the last one on the calling
+     * thread, and waits for all of them.
+     */
+    private static void compileConcurrently(List<MVELBatchCompiler> shards, ClassLoader classLoader) {
+        List<Future<?>> futures = new ArrayList<>(shards.size() - 1);
+        try {
+            for (MVELBatchCompiler shard : shards.subList(0, shards.size() - 1)) {
+                futures.add(CompilePool.EXECUTOR.submit(() -> compileShard(shard, classLoader)));
+            }
+            compileShard(shards.get(shards.size() - 1), classLoader);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compiling lambda shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Failed to compile lambda shard", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static void compileShard(MVELBatchCompiler shard, ClassLoader classLoader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            shard.compile(classLoader);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * Threads shared by every sharded compilation in the JVM, at most one per processor.
+     * Idle threads time out, so the pool costs nothing between builds.
+     */
+    private static final class CompilePool {
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            int threads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "drlx-batch-compile");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
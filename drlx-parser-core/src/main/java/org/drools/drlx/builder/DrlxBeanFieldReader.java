@@ -1,6 +1,7 @@
 package org.drools.drlx.builder;
 
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 import org.drools.base.base.ValueResolver;
 import org.drools.base.base.ValueType;
@@ -9,25 +10,37 @@ import org.drools.base.rule.accessor.ReadAccessor;
 /**
  * Minimal {@link ReadAccessor} that extracts a single bean property via its
  * getter method. Used for output bindings (e.g. {@code var z}) in positional
- * pattern matches within self-referencing query base cases.
+ * pattern matches within self-referencing query base cases, and as the field
+ * extractor of indexable constraints. Alpha hashing needs a typed reader with a
+ * stable non-negative index per property, so that variant carries both.
  */
 class DrlxBeanFieldReader implements ReadAccessor {
 
     private final Method getter;
     private final Class<?> fieldType;
+    private final Function<Object, Object> accessor;
+    private final int index;
+    private final ValueType valueType;
 
     DrlxBeanFieldReader(Method getter, Class<?> fieldType) {
+        this(getter, fieldType, -1, ValueType.OBJECT_TYPE);
+    }
+
+    DrlxBeanFieldReader(Method getter, Class<?> fieldType, int index) {
+        this(getter, fieldType, index, ValueType.determineValueType(fieldType));
+    }
+
+    private DrlxBeanFieldReader(Method getter, Class<?> fieldType, int index, ValueType valueType) {
         this.getter = getter;
         this.fieldType = fieldType;
+        this.accessor = DrlxPropertyAccessors.accessor(getter);
+        this.index = index;
+        this.valueType = valueType;
     }
 
     @Override
     public Object getValue(Object object) {
-        try {
-            return object != null ? getter.invoke(object) : null;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to read property via " + getter.getName(), e);
-        }
+        return object != null ? accessor.apply(object) : null;
     }
 
     @Override
@@ -47,7 +60,7 @@ class DrlxBeanFieldReader implements ReadAccessor {
 
     @Override
     public ValueType getValueType() {
-        return ValueType.OBJECT_TYPE;
+        return valueType;
     }
 
     @Override
@@ -57,7 +70,7 @@ class DrlxBeanFieldReader implements ReadAccessor {
 
     @Override
     public int getIndex() {
-        return -1;
+        return index;
     }
 
     @Override
@@ -67,42 +80,42 @@ class DrlxBeanFieldReader implements ReadAccessor {
 
     @Override
     public boolean getBooleanValue(ValueResolver vr, Object o) {
-        return (boolean) getValue(vr, o);
+        return (Boolean) getValue(vr, o);
     }
 
     @Override
     public byte getByteValue(ValueResolver vr, Object o) {
-        return (byte) getValue(vr, o);
+        return ((Number) getValue(vr, o)).byteValue();
     }
 
     @Override
     public char getCharValue(ValueResolver vr, Object o) {
-        return (char) getValue(vr, o);
+        return (Character) getValue(vr, o);
     }
 
     @Override
     public double getDoubleValue(ValueResolver vr, Object o) {
-        return (double) getValue(vr, o);
+        return ((Number) getValue(vr, o)).doubleValue();
     }
 
     @Override
     public float getFloatValue(ValueResolver vr, Object o) {
-        return (float) getValue(vr, o);
+        return ((Number) getValue(vr, o)).floatValue();
     }
 
     @Override
     public int getIntValue(ValueResolver vr, Object o) {
-        return (int) getValue(vr, o);
+        return ((Number) getValue(vr, o)).intValue();
     }
 
     @Override
     public long getLongValue(ValueResolver vr, Object o) {
-        return (long) getValue(vr, o);
+        return ((Number) getValue(vr, o)).longValue();
     }
 
     @Override
     public short getShortValue(ValueResolver vr, Object o) {
-        return (short) getValue(vr, o);
+        return ((Number) getValue(vr, o)).shortValue();
     }
 
     @Override
@@ -0,0 +1,197 @@
+package org.drools.drlx.builder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
+
+/**
+ * Single-file pre-build artifact ({@link DrlxBuildCacheStrategy#ARCHIVE}). Holds the
+ * RuleAST proto, the lambda table and the bytes of every lambda class, so a runtime
+ * build does one sequential read instead of parsing {@code drlx-lambda-metadata.properties}
+ * and opening one {@code .class} file per lambda. No paths are stored, so the archive
+ * can be moved or shipped on the classpath.
+ *
+ * <p>Layout (big-endian, strings are an {@code int} byte length followed by UTF-8):
+ * <pre>
+ * int    magic 'DRLX'
+ * int    format version
+ * bytes  RuleAST proto ({@link DrlxRuleAstParseResult#toBytes})
+ * int    class count,  then per class:  string fqn, bytes classBytes
+ * int    lambda count, then per lambda: string ruleName, int counterId, string expression, int classIndex
+ * </pre>
+ * Lambdas sharing a class (same generated fqn) reference one class entry.
+ */
+public final class DrlxBuildArchive {
+
+    private static final String FILE_NAME = "drlx-build.bin";
+    private static final int MAGIC = 0x44524C58; // "DRLX"
+    private static final int FORMAT_VERSION = 4; // 2: consequences, 3: consequence globals, 4: multi-source value extractors take positional (List) arguments
+
+    private record LambdaRow(String ruleName, int counterId, String expression, int classIndex) {}
+
+    private final byte[] ruleAst;
+    private final DrlxLambdaMetadata metadata;
+    private final Path file;
+
+    private DrlxBuildArchive(byte[] ruleAst, DrlxLambdaMetadata metadata, Path file) {
+        this.ruleAst = ruleAst;
+        this.metadata = metadata;
+        this.file = file;
+    }
+
+    public static Path archiveFilePath(Path dir) {
+        return dir.resolve(FILE_NAME);
+    }
+
+    /**
+     * Lambda table of the archive. Entries carry their class bytes and no class file path.
+     */
+    public DrlxLambdaMetadata metadata() {
+        return metadata;
+    }
+
+    /**
+     * The archived RuleAST, or {@code null} when it was recorded for a different source.
+     */
+    public CompilationUnitIR ruleAst(String drlxSource) throws IOException {
+        return DrlxRuleAstParseResult.fromBytes(drlxSource, ruleAst, file);
+    }
+
+    /**
+     * Writes the archive for a finished pre-build. Class bytes are read from the class
+     * files recorded in {@code metadata}.
+     */
+    public static void save(String drlxSource, CompilationUnitIR ast, DrlxLambdaMetadata metadata, Path outputDir) throws IOException {
+        Map<String, Integer> classIndex = new LinkedHashMap<>();
+        List<byte[]> classBytes = new ArrayList<>();
+        List<LambdaRow> lambdas = new ArrayList<>();
+        metadata.forEach((ruleName, counterId, entry) -> {
+            Integer index = classIndex.get(entry.fqn());
+            if (index == null) {
+                index = classBytes.size();
+                classIndex.put(entry.fqn(), index);
+                classBytes.add(entry.classBytes() != null ? toArray(entry.classBytes()) : Files.readAllBytes(entry.classFile()));
+            }
+            lambdas.add(new LambdaRow(ruleName, counterId, entry.expression(), index));
+        });
+
+        Files.createDirectories(outputDir);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archiveFilePath(outputDir))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeBytes(out, DrlxRuleAstParseResult.toBytes(drlxSource, ast));
+            out.writeInt(classBytes.size());
+            int i = 0;
+            for (String fqn : classIndex.keySet()) {
+                writeString(out, fqn);
+                writeBytes(out, classBytes.get(i++));
+            }
+            out.writeInt(lambdas.size());
+            for (LambdaRow lambda : lambdas) {
+                writeString(out, lambda.ruleName());
+                out.writeInt(lambda.counterId());
+                writeString(out, lambda.expression());
+                out.writeInt(lambda.classIndex());
+            }
+        }
+    }
+
+    /**
+     * Reads an archive in one pass.
+     *
+     * @throws InvalidDrlxLambdaMetadataException if the file is not an archive of the supported version, or is truncated
+     */
+    public static DrlxBuildArchive load(Path file) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(file)), file);
+    }
+
+    /**
+     * Maps the archive read-only instead of reading it. Only the RuleAST and the lambda
+     * table are decoded; class bytes stay in the mapping until a lambda is defined, so
+     * with {@link DrlxLambdaLoadMode#LAZY} lambdas that never fire are never paged in.
+     * The mapping lives as long as the returned archive's entries are referenced.
+     *
+     * @throws InvalidDrlxLambdaMetadataException if the file is not an archive of the supported version, or is truncated
+     */
+    public static DrlxBuildArchive map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    static DrlxBuildArchive read(ByteBuffer buffer, Path file) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new InvalidDrlxLambdaMetadataException("Not a DRLX build archive: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new InvalidDrlxLambdaMetadataException(
+                        "Unsupported DRLX build archive version: " + version + " (expected " + FORMAT_VERSION + ") in " + file);
+            }
+            byte[] ruleAst = toArray(readSlice(buffer));
+
+            int classCount = buffer.getInt();
+            String[] fqns = new String[classCount];
+            ByteBuffer[] classBytes = new ByteBuffer[classCount];
+            for (int i = 0; i < classCount; i++) {
+                fqns[i] = readString(buffer);
+                classBytes[i] = readSlice(buffer);
+            }
+
+            DrlxLambdaMetadata metadata = new DrlxLambdaMetadata();
+            int lambdaCount = buffer.getInt();
+            for (int i = 0; i < lambdaCount; i++) {
+                String ruleName = readString(buffer);
+                int counterId = buffer.getInt();
+                String expression = readString(buffer);
+                int classIndex = buffer.getInt();
+                metadata.put(ruleName, counterId, fqns[classIndex], classBytes[classIndex], expression);
+            }
+            return new DrlxBuildArchive(ruleAst, metadata, file);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new InvalidDrlxLambdaMetadataException("Truncated or corrupt DRLX build archive: " + file, e);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Read-only view of the next length-prefixed field, without copying. */
+    private static ByteBuffer readSlice(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteBuffer slice = buffer.slice(buffer.position(), length).asReadOnlyBuffer();
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        return new String(toArray(readSlice(buffer)), StandardCharsets.UTF_8);
+    }
+}
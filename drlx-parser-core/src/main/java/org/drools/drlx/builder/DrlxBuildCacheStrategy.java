@@ -4,7 +4,9 @@ import java.util.Locale;
 
 public enum DrlxBuildCacheStrategy {
     NONE,
-    RULE_AST;
+    RULE_AST,
+    /** RuleAST, lambda table and class bytes in one relocatable file, see {@link DrlxBuildArchive}. */
+    ARCHIVE;
 
     public static final String PROPERTY = "drlx.compiler.cacheStrategy";
 
@@ -21,6 +23,7 @@ public enum DrlxBuildCacheStrategy {
         return switch (normalized) {
             case "none" -> NONE;
             case "ruleast", "rule_ast", "rule-ast", "ast" -> RULE_AST;
+            case "archive", "binary", "single-file" -> ARCHIVE;
             default -> throw new IllegalArgumentException("Unknown DRLX build cache strategy: " + value);
         };
     }
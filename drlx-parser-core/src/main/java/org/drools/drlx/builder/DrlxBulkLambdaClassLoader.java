@@ -0,0 +1,53 @@
+package org.drools.drlx.builder;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dedicated loader for {@link DrlxLambdaDefineMode#BULK}. Holds the bytes of every pre-built
+ * lambda class of one build and defines them with plain {@code defineClass}: no hidden-class
+ * lookup and no bytecode extraction. The classes are unloaded together with the loader.
+ */
+final class DrlxBulkLambdaClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final Map<String, ByteBuffer> classBytes;
+    private final Map<String, Class<?>> definedClasses = new HashMap<>();
+
+    DrlxBulkLambdaClassLoader(ClassLoader parent, Map<String, ByteBuffer> classBytes) {
+        super(parent);
+        this.classBytes = classBytes;
+    }
+
+    boolean contains(String fqn) {
+        return classBytes.containsKey(fqn);
+    }
+
+    /** Defines every class not defined yet. */
+    synchronized void defineAll() {
+        for (String fqn : classBytes.keySet()) {
+            lambdaClass(fqn);
+        }
+    }
+
+    /**
+     * The class recorded under {@code fqn}, defined on first request. The name is taken from
+     * the class bytes, which may differ from the fqn the lambda was recorded under.
+     */
+    synchronized Class<?> lambdaClass(String fqn) {
+        Class<?> clazz = definedClasses.get(fqn);
+        if (clazz == null) {
+            ByteBuffer bytes = classBytes.get(fqn);
+            if (bytes == null) {
+                throw new IllegalStateException("No pre-built class bytes for " + fqn);
+            }
+            clazz = defineClass(null, bytes.duplicate(), null);
+            definedClasses.put(fqn, clazz);
+        }
+        return clazz;
+    }
+}
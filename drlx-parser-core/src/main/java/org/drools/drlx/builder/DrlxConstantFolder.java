@@ -0,0 +1,164 @@
+package org.drools.drlx.builder;
+
+import java.util.ArrayList;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.DoubleLiteralExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LongLiteralExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.utils.StringEscapeUtils;
+
+/**
+ * Build-time constant folding of constraint expressions: arithmetic on numeric literals
+ * ({@code age > 10 * 2} becomes {@code age > 20}) and concatenation of a string literal
+ * with another literal ({@code name == "Al" + "ice"} becomes {@code name == "Alice"}).
+ * The folded source is what gets analysed and compiled, so a folded comparison can also
+ * become an indexed constraint.
+ *
+ * <p>Folding follows Java semantics and is skipped wherever the result could differ:
+ * integer overflow, division by zero, non-finite doubles and {@code float} or {@code char}
+ * operands. An expression that does not parse as plain Java, or has nothing to fold, is
+ * returned unchanged.
+ */
+final class DrlxConstantFolder {
+
+    private DrlxConstantFolder() {
+    }
+
+    static String fold(String expression) {
+        Expression root;
+        try {
+            root = StaticJavaParser.parseExpression(expression);
+        } catch (RuntimeException e) {
+            return expression;
+        }
+        return foldChildren(root) ? root.toString() : expression;
+    }
+
+    private static boolean foldChildren(Node node) {
+        boolean folded = false;
+        for (Node child : new ArrayList<>(node.getChildNodes())) {
+            folded |= foldChildren(child);
+            if (child instanceof BinaryExpr binary) {
+                Expression constant = foldBinary(binary);
+                if (constant != null) {
+                    binary.replace(constant);
+                    folded = true;
+                }
+            }
+        }
+        return folded;
+    }
+
+    private static Expression foldBinary(BinaryExpr binary) {
+        Object left = constant(binary.getLeft());
+        Object right = constant(binary.getRight());
+        if (left == null || right == null) {
+            return null;
+        }
+        try {
+            if (binary.getOperator() == BinaryExpr.Operator.PLUS && (left instanceof String || right instanceof String)) {
+                return new StringLiteralExpr(StringEscapeUtils.escapeJava(String.valueOf(left) + right));
+            }
+            if (left instanceof String || right instanceof String) {
+                return null;
+            }
+            if (left instanceof Double || right instanceof Double) {
+                return literal(arithmetic(binary.getOperator(), ((Number) left).doubleValue(), ((Number) right).doubleValue()));
+            }
+            if (left instanceof Long || right instanceof Long) {
+                return literal(arithmetic(binary.getOperator(), ((Number) left).longValue(), ((Number) right).longValue()));
+            }
+            Long value = arithmetic(binary.getOperator(), ((Number) left).longValue(), ((Number) right).longValue());
+            return value == null || value != value.intValue() ? null : literal(value.intValue());
+        } catch (ArithmeticException e) {
+            return null; // overflow: leave it to runtime
+        }
+    }
+
+    private static Double arithmetic(BinaryExpr.Operator operator, double left, double right) {
+        double value = switch (operator) {
+            case PLUS -> left + right;
+            case MINUS -> left - right;
+            case MULTIPLY -> left * right;
+            case DIVIDE -> left / right;
+            case REMAINDER -> left % right;
+            default -> Double.NaN;
+        };
+        return Double.isFinite(value) ? value : null;
+    }
+
+    private static Long arithmetic(BinaryExpr.Operator operator, long left, long right) {
+        return switch (operator) {
+            case PLUS -> Math.addExact(left, right);
+            case MINUS -> Math.subtractExact(left, right);
+            case MULTIPLY -> Math.multiplyExact(left, right);
+            case DIVIDE -> right == 0 || right == -1 ? null : left / right;
+            case REMAINDER -> right == 0 || right == -1 ? null : left % right;
+            default -> null;
+        };
+    }
+
+    /** The value of a literal operand: {@code String}, {@code Integer}, {@code Long} or {@code Double}. */
+    private static Object constant(Expression expr) {
+        while (expr instanceof EnclosedExpr enclosed) {
+            expr = enclosed.getInner();
+        }
+        try {
+            if (expr instanceof UnaryExpr unary && unary.getOperator() == UnaryExpr.Operator.MINUS) {
+                Object value = constant(unary.getExpression());
+                if (value instanceof Integer i && i != Integer.MIN_VALUE) {
+                    return -i;
+                }
+                if (value instanceof Long l && l != Long.MIN_VALUE) {
+                    return -l;
+                }
+                if (value instanceof Double d) {
+                    return -d;
+                }
+                return null;
+            }
+            if (expr instanceof IntegerLiteralExpr i) {
+                return i.asNumber() instanceof Integer value ? value : null;
+            }
+            if (expr instanceof LongLiteralExpr l) {
+                return l.asNumber() instanceof Long value ? value : null;
+            }
+            if (expr instanceof DoubleLiteralExpr d && !d.getValue().endsWith("f") && !d.getValue().endsWith("F")) {
+                return d.asDouble();
+            }
+            if (expr instanceof StringLiteralExpr str) {
+                return str.asString();
+            }
+        } catch (RuntimeException e) {
+            // malformed literal: not a constant
+        }
+        return null;
+    }
+
+    private static Expression literal(Object value) {
+        if (value == null || value.equals(Integer.MIN_VALUE) || value.equals(Long.MIN_VALUE)) {
+            return null; // no positive literal to negate
+        }
+        if (value instanceof Integer i) {
+            return i < 0
+                    ? new UnaryExpr(new IntegerLiteralExpr(String.valueOf(-i)), UnaryExpr.Operator.MINUS)
+                    : new IntegerLiteralExpr(String.valueOf(i));
+        }
+        if (value instanceof Long l) {
+            return l < 0
+                    ? new UnaryExpr(new LongLiteralExpr(-l + "L"), UnaryExpr.Operator.MINUS)
+                    : new LongLiteralExpr(l + "L");
+        }
+        double d = (Double) value;
+        return d < 0 || (d == 0.0 && 1 / d < 0)
+                ? new UnaryExpr(new DoubleLiteralExpr(String.valueOf(-d)), UnaryExpr.Operator.MINUS)
+                : new DoubleLiteralExpr(String.valueOf(d));
+    }
+}
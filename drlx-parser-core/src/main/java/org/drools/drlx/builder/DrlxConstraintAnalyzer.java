@@ -0,0 +1,287 @@
+package org.drools.drlx.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.CharLiteralExpr;
+import com.github.javaparser.ast.expr.DoubleLiteralExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LongLiteralExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import org.drools.base.util.index.ConstraintTypeOperator;
+
+/**
+ * Build-time shape analysis of pattern constraint expressions. Recognises the
+ * forms the runtime builder can turn into indexable Rete constraints instead of
+ * opaque lambdas. Anything it cannot parse as plain Java (MVEL-only syntax such
+ * as inline casts) is reported as "no match" and stays on the lambda path.
+ */
+final class DrlxConstraintAnalyzer {
+
+    /**
+     * {@code property == binding} ({@code bindingProperty} is {@code null}) or
+     * {@code property == binding.bindingProperty}, in either operand order.
+     */
+    record EqualityJoin(String property, String binding, String bindingProperty) {}
+
+    /**
+     * {@code property <operator> literal}, normalised so the property is on the left.
+     * {@code literal} is the Java value of the literal as written ({@code Integer},
+     * {@code Long}, {@code Double}, {@code String}, {@code Character} or {@code Boolean}),
+     * or a {@link ConstantCreation} when the operator is {@code ==}.
+     * {@code expression} is the source of this comparison alone.
+     */
+    record LiteralComparison(String expression, String property, ConstraintTypeOperator operator, Object literal) {}
+
+    /** {@code binding.property}. */
+    record BindingProperty(String binding, String property) {}
+
+    /**
+     * {@code new type(arguments)} whose arguments are literals (as in
+     * {@link LiteralComparison#literal()}) or themselves constant creations. It is the
+     * literal of an equality comparison such as {@code address == new Address("Paris")}.
+     */
+    record ConstantCreation(String typeName, List<Object> arguments) {}
+
+    private DrlxConstraintAnalyzer() {
+    }
+
+    static Optional<EqualityJoin> equalityJoin(String expression, Set<String> bindingNames) {
+        Expression expr = parse(expression);
+        if (!(expr instanceof BinaryExpr binary) || binary.getOperator() != BinaryExpr.Operator.EQUALS) {
+            return Optional.empty();
+        }
+        Expression left = unwrap(binary.getLeft());
+        Expression right = unwrap(binary.getRight());
+        Optional<EqualityJoin> join = equalityJoin(left, right, bindingNames);
+        return join.isPresent() ? join : equalityJoin(right, left, bindingNames);
+    }
+
+    private static Optional<EqualityJoin> equalityJoin(Expression propertySide, Expression bindingSide, Set<String> bindingNames) {
+        if (!(propertySide instanceof NameExpr property) || bindingNames.contains(property.getNameAsString())) {
+            return Optional.empty();
+        }
+        if (bindingSide instanceof NameExpr binding && bindingNames.contains(binding.getNameAsString())) {
+            return Optional.of(new EqualityJoin(property.getNameAsString(), binding.getNameAsString(), null));
+        }
+        if (bindingSide instanceof FieldAccessExpr access
+                && unwrap(access.getScope()) instanceof NameExpr binding
+                && bindingNames.contains(binding.getNameAsString())) {
+            return Optional.of(new EqualityJoin(property.getNameAsString(), binding.getNameAsString(), access.getNameAsString()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * A literal comparison, or a {@code &&} chain of them such as the banding condition
+     * {@code age >= 18 && age < 25}, split into one comparison per operand.
+     */
+    static Optional<List<LiteralComparison>> literalComparisons(String expression) {
+        Expression expr = parse(expression);
+        if (expr == null) {
+            return Optional.empty();
+        }
+        List<Expression> operands = new ArrayList<>();
+        flattenAnd(expr, operands);
+        List<LiteralComparison> comparisons = new ArrayList<>(operands.size());
+        for (Expression operand : operands) {
+            String source = operands.size() == 1 ? expression : operand.toString();
+            Optional<LiteralComparison> comparison = literalComparison(source, operand);
+            if (comparison.isEmpty()) {
+                return Optional.empty();
+            }
+            comparisons.add(comparison.get());
+        }
+        return Optional.of(comparisons);
+    }
+
+    /**
+     * The value of {@code expression} when it is a single literal, as in {@link LiteralComparison#literal()}.
+     */
+    static Optional<Object> literal(String expression) {
+        Expression expr = parse(expression);
+        return expr == null ? Optional.empty() : literalValue(expr);
+    }
+
+    /**
+     * The property read by {@code binding.property}, when that is the whole expression
+     * and {@code binding} is one of {@code bindingNames}.
+     */
+    static Optional<BindingProperty> bindingProperty(String expression, Set<String> bindingNames) {
+        if (parse(expression) instanceof FieldAccessExpr access
+                && unwrap(access.getScope()) instanceof NameExpr binding
+                && bindingNames.contains(binding.getNameAsString())) {
+            return Optional.of(new BindingProperty(binding.getNameAsString(), access.getNameAsString()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The properties read by a group key that is either {@code binding.property} or a
+     * list literal {@code [b1.p1, b2.p2, ...]} made only of such reads, in order.
+     */
+    static Optional<List<BindingProperty>> bindingProperties(String expression, Set<String> bindingNames) {
+        String trimmed = expression.trim();
+        if (!trimmed.startsWith("[") || !trimmed.endsWith("]")) {
+            return bindingProperty(trimmed, bindingNames).map(List::of);
+        }
+        String elements = trimmed.substring(1, trimmed.length() - 1);
+        if (elements.isBlank()) {
+            return Optional.empty();
+        }
+        List<BindingProperty> properties = new ArrayList<>();
+        for (String element : elements.split(",")) {
+            Optional<BindingProperty> property = bindingProperty(element.trim(), bindingNames);
+            if (property.isEmpty()) {
+                return Optional.empty();
+            }
+            properties.add(property.get());
+        }
+        return Optional.of(properties);
+    }
+
+    private static void flattenAnd(Expression expr, List<Expression> operands) {
+        if (expr instanceof BinaryExpr binary && binary.getOperator() == BinaryExpr.Operator.AND) {
+            flattenAnd(unwrap(binary.getLeft()), operands);
+            flattenAnd(unwrap(binary.getRight()), operands);
+        } else {
+            operands.add(expr);
+        }
+    }
+
+    private static Optional<LiteralComparison> literalComparison(String source, Expression expr) {
+        if (!(expr instanceof BinaryExpr binary)) {
+            return Optional.empty();
+        }
+        ConstraintTypeOperator operator = operatorFor(binary.getOperator());
+        if (operator == null) {
+            return Optional.empty();
+        }
+        Expression left = unwrap(binary.getLeft());
+        Expression right = unwrap(binary.getRight());
+        if (left instanceof NameExpr property) {
+            return comparedValue(right, operator).map(v -> new LiteralComparison(source, property.getNameAsString(), operator, v));
+        }
+        if (right instanceof NameExpr property) {
+            return comparedValue(left, operator).map(v -> new LiteralComparison(source, property.getNameAsString(), flip(operator), v));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Object> comparedValue(Expression expr, ConstraintTypeOperator operator) {
+        if (expr instanceof ObjectCreationExpr creation) {
+            return operator == ConstraintTypeOperator.EQUAL ? constantCreation(creation) : Optional.empty();
+        }
+        return literalValue(expr);
+    }
+
+    private static Optional<Object> constantCreation(ObjectCreationExpr creation) {
+        if (creation.getScope().isPresent() || creation.getAnonymousClassBody().isPresent()
+                || creation.getTypeArguments().isPresent() || creation.getType().getTypeArguments().isPresent()) {
+            return Optional.empty();
+        }
+        List<Object> arguments = new ArrayList<>(creation.getArguments().size());
+        for (Expression argument : creation.getArguments()) {
+            Expression arg = unwrap(argument);
+            Optional<Object> value = arg instanceof ObjectCreationExpr nested ? constantCreation(nested) : literalValue(arg);
+            if (value.isEmpty()) {
+                return Optional.empty();
+            }
+            arguments.add(value.get());
+        }
+        return Optional.of(new ConstantCreation(creation.getType().getNameWithScope(), arguments));
+    }
+
+    private static ConstraintTypeOperator operatorFor(BinaryExpr.Operator operator) {
+        return switch (operator) {
+            case EQUALS -> ConstraintTypeOperator.EQUAL;
+            case GREATER -> ConstraintTypeOperator.GREATER_THAN;
+            case GREATER_EQUALS -> ConstraintTypeOperator.GREATER_OR_EQUAL;
+            case LESS -> ConstraintTypeOperator.LESS_THAN;
+            case LESS_EQUALS -> ConstraintTypeOperator.LESS_OR_EQUAL;
+            default -> null;
+        };
+    }
+
+    private static ConstraintTypeOperator flip(ConstraintTypeOperator operator) {
+        return switch (operator) {
+            case GREATER_THAN -> ConstraintTypeOperator.LESS_THAN;
+            case GREATER_OR_EQUAL -> ConstraintTypeOperator.LESS_OR_EQUAL;
+            case LESS_THAN -> ConstraintTypeOperator.GREATER_THAN;
+            case LESS_OR_EQUAL -> ConstraintTypeOperator.GREATER_OR_EQUAL;
+            default -> operator;
+        };
+    }
+
+    private static Optional<Object> literalValue(Expression expr) {
+        try {
+            if (expr instanceof UnaryExpr unary && unary.getOperator() == UnaryExpr.Operator.MINUS) {
+                return literalValue(unwrap(unary.getExpression())).map(DrlxConstraintAnalyzer::negate);
+            }
+            if (expr instanceof IntegerLiteralExpr i) {
+                return Optional.of(i.asNumber());
+            }
+            if (expr instanceof LongLiteralExpr l) {
+                return Optional.of(l.asNumber());
+            }
+            if (expr instanceof DoubleLiteralExpr d && !isFloatLiteral(d.getValue())) {
+                return Optional.of(d.asDouble());
+            }
+            if (expr instanceof StringLiteralExpr str) {
+                return Optional.of(str.asString());
+            }
+            if (expr instanceof CharLiteralExpr c) {
+                return Optional.of(c.asChar());
+            }
+            if (expr instanceof BooleanLiteralExpr b) {
+                return Optional.of(b.getValue());
+            }
+        } catch (RuntimeException e) {
+            // malformed literal (e.g. out of range): leave it to the lambda path
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isFloatLiteral(String text) {
+        return text.endsWith("f") || text.endsWith("F");
+    }
+
+    private static Object negate(Object value) {
+        if (value instanceof Integer i) {
+            return -i;
+        }
+        if (value instanceof Long l) {
+            return -l;
+        }
+        if (value instanceof Double d) {
+            return -d;
+        }
+        return null;
+    }
+
+    private static Expression parse(String expression) {
+        try {
+            return unwrap(StaticJavaParser.parseExpression(expression));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Expression unwrap(Expression expr) {
+        while (expr instanceof EnclosedExpr enclosed) {
+            expr = enclosed.getInner();
+        }
+        return expr;
+    }
+}
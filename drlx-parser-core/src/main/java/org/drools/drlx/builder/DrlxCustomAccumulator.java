@@ -12,32 +12,43 @@ import org.drools.drlx.builder.DrlxRuleAstModel.InitVarIR;
 import org.mvel3.Evaluator;
 import org.kie.api.runtime.rule.FactHandle;
 
+/**
+ * Accumulator of a custom {@code acc(...)}. The context is the map the lambdas run
+ * against: primitive init vars live in its {@link DrlxAccumulateState} (when the
+ * {@link DrlxAccumulateStateLayout} has slots), the other init vars are map entries,
+ * and the source bindings are written before each action/reverse and cleared after.
+ * Clearing overwrites the entry with {@code null} instead of removing it, so the map
+ * allocates no entry per accumulated fact.
+ */
 public final class DrlxCustomAccumulator implements Accumulator {
 
     private final List<InitVarIR> initVars;
     private final String srcBindingName;
     private final List<String> srcBindingNames;
     private final boolean multiSource;
+    private final DrlxAccumulateStateLayout stateLayout;
     private final Map<String, Object> initDefaults;
 
     private Evaluator<Map<String, Object>, Void, ?> actionEval;
     private Evaluator<Map<String, Object>, Void, ?> reverseEval;
     private Evaluator<Map<String, Object>, Void, Object> resultEval;
 
-    public DrlxCustomAccumulator(List<InitVarIR> initVars, String srcBindingName) {
+    DrlxCustomAccumulator(List<InitVarIR> initVars, DrlxAccumulateStateLayout stateLayout, String srcBindingName) {
         this.initVars = initVars;
         this.srcBindingName = srcBindingName;
         this.srcBindingNames = null;
         this.multiSource = false;
-        this.initDefaults = buildDefaults(initVars);
+        this.stateLayout = stateLayout;
+        this.initDefaults = buildDefaults(initVars, stateLayout);
     }
 
-    public DrlxCustomAccumulator(List<InitVarIR> initVars, List<String> srcBindingNames) {
+    DrlxCustomAccumulator(List<InitVarIR> initVars, DrlxAccumulateStateLayout stateLayout, List<String> srcBindingNames) {
         this.initVars = initVars;
         this.srcBindingName = null;
         this.srcBindingNames = List.copyOf(srcBindingNames);
         this.multiSource = true;
-        this.initDefaults = buildDefaults(initVars);
+        this.stateLayout = stateLayout;
+        this.initDefaults = buildDefaults(initVars, stateLayout);
     }
 
     void setActionEval(Evaluator<Map<String, Object>, Void, ?> eval) { this.actionEval = eval; }
@@ -49,7 +60,11 @@ public final class DrlxCustomAccumulator implements Accumulator {
     @Override
     public Object createContext() {
         int extra = multiSource ? srcBindingNames.size() : 1;
-        return new HashMap<String, Object>(initDefaults.size() + extra);
+        Map<String, Object> map = new HashMap<>(initDefaults.size() + extra + 1);
+        if (!stateLayout.isEmpty()) {
+            map.put(DrlxAccumulateState.VARIABLE, stateLayout.newState());
+        }
+        return map;
     }
 
     @Override
@@ -58,6 +73,9 @@ public final class DrlxCustomAccumulator implements Accumulator {
         @SuppressWarnings("unchecked")
         Map<String, Object> map = (Map<String, Object>) context;
         map.putAll(initDefaults);
+        if (!stateLayout.isEmpty()) {
+            stateLayout.reset((DrlxAccumulateState) map.get(DrlxAccumulateState.VARIABLE));
+        }
         return context;
     }
 
@@ -75,7 +93,7 @@ public final class DrlxCustomAccumulator implements Accumulator {
                 actionEval.eval(map);
             } finally {
                 for (Declaration d : innerDecls) {
-                    map.remove(d.getIdentifier());
+                    map.put(d.getIdentifier(), null);
                 }
             }
             return null;
@@ -85,7 +103,7 @@ public final class DrlxCustomAccumulator implements Accumulator {
             try {
                 actionEval.eval(map);
             } finally {
-                map.remove(srcBindingName);
+                map.put(srcBindingName, null);
             }
             return srcFact;
         }
@@ -110,7 +128,7 @@ public final class DrlxCustomAccumulator implements Accumulator {
                 reverseEval.eval(map);
             } finally {
                 for (Declaration d : innerDecls) {
-                    map.remove(d.getIdentifier());
+                    map.put(d.getIdentifier(), null);
                 }
             }
         } else {
@@ -118,7 +136,7 @@ public final class DrlxCustomAccumulator implements Accumulator {
             try {
                 reverseEval.eval(map);
             } finally {
-                map.remove(srcBindingName);
+                map.put(srcBindingName, null);
             }
         }
         return true;
@@ -159,9 +177,12 @@ public final class DrlxCustomAccumulator implements Accumulator {
         }
     }
 
-    private static Map<String, Object> buildDefaults(List<InitVarIR> initVars) {
+    private static Map<String, Object> buildDefaults(List<InitVarIR> initVars, DrlxAccumulateStateLayout stateLayout) {
         Map<String, Object> defaults = new HashMap<>(initVars.size());
         for (InitVarIR iv : initVars) {
+            if (stateLayout.holds(iv.name())) {
+                continue;
+            }
             defaults.put(iv.name(), parseLiteralValue(iv.initializer(), iv.typeName()));
         }
         return defaults;
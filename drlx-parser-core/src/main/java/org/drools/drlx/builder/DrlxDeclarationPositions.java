@@ -0,0 +1,66 @@
+package org.drools.drlx.builder;
+
+import java.util.List;
+
+import org.drools.base.base.ValueResolver;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.Declaration;
+
+/**
+ * Maps a fixed list of binding names to their positions in the inner declarations of an
+ * accumulate, so a multi-source lambda gets its arguments in compile order without a map.
+ * The positions are resolved against the first declaration array seen and reused while
+ * Drools keeps passing that array (it is cached on the {@code Accumulate} node).
+ */
+final class DrlxDeclarationPositions {
+
+    private record Resolved(Declaration[] declarations, int[] positions) {}
+
+    private final String[] names;
+    private volatile Resolved resolved;
+
+    DrlxDeclarationPositions(List<String> names) {
+        this.names = names.toArray(new String[0]);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    /**
+     * Writes the value of every name into {@code values}, in name order; a name without
+     * a declaration in {@code declarations} gets {@code null}.
+     */
+    void fill(Object[] values, BaseTuple tuple, Declaration[] declarations, ValueResolver valueResolver) {
+        int[] positions = positions(declarations);
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            values[i] = position < 0 ? null : declarations[position].getValue(valueResolver, tuple);
+        }
+    }
+
+    /** Value of the first name. */
+    Object first(BaseTuple tuple, Declaration[] declarations, ValueResolver valueResolver) {
+        int position = positions(declarations)[0];
+        return position < 0 ? null : declarations[position].getValue(valueResolver, tuple);
+    }
+
+    private int[] positions(Declaration[] declarations) {
+        Resolved current = resolved;
+        if (current == null || current.declarations() != declarations) {
+            int[] positions = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                positions[i] = -1;
+                for (int j = 0; j < declarations.length; j++) {
+                    if (declarations[j].getIdentifier().equals(names[i])) {
+                        positions[i] = j;
+                        break;
+                    }
+                }
+            }
+            current = new Resolved(declarations, positions);
+            resolved = current;
+        }
+        return current.positions();
+    }
+}
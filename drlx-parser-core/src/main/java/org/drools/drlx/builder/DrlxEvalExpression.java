@@ -48,12 +48,23 @@ public class DrlxEvalExpression implements EvalExpression, EvaluatorSink {
             throw new IllegalStateException(
                     "DrlxEvalExpression evaluator not yet bound: " + expression);
         }
+        return test(declarationValues(tuple, requiredDeclarations));
+    }
+
+    /**
+     * Evaluates the expression against bindings already resolved by name.
+     */
+    boolean test(Map<String, Object> input) {
+        return Boolean.TRUE.equals(evaluator.eval(input));
+    }
+
+    static Map<String, Object> declarationValues(BaseTuple tuple, Declaration[] requiredDeclarations) {
         Map<String, Object> input = new HashMap<>(requiredDeclarations.length * 2);
         for (Declaration d : requiredDeclarations) {
             FactHandle fh = tuple.get(d);
             input.put(d.getIdentifier(), fh != null ? d.getValue(null, fh.getObject()) : null);
         }
-        return Boolean.TRUE.equals(evaluator.eval(input));
+        return input;
     }
 
     @Override
@@ -66,7 +77,9 @@ public class DrlxEvalExpression implements EvalExpression, EvaluatorSink {
     @Override
     public DrlxEvalExpression clone() {
         // Stateless wrt evaluator (compiled once, shared) — share the reference.
-        return new DrlxEvalExpression(expression, evaluator);
+        DrlxEvalExpression clone = new DrlxEvalExpression(expression, evaluator);
+        DrlxLazyEvaluator.bindOnFirstUse(evaluator, clone); // a lazy stub rebinds the clone too
+        return clone;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -0,0 +1,88 @@
+package org.drools.drlx.builder;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
+import org.drools.drlx.parser.DrlxLexer;
+import org.drools.drlx.parser.DrlxParser;
+
+/**
+ * Free names of a DRLX expression, read from its parse tree: every identifier used as a
+ * primary expression ({@code age}, the {@code p} of {@code p.age}), in source order.
+ * Member names, method names, type names and the content of string literals are not
+ * names, so a binding is referenced exactly when its name is in the list.
+ *
+ * <p>The visitor computes the names once per condition from the tree it already has and
+ * stores them in {@link PatternIR#conditionReferences()}; {@link #of(String)} re-parses
+ * source that comes without them. Source that parses neither as an expression nor as
+ * a block falls back to the lexical scan of {@link DrlxLambdaCompiler#findIdentifiers}.
+ */
+final class DrlxExpressionNames {
+
+    private DrlxExpressionNames() {
+    }
+
+    static List<String> of(ParseTree tree) {
+        Set<String> names = new LinkedHashSet<>();
+        collect(tree, names);
+        return List.copyOf(names);
+    }
+
+    static List<String> of(String source) {
+        ParseTree tree = parse(source, false);
+        if (tree == null) {
+            tree = parse("{" + source + "\n}", true);
+        }
+        if (tree == null) {
+            return List.copyOf(new LinkedHashSet<>(DrlxLambdaCompiler.findIdentifiers(source)));
+        }
+        return of(tree);
+    }
+
+    private static void collect(ParseTree tree, Set<String> names) {
+        if (tree instanceof DrlxParser.PrimaryContext primary && primary.identifier() != null) {
+            names.add(primary.identifier().getText());
+        } else if (tree instanceof DrlxParser.CompactWithExpressionContext compactWith) {
+            names.add(compactWith.identifier().getText());
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            collect(tree.getChild(i), names);
+        }
+    }
+
+    private static ParseTree parse(String source, boolean block) {
+        DrlxLexer lexer = new DrlxLexer(CharStreams.fromString(source));
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        DrlxParser parser = new DrlxParser(tokens);
+        SyntaxErrors errors = new SyntaxErrors();
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errors);
+        parser.removeErrorListeners();
+        parser.addErrorListener(errors);
+        try {
+            ParseTree tree = block ? parser.block() : parser.expression();
+            return errors.found || tokens.LA(1) != Token.EOF ? null : tree;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class SyntaxErrors extends BaseErrorListener {
+        boolean found;
+
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line,
+                                int charPositionInLine, String msg, RecognitionException e) {
+            found = true;
+        }
+    }
+}
@@ -20,9 +20,18 @@ import org.kie.api.runtime.rule.FactHandle;
 
 public class DrlxGroupByAccumulate extends Accumulate {
 
+    /**
+     * Group key of a multi-source groupBy, read from the inner declarations of the
+     * accumulated tuple.
+     */
+    @FunctionalInterface
+    public interface MultiSourceKey {
+        Object key(BaseTuple tuple, Declaration[] innerDeclarations, ValueResolver valueResolver);
+    }
+
     private Accumulate innerAccumulate;
     private Function<Object, Object> groupingFunction;
-    private DrlxValueExtractor groupingFunctionMulti;
+    private MultiSourceKey groupingFunctionMulti;
     private boolean multiSource;
 
     public DrlxGroupByAccumulate() {}
@@ -37,7 +46,7 @@ public class DrlxGroupByAccumulate extends Accumulate {
     }
 
     public DrlxGroupByAccumulate(Accumulate innerAccumulate,
-                                  DrlxValueExtractor groupingFunctionMulti) {
+                                  MultiSourceKey groupingFunctionMulti) {
         super(innerAccumulate.getSource(), innerAccumulate.getRequiredDeclarations());
         this.innerAccumulate = innerAccumulate;
         this.groupingFunction = null;
@@ -47,12 +56,7 @@ public class DrlxGroupByAccumulate extends Accumulate {
 
     private Object getKey(BaseTuple tuple, FactHandle handle, ValueResolver valueResolver) {
         if (multiSource) {
-            Declaration[] innerDecls = getInnerDeclarationCache();
-            java.util.HashMap<String, Object> bindings = new java.util.HashMap<>(innerDecls.length);
-            for (Declaration d : innerDecls) {
-                bindings.put(d.getIdentifier(), d.getValue(valueResolver, tuple));
-            }
-            return groupingFunctionMulti.applyMulti(bindings);
+            return groupingFunctionMulti.key(tuple, getInnerDeclarationCache(), valueResolver);
         }
         return groupingFunction.apply(handle.getObject());
     }
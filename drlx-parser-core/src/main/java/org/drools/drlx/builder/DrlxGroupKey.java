@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package org.drools.drlx.builder;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Composite groupBy key: the values of a list-literal key such as {@code [p.name, p.age]}.
+ * The hash is computed once, when the key is built, instead of on every lookup in the
+ * group map; comparing two keys checks the hashes before the components.
+ *
+ * <p>It is an immutable {@code List} whose {@code equals} and {@code hashCode} follow the
+ * {@code List} contract, so a bound key reads (and compares) exactly like the list the
+ * MVEL literal would have produced.
+ */
+public final class DrlxGroupKey extends AbstractList<Object> implements RandomAccess {
+
+    private final Object[] components;
+    private final int hash;
+
+    DrlxGroupKey(Object[] components) {
+        this.components = components;
+        this.hash = Arrays.hashCode(components);
+    }
+
+    @Override
+    public Object get(int index) {
+        return components[index];
+    }
+
+    @Override
+    public int size() {
+        return components.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof DrlxGroupKey other) {
+            return hash == other.hash && Arrays.equals(components, other.components);
+        }
+        return o instanceof List<?> && super.equals(o);
+    }
+}
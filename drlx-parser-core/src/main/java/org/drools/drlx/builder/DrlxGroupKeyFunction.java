@@ -0,0 +1,86 @@
+package org.drools.drlx.builder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+import org.drools.base.base.ValueResolver;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.Declaration;
+
+/**
+ * groupBy key made only of property reads, {@code binding.property} or a list literal
+ * {@code [b1.p1, b2.p2, ...]}, evaluated through getter accessors instead of an MVEL
+ * value extractor. A single property yields the getter's value as is; a list literal
+ * yields a {@link DrlxGroupKey}.
+ */
+final class DrlxGroupKeyFunction implements Function<Object, Object>, DrlxGroupByAccumulate.MultiSourceKey {
+
+    private final String expression;
+    private final Function<Object, Object>[] accessors;
+    private final boolean composite;
+    // multi-source: the binding each component reads from
+    private final DrlxDeclarationPositions positions;
+
+    private DrlxGroupKeyFunction(String expression, List<Method> getters, boolean composite,
+                                 DrlxDeclarationPositions positions) {
+        this.expression = expression;
+        @SuppressWarnings("unchecked")
+        Function<Object, Object>[] accessors = new Function[getters.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = DrlxPropertyAccessors.accessor(getters.get(i));
+        }
+        this.accessors = accessors;
+        this.composite = composite;
+        this.positions = positions;
+    }
+
+    /** Key read from the single source fact; every getter applies to it. */
+    static DrlxGroupKeyFunction singleSource(String expression, List<Method> getters, boolean composite) {
+        return new DrlxGroupKeyFunction(expression, getters, composite, null);
+    }
+
+    /** Key over several sources; {@code getters.get(i)} applies to {@code bindings.get(i)}. */
+    static DrlxGroupKeyFunction multiSource(String expression, List<String> bindings, List<Method> getters,
+                                            boolean composite) {
+        return new DrlxGroupKeyFunction(expression, getters, composite, new DrlxDeclarationPositions(bindings));
+    }
+
+    @Override
+    public Object apply(Object fact) {
+        try {
+            if (!composite) {
+                return accessors[0].apply(fact);
+            }
+            Object[] components = new Object[accessors.length];
+            for (int i = 0; i < components.length; i++) {
+                components[i] = accessors[i].apply(fact);
+            }
+            return new DrlxGroupKey(components);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("group key '" + expression + "' failed at runtime", e);
+        }
+    }
+
+    @Override
+    public Object key(BaseTuple tuple, Declaration[] innerDeclarations, ValueResolver valueResolver) {
+        try {
+            if (!composite) {
+                return accessors[0].apply(positions.first(tuple, innerDeclarations, valueResolver));
+            }
+            Object[] components = new Object[accessors.length];
+            positions.fill(components, tuple, innerDeclarations, valueResolver);
+            for (int i = 0; i < components.length; i++) {
+                components[i] = accessors[i].apply(components[i]);
+            }
+            return new DrlxGroupKey(components);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("group key '" + expression + "' failed at runtime (multi-source)", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "group key " + expression;
+    }
+}
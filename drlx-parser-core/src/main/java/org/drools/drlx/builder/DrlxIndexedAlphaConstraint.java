@@ -0,0 +1,232 @@
+package org.drools.drlx.builder;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.drools.base.base.ObjectType;
+import org.drools.base.base.ValueResolver;
+import org.drools.base.base.field.ObjectFieldImpl;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.reteoo.PropertySpecificUtil;
+import org.drools.base.rule.ContextEntry;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.IndexableConstraint;
+import org.drools.base.rule.MutableTypeConstraint;
+import org.drools.base.rule.Pattern;
+import org.drools.base.rule.accessor.FieldValue;
+import org.drools.base.rule.accessor.ReadAccessor;
+import org.drools.base.rule.accessor.TupleValueExtractor;
+import org.drools.base.util.FieldIndex;
+import org.drools.base.util.index.ConstraintTypeOperator;
+import org.drools.util.bitmask.BitMask;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.drools.base.reteoo.PropertySpecificUtil.getEmptyPropertyReactiveMask;
+
+/**
+ * Alpha constraint comparing one property against a literal ({@code status == "OPEN"},
+ * {@code age > 18}), evaluated without an MVEL lambda. It is an {@link IndexableConstraint}
+ * with a typed, indexed field reader and the literal as {@link #getField()}, so Drools
+ * hashes sibling equality alpha nodes on the same property and looks relational ones up
+ * in an {@code AlphaRangeIndex} instead of testing them one by one.
+ * {@link #equals}/{@link #hashCode} are value based, so identical constraints in
+ * different rules share one alpha node.
+ *
+ * <p>The literal is already coerced to the boxed property type by the builder.
+ */
+public class DrlxIndexedAlphaConstraint extends MutableTypeConstraint<ContextEntry[]> implements IndexableConstraint {
+
+    private final String expression;
+    private final String propertyName;
+    private final ReadAccessor fieldExtractor;
+    private final ConstraintTypeOperator operator;
+    private final Object value;
+    private final FieldValue field;
+
+    public DrlxIndexedAlphaConstraint(String expression, String propertyName, ReadAccessor fieldExtractor,
+                                      ConstraintTypeOperator operator, Object value) {
+        this.expression = expression;
+        this.propertyName = propertyName;
+        this.fieldExtractor = fieldExtractor;
+        this.operator = operator;
+        this.value = value;
+        this.field = new ObjectFieldImpl(value);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isUnification() {
+        return false;
+    }
+
+    @Override
+    public void unsetUnification() {
+    }
+
+    @Override
+    public boolean isIndexable(int nodeType, KieBaseConfiguration config) {
+        // EQUAL feeds the alpha hash; relational operators feed AlphaRangeIndex when range indexing is enabled
+        return getConstraintType().isIndexableForNode(nodeType, this, config);
+    }
+
+    @Override
+    public ConstraintTypeOperator getConstraintType() {
+        return operator;
+    }
+
+    @Override
+    public FieldValue getField() {
+        return field;
+    }
+
+    @Override
+    public FieldIndex getFieldIndex() {
+        return new FieldIndex(fieldExtractor, null);
+    }
+
+    @Override
+    public ReadAccessor getFieldExtractor() {
+        return fieldExtractor;
+    }
+
+    @Override
+    public TupleValueExtractor getIndexExtractor() {
+        return null;
+    }
+
+    @Override
+    public Declaration[] getRequiredDeclarations() {
+        return new Declaration[0];
+    }
+
+    @Override
+    public void replaceDeclaration(Declaration oldDecl, Declaration newDecl) {
+    }
+
+    @Override
+    public BitMask getListenedPropertyMask(Optional<Pattern> pattern,
+                                           ObjectType objectType,
+                                           List<String> settableProperties) {
+        int pos = settableProperties.indexOf(propertyName);
+        if (pos < 0) {
+            return super.getListenedPropertyMask(pattern, objectType, settableProperties);
+        }
+        return getEmptyPropertyReactiveMask(settableProperties.size())
+                .set(pos + PropertySpecificUtil.CUSTOM_BITS_OFFSET);
+    }
+
+    @Override
+    public DrlxIndexedAlphaConstraint clone() {
+        return new DrlxIndexedAlphaConstraint(expression, propertyName, fieldExtractor, operator, value);
+    }
+
+    @Override
+    public ConstraintType getType() {
+        return ConstraintType.ALPHA;
+    }
+
+    @Override
+    public boolean isTemporal() {
+        return false;
+    }
+
+    @Override
+    public boolean isAllowed(FactHandle handle, ValueResolver valueResolver) {
+        Object actual = fieldExtractor.getValue(handle.getObject());
+        if (operator == ConstraintTypeOperator.EQUAL) {
+            return Objects.equals(actual, value);
+        }
+        if (actual == null) {
+            return false;
+        }
+        if (value instanceof Double d) {
+            return compare(((Number) actual).doubleValue(), d);
+        }
+        return compare(((Number) actual).longValue(), ((Number) value).longValue());
+    }
+
+    private boolean compare(double actual, double literal) {
+        return switch (operator) {
+            case GREATER_THAN -> actual > literal;
+            case GREATER_OR_EQUAL -> actual >= literal;
+            case LESS_THAN -> actual < literal;
+            case LESS_OR_EQUAL -> actual <= literal;
+            default -> throw new IllegalStateException("Unsupported operator " + operator + " in " + expression);
+        };
+    }
+
+    private boolean compare(long actual, long literal) {
+        return switch (operator) {
+            case GREATER_THAN -> actual > literal;
+            case GREATER_OR_EQUAL -> actual >= literal;
+            case LESS_THAN -> actual < literal;
+            case LESS_OR_EQUAL -> actual <= literal;
+            default -> throw new IllegalStateException("Unsupported operator " + operator + " in " + expression);
+        };
+    }
+
+    @Override
+    public boolean isAllowedCachedLeft(ContextEntry[] context, FactHandle handle) {
+        return false; // alpha only
+    }
+
+    @Override
+    public boolean isAllowedCachedRight(BaseTuple tuple, ContextEntry[] context) {
+        return false; // alpha only
+    }
+
+    @Override
+    public ContextEntry[] createContext() {
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DrlxIndexedAlphaConstraint other)) {
+            return false;
+        }
+        return operator == other.operator
+                && propertyName.equals(other.propertyName)
+                && Objects.equals(fieldExtractor.getNativeReadMethod(), other.fieldExtractor.getNativeReadMethod())
+                && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(propertyName, operator, value);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
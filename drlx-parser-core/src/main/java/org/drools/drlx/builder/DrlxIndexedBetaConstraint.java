@@ -0,0 +1,160 @@
+package org.drools.drlx.builder;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Objects;
+
+import org.drools.base.base.ValueResolver;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.ContextEntry;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.IndexableConstraint;
+import org.drools.base.rule.MutableTypeConstraint;
+import org.drools.base.rule.accessor.FieldValue;
+import org.drools.base.rule.accessor.ReadAccessor;
+import org.drools.base.rule.accessor.TupleValueExtractor;
+import org.drools.base.util.FieldIndex;
+import org.drools.base.util.index.ConstraintTypeOperator;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+
+/**
+ * Equality join ({@code prop == p1.prop} or {@code prop == p1}) exposed to Drools as an
+ * {@link IndexableConstraint}, so beta memories are hashed on the joined value instead
+ * of being scanned. The right side reads {@code prop} from the current fact; the left
+ * side is a declaration on the referenced pattern that yields the joined value.
+ * Evaluation needs no MVEL lambda: both sides are compared with {@link Objects#equals}.
+ */
+public class DrlxIndexedBetaConstraint extends MutableTypeConstraint<ContextEntry> implements IndexableConstraint {
+
+    private final String expression;
+    private final ReadAccessor rightExtractor;
+    private final Declaration[] requiredDeclarations;
+
+    public DrlxIndexedBetaConstraint(String expression, ReadAccessor rightExtractor, Declaration leftDeclaration) {
+        this(expression, rightExtractor, new Declaration[] { leftDeclaration });
+    }
+
+    private DrlxIndexedBetaConstraint(String expression, ReadAccessor rightExtractor, Declaration[] requiredDeclarations) {
+        this.expression = expression;
+        this.rightExtractor = rightExtractor;
+        this.requiredDeclarations = requiredDeclarations;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public boolean isUnification() {
+        return false;
+    }
+
+    @Override
+    public void unsetUnification() {
+    }
+
+    @Override
+    public boolean isIndexable(int nodeType, KieBaseConfiguration config) {
+        return getConstraintType().isIndexableForNode(nodeType, this, config);
+    }
+
+    @Override
+    public ConstraintTypeOperator getConstraintType() {
+        return ConstraintTypeOperator.EQUAL;
+    }
+
+    @Override
+    public FieldValue getField() {
+        return null;
+    }
+
+    @Override
+    public FieldIndex getFieldIndex() {
+        return new FieldIndex(rightExtractor, requiredDeclarations[0]);
+    }
+
+    @Override
+    public ReadAccessor getFieldExtractor() {
+        return rightExtractor;
+    }
+
+    @Override
+    public TupleValueExtractor getIndexExtractor() {
+        return requiredDeclarations[0];
+    }
+
+    @Override
+    public Declaration[] getRequiredDeclarations() {
+        return requiredDeclarations;
+    }
+
+    @Override
+    public void replaceDeclaration(Declaration oldDecl, Declaration newDecl) {
+        for (int i = 0; i < requiredDeclarations.length; i++) {
+            if (requiredDeclarations[i].equals(oldDecl)) {
+                requiredDeclarations[i] = newDecl;
+            }
+        }
+    }
+
+    @Override
+    public DrlxIndexedBetaConstraint clone() {
+        return new DrlxIndexedBetaConstraint(expression, rightExtractor, requiredDeclarations.clone());
+    }
+
+    @Override
+    public ConstraintType getType() {
+        return ConstraintType.BETA;
+    }
+
+    @Override
+    public boolean isTemporal() {
+        return false;
+    }
+
+    @Override
+    public boolean isAllowed(FactHandle handle, ValueResolver valueResolver) {
+        throw new UnsupportedOperationException("Beta constraint should not be evaluated as alpha");
+    }
+
+    @Override
+    public boolean isAllowedCachedLeft(ContextEntry context, FactHandle handle) {
+        DrlxLambdaBetaConstraint.DrlxBetaContextEntry ctx = (DrlxLambdaBetaConstraint.DrlxBetaContextEntry) context;
+        return evaluate(handle.getObject(), ctx.tuple);
+    }
+
+    @Override
+    public boolean isAllowedCachedRight(BaseTuple tuple, ContextEntry context) {
+        DrlxLambdaBetaConstraint.DrlxBetaContextEntry ctx = (DrlxLambdaBetaConstraint.DrlxBetaContextEntry) context;
+        return evaluate(ctx.handle.getObject(), tuple);
+    }
+
+    private boolean evaluate(Object currentFact, BaseTuple tuple) {
+        Declaration decl = requiredDeclarations[0];
+        FactHandle fh = tuple.get(decl);
+        Object left = fh != null ? decl.getValue(null, fh.getObject()) : null;
+        return Objects.equals(rightExtractor.getValue(currentFact), left);
+    }
+
+    @Override
+    public ContextEntry createContext() {
+        return new DrlxLambdaBetaConstraint.DrlxBetaContextEntry();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -69,11 +69,7 @@ public final class DrlxLambdaAccumulator implements Accumulator {
                              Declaration[] innerDecls, ValueResolver vr) {
         Object value;
         if (multiSource) {
-            Map<String, Object> bindings = new HashMap<>(innerDecls.length);
-            for (Declaration d : innerDecls) {
-                bindings.put(d.getIdentifier(), d.getValue(vr, tuple));
-            }
-            value = (multiExtractor == null) ? bindings : multiExtractor.applyMulti(bindings);
+            value = (multiExtractor == null) ? bindings(tuple, innerDecls, vr) : multiExtractor.applyPositional(tuple, innerDecls, vr);
         } else {
             value = (extractor == null) ? handle.getObject() : extractor.apply(handle.getObject());
         }
@@ -85,6 +81,15 @@ public final class DrlxLambdaAccumulator implements Accumulator {
         return value;
     }
 
+    /** The accumulated value of a zero-argument function over several sources: all the bindings. */
+    private static Map<String, Object> bindings(BaseTuple tuple, Declaration[] innerDecls, ValueResolver vr) {
+        Map<String, Object> bindings = new HashMap<>(innerDecls.length);
+        for (Declaration d : innerDecls) {
+            bindings.put(d.getIdentifier(), d.getValue(vr, tuple));
+        }
+        return bindings;
+    }
+
     @Override public boolean supportsReverse() { return accFunction.supportsReverse(); }
 
     @Override
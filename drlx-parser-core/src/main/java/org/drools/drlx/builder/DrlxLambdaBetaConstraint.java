@@ -3,15 +3,14 @@ package org.drools.drlx.builder;
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.drools.base.base.ValueResolver;
 import org.drools.base.reteoo.BaseTuple;
@@ -19,30 +18,27 @@ import org.drools.base.rule.ContextEntry;
 import org.drools.base.rule.Declaration;
 import org.drools.base.rule.MutableTypeConstraint;
 import org.kie.api.runtime.rule.FactHandle;
-import org.mvel3.ClassManager;
-import org.mvel3.CompilerParameters;
 import org.mvel3.Evaluator;
-import org.mvel3.MVEL;
 
 /**
  * Beta constraint for join conditions that reference bindings from previous patterns.
- * Uses MAP context MVEL evaluator so both current fact properties and external bindings
- * are accessible.
+ * Uses a LIST context MVEL evaluator whose positional arguments are the properties of
+ * the current fact the expression reads, followed by the required declarations in
+ * declaration order. The argument array lives in the {@link DrlxBetaContextEntry}, so
+ * a join check allocates nothing.
  */
 public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry> implements EvaluatorSink {
 
     private String expression;
     private Class<?> patternType;
+    private String[] readProperties;
     private Declaration[] requiredDeclarations;
-    private Evaluator<Map<String, Object>, Void, Boolean> evaluator;
+    private Evaluator<List<Object>, Void, Boolean> evaluator;
 
-    // Cached property extractors for fast evaluation (avoid Introspector at eval time)
+    // Extractors for the read properties only, backed by direct accessors (see DrlxPropertyAccessMode)
     private transient PropertyExtractor[] propertyExtractors;
 
-    // For deferred compilation (batch mode / pre-build)
-    private org.mvel3.transpiler.context.Declaration<?>[] mvelDeclarations;
-
-    record PropertyExtractor(String name, Method getter) {}
+    record PropertyExtractor(String name, Method getter, Function<Object, Object> accessor) {}
 
     private static final ConcurrentHashMap<Class<?>, PropertyExtractor[]> EXTRACTOR_CACHE = new ConcurrentHashMap<>();
 
@@ -50,30 +46,20 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
     }
 
     /**
-     * Constructor for immediate compilation.
-     */
-    public DrlxLambdaBetaConstraint(String expression, Class<?> patternType,
-                                     org.mvel3.transpiler.context.Declaration<?>[] mvelDeclarations,
-                                     Declaration[] requiredDeclarations) {
-        this.expression = expression;
-        this.patternType = patternType;
-        this.mvelDeclarations = mvelDeclarations;
-        this.requiredDeclarations = requiredDeclarations;
-        this.propertyExtractors = buildPropertyExtractors(patternType);
-        initializeLambdaConstraint();
-    }
-
-    /**
-     * Constructor with pre-compiled evaluator.
+     * @param readProperties properties of {@code patternType} referenced by the expression,
+     *                       in the order the evaluator expects them ahead of the declarations
+     * @param evaluator      pre-compiled evaluator, or {@code null} when it is bound later
+     *                       via {@link #bindEvaluator}
      */
-    public DrlxLambdaBetaConstraint(String expression, Class<?> patternType,
-                                     Evaluator<Map<String, Object>, Void, Boolean> evaluator,
+    public DrlxLambdaBetaConstraint(String expression, Class<?> patternType, String[] readProperties,
+                                     Evaluator<List<Object>, Void, Boolean> evaluator,
                                      Declaration[] requiredDeclarations) {
         this.expression = expression;
         this.patternType = patternType;
+        this.readProperties = readProperties;
         this.evaluator = evaluator;
         this.requiredDeclarations = requiredDeclarations;
-        this.propertyExtractors = buildPropertyExtractors(patternType);
+        this.propertyExtractors = selectPropertyExtractors(patternType, readProperties);
     }
 
     public String getExpression() {
@@ -85,9 +71,13 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
         return evaluator;
     }
 
+    public String[] getReadProperties() {
+        return readProperties;
+    }
+
     @SuppressWarnings("unchecked")
     public void setEvaluator(Evaluator<?, ?, Boolean> evaluator) {
-        this.evaluator = (Evaluator<Map<String, Object>, Void, Boolean>) evaluator;
+        this.evaluator = (Evaluator<List<Object>, Void, Boolean>) evaluator;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -96,13 +86,17 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
         setEvaluator((Evaluator) evaluator);
     }
 
-    private static PropertyExtractor[] buildPropertyExtractors(Class<?> patternType) {
+    /**
+     * All readable JavaBean properties of {@code patternType}, in introspection order.
+     * The returned extractors carry no accessor; constraints bind one per read property.
+     */
+    static PropertyExtractor[] propertyExtractors(Class<?> patternType) {
         return EXTRACTOR_CACHE.computeIfAbsent(patternType, clz -> {
             try {
                 BeanInfo beanInfo = Introspector.getBeanInfo(clz, Object.class);
                 return Arrays.stream(beanInfo.getPropertyDescriptors())
                         .filter(pd -> pd.getReadMethod() != null)
-                        .map(pd -> new PropertyExtractor(pd.getName(), pd.getReadMethod()))
+                        .map(pd -> new PropertyExtractor(pd.getName(), pd.getReadMethod(), null))
                         .toArray(PropertyExtractor[]::new);
             } catch (IntrospectionException e) {
                 throw new RuntimeException("Failed to introspect " + clz.getName(), e);
@@ -110,16 +104,21 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
         });
     }
 
-    private void initializeLambdaConstraint() {
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        CompilerParameters<Map<String, Object>, Void, Boolean> evalInfo =
-                (CompilerParameters) MVEL.<Object>map(mvelDeclarations)
-                        .<Boolean>out(Boolean.class)
-                        .expression(expression)
-                        .classManager(new ClassManager())
-                        .build();
-        MVEL mvel = new MVEL();
-        evaluator = mvel.compile(evalInfo);
+    private static PropertyExtractor[] selectPropertyExtractors(Class<?> patternType, String[] readProperties) {
+        PropertyExtractor[] all = propertyExtractors(patternType);
+        PropertyExtractor[] selected = new PropertyExtractor[readProperties.length];
+        for (int i = 0; i < readProperties.length; i++) {
+            for (PropertyExtractor pe : all) {
+                if (pe.name().equals(readProperties[i])) {
+                    selected[i] = new PropertyExtractor(pe.name(), pe.getter(), DrlxPropertyAccessors.accessor(pe.getter()));
+                    break;
+                }
+            }
+            if (selected[i] == null) {
+                throw new RuntimeException("No readable property '" + readProperties[i] + "' on " + patternType.getName());
+            }
+        }
+        return selected;
     }
 
     @Override
@@ -139,11 +138,12 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
     @Override
     public DrlxLambdaBetaConstraint clone() {
         // Drools' LogicTransformer clones constraints when expanding OR-trees into
-        // sibling AND sub-rules. Re-running initializeLambdaConstraint() would NPE
-        // on the deferred-compile path (mvelDeclarations is null until bindEvaluator
-        // fires). Reuse the already-bound evaluator — MVEL3 evaluators are stateless.
-        return new DrlxLambdaBetaConstraint(this.expression, this.patternType,
+        // sibling AND sub-rules. Reuse the already-bound evaluator — MVEL3 evaluators
+        // are stateless; the argument array lives in the per-node context entry.
+        DrlxLambdaBetaConstraint clone = new DrlxLambdaBetaConstraint(this.expression, this.patternType, this.readProperties,
                 this.evaluator, this.requiredDeclarations.clone());
+        DrlxLazyEvaluator.bindOnFirstUse(evaluator, clone); // a lazy stub rebinds the clone too
+        return clone;
     }
 
     @Override
@@ -174,42 +174,37 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
     @Override
     public boolean isAllowedCachedLeft(ContextEntry context, FactHandle handle) {
         DrlxBetaContextEntry ctx = (DrlxBetaContextEntry) context;
-        Map<String, Object> map = buildEvalMap(handle.getObject(), ctx.tuple);
-        return evaluator.eval(map);
+        return evaluate(ctx, handle.getObject(), ctx.tuple);
     }
 
     @Override
     public boolean isAllowedCachedRight(BaseTuple tuple, ContextEntry context) {
         DrlxBetaContextEntry ctx = (DrlxBetaContextEntry) context;
-        Map<String, Object> map = buildEvalMap(ctx.handle.getObject(), tuple);
-        return evaluator.eval(map);
+        return evaluate(ctx, ctx.handle.getObject(), tuple);
     }
 
-    private Map<String, Object> buildEvalMap(Object currentFact, BaseTuple tuple) {
-        Map<String, Object> map = new HashMap<>(propertyExtractors.length + requiredDeclarations.length);
+    private boolean evaluate(DrlxBetaContextEntry ctx, Object currentFact, BaseTuple tuple) {
+        Object[] args = ctx.args;
+        int i = 0;
 
-        // Extract current fact's properties using cached extractors
+        // Only the properties the expression reads, in evaluator argument order
         for (PropertyExtractor pe : propertyExtractors) {
-            try {
-                map.put(pe.name, pe.getter.invoke(currentFact));
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to read property " + pe.name, e);
-            }
+            args[i++] = pe.accessor.apply(currentFact);
         }
 
         // Extract bound variables from tuple via declaration's ReadAccessor
         // (handles both regular SelfReference bindings and ArrayElementReader for query params)
         for (Declaration decl : requiredDeclarations) {
             FactHandle fh = tuple.get(decl);
-            map.put(decl.getIdentifier(), fh != null ? decl.getValue(null, fh.getObject()) : null);
+            args[i++] = fh != null ? decl.getValue(null, fh.getObject()) : null;
         }
 
-        return map;
+        return evaluator.eval(ctx.argsView);
     }
 
     @Override
     public ContextEntry createContext() {
-        return new DrlxBetaContextEntry();
+        return new DrlxBetaContextEntry(propertyExtractors.length + requiredDeclarations.length);
     }
 
     @Override
@@ -218,7 +213,8 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
     }
 
     /**
-     * Context entry that caches the left tuple and right fact handle for beta evaluation.
+     * Context entry that caches the left tuple and right fact handle for beta evaluation,
+     * plus the reusable positional argument array of {@link DrlxLambdaBetaConstraint}.
      */
     public static class DrlxBetaContextEntry implements ContextEntry {
 
@@ -226,6 +222,18 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
         FactHandle handle;
         ContextEntry next;
 
+        final Object[] args;
+        final List<Object> argsView;
+
+        public DrlxBetaContextEntry() {
+            this(0);
+        }
+
+        DrlxBetaContextEntry(int argCount) {
+            this.args = new Object[argCount];
+            this.argsView = Arrays.asList(args);
+        }
+
         @Override
         public ContextEntry getNext() {
             return next;
@@ -249,6 +257,7 @@ public class DrlxLambdaBetaConstraint extends MutableTypeConstraint<ContextEntry
         @Override
         public void resetTuple() {
             this.tuple = null;
+            Arrays.fill(args, null);
         }
 
         @Override
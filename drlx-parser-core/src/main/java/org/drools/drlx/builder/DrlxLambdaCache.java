@@ -0,0 +1,195 @@
+package org.drools.drlx.builder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.mvel3.MVEL;
+import org.mvel3.lambdaextractor.ArtifactRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk lambda classes shared by pre-builds, addressed by the content of the lambda
+ * rather than by rule and counter. Enabled with {@link #PROPERTY} set to a directory;
+ * any number of DRLX files and builds may share it. A lambda is compiled only when no
+ * earlier build compiled the same lambda (see {@link DrlxLambdaCompiler}).
+ *
+ * <p>Layout: {@code <dir>/<digest>/class} holding the class file and
+ * {@code <dir>/<digest>/fqn} holding its class name, where {@code digest} is the SHA-256 of
+ * the canonical lambda signature, {@link #FORMAT_VERSION} and the checksum of the MVEL
+ * jar. The signature carries a {@link #typeFingerprint fingerprint} of every type the
+ * lambda is compiled against (pattern, declaration and output types), so changing one
+ * of those classes changes the digest. Other classes the expression calls into are not
+ * covered: clear the directory when those change incompatibly. An entry is written to a
+ * temporary directory and renamed to its digest, so concurrent builds only ever see
+ * complete entries, and the first build to store a digest wins whatever class name it
+ * compiled the lambda under. Cache I/O failures are logged and treated as misses.
+ */
+public final class DrlxLambdaCache {
+
+    public static final String PROPERTY = "drlx.compiler.lambdaCache";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DrlxLambdaCache.class);
+
+    private static final String FORMAT_VERSION = "2"; // 2: fqn-independent entry layout
+
+    private static final String CLASS_FILE = "class";
+    private static final String FQN_FILE = "fqn";
+
+    // stands in for a class whose bytes cannot be read: unique per JVM, so never a cross-build hit
+    private static final String UNREADABLE = "unreadable " + UUID.randomUUID();
+
+    private static final ClassValue<String> TYPE_FINGERPRINTS = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return fingerprintOf(type);
+        }
+    };
+
+    private static final String MVEL_FINGERPRINT = mvelFingerprint();
+
+    private final Path dir;
+
+    DrlxLambdaCache(Path dir) {
+        this.dir = dir;
+    }
+
+    /** The cache configured by {@link #PROPERTY}, or {@code null} when it is unset. */
+    static DrlxLambdaCache fromProperty() {
+        String configured = System.getProperty(PROPERTY);
+        return configured == null || configured.isBlank() ? null : new DrlxLambdaCache(Path.of(configured.trim()));
+    }
+
+    Path dir() {
+        return dir;
+    }
+
+    static String digest(String signature) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((FORMAT_VERSION + '\n' + MVEL_FINGERPRINT + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(signature.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * SHA-256 of the class file of {@code type} (of its element type for arrays), read
+     * once per class; the name for primitives.
+     */
+    static String typeFingerprint(Class<?> type) {
+        return TYPE_FINGERPRINTS.get(type);
+    }
+
+    private static String fingerprintOf(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return type.getName();
+        }
+        try (InputStream in = type.getResourceAsStream('/' + type.getName().replace('.', '/') + ".class")) {
+            return in != null ? sha256(in) : UNREADABLE;
+        } catch (IOException e) {
+            LOG.warn("Failed to read class file of {} for the lambda cache", type.getName(), e);
+            return UNREADABLE;
+        }
+    }
+
+    /**
+     * SHA-256 of the MVEL jar. Falls back to the implementation version and the
+     * fingerprint of {@link MVEL} when MVEL is not loaded from a jar.
+     */
+    private static String mvelFingerprint() {
+        try {
+            Path location = Path.of(MVEL.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            if (Files.isRegularFile(location)) {
+                try (InputStream in = Files.newInputStream(location)) {
+                    return sha256(in);
+                }
+            }
+        } catch (Exception e) {
+            LOG.debug("Failed to locate the MVEL jar, fingerprinting the MVEL class instead", e);
+        }
+        return MVEL.class.getPackage().getImplementationVersion() + ' ' + typeFingerprint(MVEL.class);
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        try {
+            DigestInputStream digesting = new DigestInputStream(in, MessageDigest.getInstance("SHA-256"));
+            digesting.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digesting.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** The class compiled for {@code digest} by an earlier build, or {@code null}. */
+    ArtifactRef get(String digest) {
+        Path entryDir = dir.resolve(digest);
+        Path classFile = entryDir.resolve(CLASS_FILE);
+        Path fqnFile = entryDir.resolve(FQN_FILE);
+        if (!Files.isRegularFile(classFile) || !Files.isRegularFile(fqnFile)) {
+            return null;
+        }
+        try {
+            return new ArtifactRef(Files.readString(fqnFile, StandardCharsets.UTF_8), classFile);
+        } catch (IOException e) {
+            LOG.warn("Failed to read lambda cache entry {}", entryDir, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the class of {@code ref} under {@code digest}, unless it has no class file or
+     * is already cached. The entry is written to a temporary directory and renamed to
+     * {@code digest}; when another build claimed the digest first, its entry is kept.
+     */
+    void put(String digest, ArtifactRef ref) {
+        if (ref == null || ref.classFile() == null || !Files.isReadable(ref.classFile())
+                || Files.exists(dir.resolve(digest))) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempDirectory(dir, digest + ".tmp");
+            try {
+                Files.copy(ref.classFile(), tmp.resolve(CLASS_FILE));
+                Files.writeString(tmp.resolve(FQN_FILE), ref.fqn(), StandardCharsets.UTF_8);
+                try {
+                    Files.move(tmp, dir.resolve(digest), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, dir.resolve(digest));
+                }
+            } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                // another build stored the same lambda first
+            } finally {
+                deleteEntry(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to store lambda {} in cache {}", ref.fqn(), dir, e);
+        }
+    }
+
+    private static void deleteEntry(Path entryDir) throws IOException {
+        if (Files.isDirectory(entryDir)) {
+            Files.deleteIfExists(entryDir.resolve(CLASS_FILE));
+            Files.deleteIfExists(entryDir.resolve(FQN_FILE));
+            Files.delete(entryDir);
+        }
+    }
+}
@@ -6,11 +6,15 @@ import java.beans.Introspector;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.drools.base.base.ClassObjectType;
@@ -19,14 +23,12 @@ import org.drools.base.rule.GroupElement;
 import org.drools.base.rule.Pattern;
 import org.drools.base.rule.constraint.Constraint;
 import org.kie.api.definition.type.Position;
-import org.mvel3.ClassManager;
 import org.mvel3.CompilerParameters;
 import org.mvel3.Evaluator;
 import org.mvel3.MVEL;
 import org.mvel3.MVELBatchCompiler;
 import org.mvel3.Type;
 import org.mvel3.lambdaextractor.ArtifactRef;
-import org.mvel3.lambdaextractor.LambdaArtifactLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +48,9 @@ public class DrlxLambdaCompiler {
 
     private static final String RETURN_NULL = "\n return null;";
 
+    // distinct blocks per lambda table evaluator, so its dispatch method stays well below the 64KB method limit
+    static final int MAX_TABLE_BLOCKS = 32;
+
     private static final ConcurrentHashMap<Class<?>, org.mvel3.transpiler.context.Declaration<?>[]> DECLARATION_CACHE = new ConcurrentHashMap<>();
 
     public static org.mvel3.transpiler.context.Declaration<?>[] extractDeclarations(Class<?> patternType) {
@@ -112,41 +117,76 @@ public class DrlxLambdaCompiler {
 
     public record BoundVariable(String name, Class<?> type, Pattern pattern, Declaration declaration) {}
 
-    public record PendingLambda(MVELBatchCompiler.LambdaHandle handle, EvaluatorSink target) {}
+    public record PendingLambda(DrlxBatchCompiler.Handle handle, EvaluatorSink target) {}
 
     protected int patternId = 0;
 
     protected DrlxLambdaMetadata preBuildMetadata; // null = normal build
 
+    // rules compiled afresh even with pre-build metadata: their source changed since the pre-build
+    protected Set<String> recompiledRules = Set.of();
+
     protected String currentRuleName;
     protected int lambdaCounter;
 
-    protected final MVELBatchCompiler batchCompiler;
+    protected final DrlxBatchCompiler batchCompiler;
     protected final List<PendingLambda> pendingLambdas = new ArrayList<>();
 
+    // cross-build lambda classes by content, null = none (see DrlxLambdaCache)
+    protected DrlxLambdaCache lambdaCache;
+
+    // handles of the current batch by content, so identical lambdas compile to one class
+    private final Map<BatchKey, DrlxBatchCompiler.Handle> batchHandles = new HashMap<>();
+
+    // consequences queued for lambda tables until compileBatch, keyed by declaration signature
+    private final Map<Map<String, Type<?>>, LambdaTable> consequenceTables = new LinkedHashMap<>();
+
     /**
      * Imports declared in the current DRLX compilation unit. Seeded from
-     * {@link DrlxRuleAstRuntimeBuilder} via {@link #addImports(java.util.Collection)};
+     * {@link DrlxRuleAstRuntimeBuilder} via {@link #addImports(Collection)};
      * passed into MVEL3's {@code .imports(...)} when batch-compiling
      * eval expressions and consequences so external types referenced in
      * those expressions (e.g. enum constants like {@code Rating.LOW}) resolve.
      * Pattern compilation already gets imports via {@link MVEL#pojo(Class, ...)}.
      */
-    private final java.util.Set<String> imports = new java.util.LinkedHashSet<>();
+    private final Set<String> imports = new LinkedHashSet<>();
 
-    private ClassManager preBuildClassManager;
-    private final Map<String, Class<?>> loadedClassCache = new HashMap<>();
+    private final DrlxPreBuiltLambdaLoader preBuiltLoader = new DrlxPreBuiltLambdaLoader();
 
     public DrlxLambdaCompiler(MVELBatchCompiler batchCompiler) {
+        this(new DrlxBatchCompiler(batchCompiler));
+    }
+
+    public DrlxLambdaCompiler(DrlxBatchCompiler batchCompiler) {
         this.batchCompiler = batchCompiler;
     }
 
-    public void addImports(java.util.Collection<String> additional) {
+    public void addImports(Collection<String> additional) {
         imports.addAll(additional);
     }
 
     public void setPreBuildMetadata(DrlxLambdaMetadata preBuildMetadata) {
         this.preBuildMetadata = preBuildMetadata;
+        if (preBuildMetadata != null) {
+            preBuiltLoader.prepare(preBuildMetadata, Thread.currentThread().getContextClassLoader());
+        }
+    }
+
+    /**
+     * Rules whose lambdas are compiled instead of loaded from the pre-build metadata,
+     * because they were re-parsed from changed source (see {@link DrlxRuleAstParseResult}).
+     * Lambdas of every other rule still come from the metadata.
+     */
+    public void setRecompiledRules(Set<String> ruleNames) {
+        this.recompiledRules = Set.copyOf(ruleNames);
+    }
+
+    /**
+     * Looks up every batch lambda in {@code lambdaCache} before compiling it, and stores
+     * the lambdas this compiler compiles there ({@code null} = no cache).
+     */
+    void setLambdaCache(DrlxLambdaCache lambdaCache) {
+        this.lambdaCache = lambdaCache;
     }
 
     public int nextPatternId() {
@@ -159,40 +199,64 @@ public class DrlxLambdaCompiler {
         this.lambdaCounter = 0;
     }
 
-    public DrlxLambdaConstraint createLambdaConstraint(String expression, Class<?> patternType, org.mvel3.transpiler.context.Declaration<?>[] declarations) {
+    /**
+     * Alpha constraint for {@code expression}, whose free names are {@code names}
+     * (see {@link DrlxExpressionNames}).
+     */
+    public DrlxLambdaConstraint createLambdaConstraint(String expression, List<String> names, Class<?> patternType,
+                                                      org.mvel3.transpiler.context.Declaration<?>[] declarations) {
         int counter = lambdaCounter++;
         @SuppressWarnings("unchecked")
         Evaluator<Object, Void, Boolean> preCompiled = (Evaluator<Object, Void, Boolean>) tryLoadPreCompiled(counter, expression, "constraint");
         if (preCompiled != null) {
-            return new DrlxLambdaConstraint(expression, patternType, preCompiled);
+            return bindOnFirstUse(new DrlxLambdaConstraint(expression, names, patternType, preCompiled), preCompiled);
         }
         DrlxLambdaConstraint constraint = createBatchConstraint(expression, patternType, declarations);
         onLambdaCreated(counter, expression);
         return constraint;
     }
 
-    public Constraint createBetaLambdaConstraint(String expression, Class<?> patternType,
-                                                 org.mvel3.transpiler.context.Declaration<?>[] patternDeclarations,
+    /**
+     * Beta constraint for {@code expression}, whose free names are {@code names}
+     * (see {@link DrlxExpressionNames}), joining {@code referencedBindings}.
+     */
+    public Constraint createBetaLambdaConstraint(String expression, List<String> names, Class<?> patternType,
                                                  List<BoundVariable> referencedBindings) {
         int counter = lambdaCounter++;
 
-        List<org.mvel3.transpiler.context.Declaration<?>> allDecls = new ArrayList<>(Arrays.asList(patternDeclarations));
+        // Positional contract: read properties of the current fact first, then the
+        // referenced bindings in declaration order (see DrlxLambdaBetaConstraint).
+        Set<String> bindingNames = new HashSet<>();
+        for (BoundVariable bv : referencedBindings) {
+            bindingNames.add(bv.name());
+        }
+        List<org.mvel3.transpiler.context.Declaration<?>> allDecls = new ArrayList<>();
+        List<String> readProperties = new ArrayList<>();
+        Set<String> identifiers = new HashSet<>(names);
+        for (DrlxLambdaBetaConstraint.PropertyExtractor pe : DrlxLambdaBetaConstraint.propertyExtractors(patternType)) {
+            if (identifiers.contains(pe.name()) && !bindingNames.contains(pe.name())) {
+                readProperties.add(pe.name());
+                allDecls.add(org.mvel3.transpiler.context.Declaration.of(pe.name(), pe.getter().getReturnType()));
+            }
+        }
         for (BoundVariable bv : referencedBindings) {
             allDecls.add(org.mvel3.transpiler.context.Declaration.of(bv.name(), bv.type()));
         }
         org.mvel3.transpiler.context.Declaration<?>[] mvelDeclarations = allDecls.toArray(new org.mvel3.transpiler.context.Declaration[0]);
+        String[] readPropertyArray = readProperties.toArray(new String[0]);
 
         Declaration[] requiredDeclarations = referencedBindings.stream()
                 .map(BoundVariable::declaration)
                 .toArray(Declaration[]::new);
 
         @SuppressWarnings("unchecked")
-        Evaluator<Map<String, Object>, Void, Boolean> preCompiled =
-                (Evaluator<Map<String, Object>, Void, Boolean>) tryLoadPreCompiled(counter, expression, "beta constraint");
+        Evaluator<List<Object>, Void, Boolean> preCompiled =
+                (Evaluator<List<Object>, Void, Boolean>) tryLoadPreCompiled(counter, expression, "beta constraint");
         if (preCompiled != null) {
-            return new DrlxLambdaBetaConstraint(expression, patternType, preCompiled, requiredDeclarations);
+            return bindOnFirstUse(new DrlxLambdaBetaConstraint(expression, patternType, readPropertyArray, preCompiled, requiredDeclarations), preCompiled);
         }
-        DrlxLambdaBetaConstraint constraint = createBatchBetaConstraint(expression, patternType, mvelDeclarations, requiredDeclarations);
+        DrlxLambdaBetaConstraint constraint = createBatchBetaConstraint(expression, patternType, readPropertyArray,
+                mvelDeclarations, requiredDeclarations);
         onLambdaCreated(counter, expression);
         return constraint;
     }
@@ -219,7 +283,7 @@ public class DrlxLambdaCompiler {
         Evaluator<Map<String, Object>, Void, Boolean> preCompiled =
                 (Evaluator<Map<String, Object>, Void, Boolean>) tryLoadPreCompiled(counter, expression, "test eval");
         if (preCompiled != null) {
-            return new DrlxEvalExpression(expression, preCompiled);
+            return bindOnFirstUse(new DrlxEvalExpression(expression, preCompiled), preCompiled);
         }
 
         DrlxEvalExpression deferred = createBatchEvalExpression(expression, mvelDeclarations);
@@ -230,15 +294,16 @@ public class DrlxLambdaCompiler {
     @SuppressWarnings({"unchecked", "rawtypes"})
     private DrlxEvalExpression createBatchEvalExpression(String expression,
                                                          org.mvel3.transpiler.context.Declaration<?>[] mvelDeclarations) {
+        BatchKey key = batchKey("map", mvelDeclarations, Boolean.class, false, expression);
         CompilerParameters<Map<String, Object>, Void, Boolean> evalInfo =
                 (CompilerParameters) MVEL.<Object>map(mvelDeclarations)
                         .<Boolean>out(Boolean.class)
                         .expression(expression)
                         .imports(new HashSet<>(imports))
                         .classManager(batchCompiler.getClassManager())
-                        .generatedClassName("GeneratorEvaluator__")
+                        .generatedClassName(generatedClassName(key))
                         .build();
-        MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+        DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
         DrlxEvalExpression evalExpression = new DrlxEvalExpression(expression, null);
         pendingLambdas.add(new PendingLambda(handle, evalExpression));
         return evalExpression;
@@ -263,7 +328,7 @@ public class DrlxLambdaCompiler {
         Evaluator<Map<String, Object>, Void, Object> preCompiled =
                 (Evaluator<Map<String, Object>, Void, Object>) tryLoadPreCompiled(counter, argExpr, "value extractor");
         if (preCompiled != null) {
-            return new DrlxValueExtractor(argExpr, sourceBindingName, preCompiled);
+            return bindOnFirstUse(new DrlxValueExtractor(argExpr, sourceBindingName, preCompiled), preCompiled);
         }
 
         DrlxValueExtractor deferred = createBatchValueExtractor(argExpr, srcClass, sourceBindingName);
@@ -275,32 +340,34 @@ public class DrlxLambdaCompiler {
     private DrlxValueExtractor createBatchValueExtractor(String argExpr,
                                                          Class<?> srcClass,
                                                          String sourceBindingName) {
+        org.mvel3.transpiler.context.Declaration<?>[] decls = {
+                org.mvel3.transpiler.context.Declaration.of(sourceBindingName, srcClass)};
+        BatchKey key = batchKey("map", decls, Object.class, false, argExpr);
         CompilerParameters<Map<String, Object>, Void, Object> evalInfo =
-                (CompilerParameters) MVEL.<Object>map(
-                        org.mvel3.transpiler.context.Declaration.of(sourceBindingName, srcClass))
+                (CompilerParameters) MVEL.<Object>map(decls)
                         .<Object>out(Object.class)
                         .expression(argExpr)
                         .imports(new HashSet<>(imports))
                         .classManager(batchCompiler.getClassManager())
-                        .generatedClassName("GeneratorEvaluator__")
+                        .generatedClassName(generatedClassName(key))
                         .build();
-        MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+        DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
         DrlxValueExtractor extractor = new DrlxValueExtractor(argExpr, sourceBindingName, null);
         pendingLambdas.add(new PendingLambda(handle, extractor));
         return extractor;
     }
 
     public DrlxLambdaConsequence createLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes) {
-        return createLambdaConsequence(consequenceBlock, declarationTypes, java.util.Set.of());
+        return createLambdaConsequence(consequenceBlock, declarationTypes, Set.of());
     }
 
-    public DrlxLambdaConsequence createLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, java.util.Set<String> globalNames) {
+    public DrlxLambdaConsequence createLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Set<String> globalNames) {
         int counter = lambdaCounter++;
         @SuppressWarnings("unchecked")
-        Evaluator<Map<String, Object>, Void, String> preCompiled =
-                (Evaluator<Map<String, Object>, Void, String>) tryLoadPreCompiled(counter, consequenceBlock, "consequence");
+        Evaluator<List<Object>, Void, String> preCompiled =
+                (Evaluator<List<Object>, Void, String>) tryLoadPreCompiled(counter, consequenceBlock, "consequence");
         if (preCompiled != null) {
-            return new DrlxLambdaConsequence(consequenceBlock, declarationTypes, preCompiled, globalNames);
+            return bindOnFirstUse(new DrlxLambdaConsequence(consequenceBlock, declarationTypes, preCompiled, globalNames), preCompiled);
         }
         DrlxLambdaConsequence consequence = createBatchConsequence(consequenceBlock, declarationTypes, globalNames);
         onLambdaCreated(counter, consequenceBlock);
@@ -308,6 +375,7 @@ public class DrlxLambdaCompiler {
     }
 
     public void compileBatch(ClassLoader classLoader) {
+        flushLambdaTables();
         if (pendingLambdas.isEmpty()) {
             return;
         }
@@ -316,6 +384,105 @@ public class DrlxLambdaCompiler {
             pl.target().bindEvaluator(batchCompiler.resolve(pl.handle()));
         }
         pendingLambdas.clear();
+        cacheCompiledLambdas();
+        batchHandles.clear();
+    }
+
+    /**
+     * What a batch lambda compiles from: evaluator context ({@code "pojo"}, {@code "list"}
+     * or {@code "map"}) and pattern type ({@code null} unless {@code "pojo"}), context
+     * declarations in order, output type, expression or block source, and the imports in
+     * scope. Equal keys give equal classes.
+     */
+    private record BatchKey(String context, Class<?> patternType,
+                            List<org.mvel3.transpiler.context.Declaration<?>> declarations,
+                            Class<?> outType, boolean block, String source, Set<String> imports) {
+
+        /**
+         * Stable text of this key across JVMs, hashed by {@link DrlxLambdaCache}. Types
+         * carry their {@link DrlxLambdaCache#typeFingerprint fingerprint}.
+         */
+        String signature() {
+            StringBuilder sb = new StringBuilder(context);
+            if (patternType != null) {
+                appendType(sb.append(' '), patternType);
+            }
+            sb.append('\n');
+            for (org.mvel3.transpiler.context.Declaration<?> d : declarations) {
+                appendType(sb.append(d.name()).append(':'), d.type().getClazz()).append(',');
+            }
+            appendType(sb.append('\n'), outType).append('\n').append(block ? "block" : "expression")
+                    .append('\n').append(String.join(",", new TreeSet<>(imports)))
+                    .append('\n').append(source);
+            return sb.toString();
+        }
+
+        private static StringBuilder appendType(StringBuilder sb, Class<?> type) {
+            return sb.append(type.getName()).append('@').append(DrlxLambdaCache.typeFingerprint(type));
+        }
+    }
+
+    private BatchKey batchKey(String context, org.mvel3.transpiler.context.Declaration<?>[] declarations,
+                              Class<?> outType, boolean block, String source) {
+        return new BatchKey(context, null, List.of(declarations), outType, block, source, Set.copyOf(imports));
+    }
+
+    private BatchKey pojoBatchKey(Class<?> patternType, org.mvel3.transpiler.context.Declaration<?>[] declarations,
+                                  String expression) {
+        return new BatchKey("pojo", patternType, List.of(declarations), Boolean.class, false, expression,
+                Set.copyOf(imports));
+    }
+
+    /**
+     * Class name for the lambda of {@code key}. With a {@link #lambdaCache} it carries the
+     * lambda's digest, so classes compiled by different builds never share a name unless
+     * they are the same lambda.
+     */
+    private String generatedClassName(BatchKey key) {
+        return lambdaCache == null
+                ? "GeneratorEvaluator__"
+                : "GeneratorEvaluator__" + DrlxLambdaCache.digest(key.signature()).substring(0, 24) + "__";
+    }
+
+    /**
+     * Adds {@code params} to the batch, or returns the handle of an identical lambda already
+     * in it or in the {@link #lambdaCache}; the caller's sink then binds to that lambda's
+     * evaluator. Evaluators hold no state, so one instance serves every sink.
+     */
+    private DrlxBatchCompiler.Handle addToBatch(BatchKey key, CompilerParameters<?, ?, ?> params) {
+        return batchHandles.computeIfAbsent(key, k -> {
+            DrlxBatchCompiler.Handle cached = cachedLambda(k);
+            return cached != null ? cached : batchCompiler.add(params);
+        });
+    }
+
+    private DrlxBatchCompiler.Handle cachedLambda(BatchKey key) {
+        if (lambdaCache == null) {
+            return null;
+        }
+        ArtifactRef ref = lambdaCache.get(DrlxLambdaCache.digest(key.signature()));
+        if (ref == null) {
+            return null;
+        }
+        try {
+            Object evaluator = preBuiltLoader.newEvaluator(new DrlxLambdaMetadata.LambdaEntry(ref.fqn(), ref.classFile(), key.source()));
+            return batchCompiler.addCompiled(ref, (Evaluator<?, ?, ?>) evaluator);
+        } catch (Exception e) {
+            LOG.warn("Failed to load cached lambda {}, compiling it", ref.classFile(), e);
+            return null;
+        }
+    }
+
+    /** Stores the lambdas compiled by this batch in the {@link #lambdaCache}. */
+    private void cacheCompiledLambdas() {
+        if (lambdaCache == null) {
+            return;
+        }
+        batchHandles.forEach((key, handle) -> {
+            if (!batchCompiler.isPreCompiled(handle)) {
+                lambdaCache.put(DrlxLambdaCache.digest(key.signature()), batchCompiler.getArtifactRef(handle));
+            }
+        });
     }
 
     /**
@@ -328,13 +495,13 @@ public class DrlxLambdaCompiler {
 
     /**
      * Try to resolve a pre-compiled evaluator from {@link #preBuildMetadata}.
-     * Returns {@code null} when no metadata is attached, or when the lookup misses
+     * Returns {@code null} when no metadata is attached, for {@link #recompiledRules}, or when the lookup misses
      * and {@link DrlxMetadataMismatchMode#current()} is {@link DrlxMetadataMismatchMode#FALLBACK}.
      * Throws {@link IllegalStateException} on miss/mismatch/load-failure when the
      * mode is {@link DrlxMetadataMismatchMode#FAIL_FAST} (the default).
      */
     private Object tryLoadPreCompiled(int counter, String expression, String kind) {
-        if (preBuildMetadata == null) {
+        if (preBuildMetadata == null || recompiledRules.contains(currentRuleName)) {
             return null;
         }
         DrlxLambdaMetadata.LambdaEntry entry = preBuildMetadata.get(currentRuleName, counter);
@@ -349,7 +516,7 @@ public class DrlxLambdaCompiler {
                     null);
         }
         try {
-            Object evaluator = loadPreCompiledEvaluator(entry.toArtifactRef());
+            Object evaluator = loadPreCompiledEvaluator(entry);
             LOG.info("Loaded pre-compiled {} evaluator for {}.{}", kind, currentRuleName, counter);
             return evaluator;
         } catch (Exception e) {
@@ -374,15 +541,16 @@ public class DrlxLambdaCompiler {
     }
 
     private DrlxLambdaConstraint createBatchConstraint(String expression, Class<?> patternType, org.mvel3.transpiler.context.Declaration<?>[] declarations) {
+        BatchKey key = pojoBatchKey(patternType, declarations, expression);
         CompilerParameters<Object, Void, Boolean> evalInfo = MVEL.pojo(patternType,
                         declarations[0], Arrays.copyOfRange(declarations, 1, declarations.length))
                 .<Boolean>out(Boolean.class)
                 .expression(expression)
                 .imports(new HashSet<>(imports))
                 .classManager(batchCompiler.getClassManager())
-                .generatedClassName("GeneratorEvaluator__")
+                .generatedClassName(generatedClassName(key))
                 .build();
-        MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+        DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
         DrlxLambdaConstraint constraint = new DrlxLambdaConstraint(expression, patternType, (Evaluator<Object, Void, Boolean>) null);
         pendingLambdas.add(new PendingLambda(handle, constraint));
         return constraint;
@@ -390,68 +558,251 @@ public class DrlxLambdaCompiler {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private DrlxLambdaBetaConstraint createBatchBetaConstraint(String expression, Class<?> patternType,
+                                                               String[] readProperties,
                                                                org.mvel3.transpiler.context.Declaration<?>[] mvelDeclarations,
                                                                Declaration[] requiredDeclarations) {
-        CompilerParameters<Map<String, Object>, Void, Boolean> evalInfo =
-                (CompilerParameters) MVEL.<Object>map(mvelDeclarations)
+        BatchKey key = batchKey("list", mvelDeclarations, Boolean.class, false, expression);
+        CompilerParameters<List<Object>, Void, Boolean> evalInfo =
+                (CompilerParameters) MVEL.<Object>list(mvelDeclarations)
                         .<Boolean>out(Boolean.class)
                         .expression(expression)
                         .imports(new HashSet<>(imports))
                         .classManager(batchCompiler.getClassManager())
-                        .generatedClassName("GeneratorEvaluator__")
+                        .generatedClassName(generatedClassName(key))
                         .build();
-        MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
-        DrlxLambdaBetaConstraint constraint = new DrlxLambdaBetaConstraint(expression, patternType,
-                (Evaluator<Map<String, Object>, Void, Boolean>) null, requiredDeclarations);
+        DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
+        DrlxLambdaBetaConstraint constraint = new DrlxLambdaBetaConstraint(expression, patternType, readProperties,
+                (Evaluator<List<Object>, Void, Boolean>) null, requiredDeclarations);
         pendingLambdas.add(new PendingLambda(handle, constraint));
         return constraint;
     }
 
-    private DrlxLambdaConsequence createBatchConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, java.util.Set<String> globalNames) {
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        CompilerParameters<Map<String, Object>, Void, String> evalInfo =
-                (CompilerParameters) MVEL.<Object>map(org.mvel3.transpiler.context.Declaration.from(declarationTypes))
+    private DrlxLambdaConsequence createBatchConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Set<String> globalNames) {
+        DrlxLambdaConsequence consequence = new DrlxLambdaConsequence(consequenceBlock, declarationTypes, (Evaluator<List<Object>, Void, String>) null, globalNames);
+        if (useLambdaTables()) {
+            consequenceTables.computeIfAbsent(Map.copyOf(declarationTypes), k -> new LambdaTable(declarationTypes))
+                    .add(consequenceBlock, consequence);
+            return consequence;
+        }
+        pendingLambdas.add(new PendingLambda(addBatchConsequence(consequenceBlock + RETURN_NULL, declarationTypes), consequence));
+        return consequence;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DrlxBatchCompiler.Handle addBatchConsequence(String block, Map<String, Type<?>> declarationTypes) {
+        // positional: slot i is the i-th entry of declarationTypes, see DrlxLambdaConsequence
+        org.mvel3.transpiler.context.Declaration<?>[] decls = org.mvel3.transpiler.context.Declaration.from(declarationTypes);
+        BatchKey key = batchKey("list", decls, String.class, true, block);
+        CompilerParameters<List<Object>, Void, String> evalInfo =
+                (CompilerParameters) MVEL.<Object>list(decls)
                         .<String>out(String.class)
-                        .block(consequenceBlock + RETURN_NULL)
+                        .block(block)
                         .imports(new HashSet<>(imports))
                         .classManager(batchCompiler.getClassManager())
-                        .generatedClassName("GeneratorEvaluator__")
+                        .generatedClassName(generatedClassName(key))
                         .build();
-        MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
-        DrlxLambdaConsequence consequence = new DrlxLambdaConsequence(consequenceBlock, declarationTypes, (Evaluator<Map<String, Object>, Void, String>) null, globalNames);
-        pendingLambdas.add(new PendingLambda(handle, consequence));
-        return consequence;
+        return addToBatch(key, evalInfo);
     }
 
-    protected Object loadPreCompiledEvaluator(ArtifactRef ref) throws Exception {
-        Class<?> clazz = loadedClassCache.get(ref.fqn());
-        if (clazz == null) {
-            if (preBuildClassManager == null) {
-                preBuildClassManager = new ClassManager();
+    /**
+     * Whether consequences are packed into lambda tables ({@link DrlxLambdaTableMode}).
+     * {@link DrlxPreBuildLambdaCompiler} turns this off: its metadata maps each lambda to its own class.
+     * So does a {@link #lambdaCache}: a table is cached by the text of all its blocks, so
+     * editing one consequence would miss the cache for every rule in the table.
+     */
+    protected boolean useLambdaTables() {
+        return lambdaCache == null && DrlxLambdaTableMode.current() == DrlxLambdaTableMode.CONSEQUENCES;
+    }
+
+    /**
+     * Adds the queued lambda tables to the batch, one evaluator per chunk of at most
+     * {@link #MAX_TABLE_BLOCKS} distinct blocks. A chunk with a single distinct block
+     * compiles as a plain consequence shared by its members; otherwise every member binds
+     * to the chunk's evaluator and passes the index of its block under {@link DrlxLambdaConsequence#TABLE_INDEX}.
+     */
+    private void flushLambdaTables() {
+        for (LambdaTable table : consequenceTables.values()) {
+            int chunkCount = (table.blocks.size() + MAX_TABLE_BLOCKS - 1) / MAX_TABLE_BLOCKS;
+            List<List<Integer>> members = new ArrayList<>(chunkCount);
+            for (int c = 0; c < chunkCount; c++) {
+                members.add(new ArrayList<>());
+            }
+            for (int i = 0; i < table.consequences.size(); i++) {
+                members.get(table.tableIndexes.get(i) / MAX_TABLE_BLOCKS).add(i);
+            }
+            for (int c = 0; c < chunkCount; c++) {
+                int from = c * MAX_TABLE_BLOCKS;
+                flushLambdaTableChunk(table, table.blocks.subList(from, Math.min(from + MAX_TABLE_BLOCKS, table.blocks.size())),
+                        from, members.get(c));
             }
-            clazz = LambdaArtifactLoader.loadOrDefinePersistedClass(preBuildClassManager, ref);
-            loadedClassCache.put(ref.fqn(), clazz);
         }
-        return clazz.getConstructor().newInstance();
+        consequenceTables.clear();
+    }
+
+    /** Adds one chunk of {@code table}: {@code blocks} start at branch {@code from}, {@code members} index its consequences. */
+    private void flushLambdaTableChunk(LambdaTable table, List<String> blocks, int from, List<Integer> members) {
+        if (blocks.size() == 1) {
+            DrlxBatchCompiler.Handle handle = addBatchConsequence(blocks.get(0) + RETURN_NULL, table.declarationTypes);
+            for (int member : members) {
+                pendingLambdas.add(new PendingLambda(handle, table.consequences.get(member)));
+            }
+            return;
+        }
+        Map<String, Type<?>> declarationTypes = new LinkedHashMap<>(table.declarationTypes);
+        declarationTypes.put(DrlxLambdaConsequence.TABLE_INDEX, Type.type(Integer.class));
+        DrlxBatchCompiler.Handle handle = addBatchConsequence(lambdaTableBlock(blocks), declarationTypes);
+        for (int member : members) {
+            DrlxLambdaConsequence consequence = table.consequences.get(member);
+            consequence.setTableIndex(table.tableIndexes.get(member) - from, declarationTypes);
+            pendingLambdas.add(new PendingLambda(handle, consequence));
+        }
+    }
+
+    /**
+     * Block running {@code blocks[__lambda__]}: a balanced if/else tree on the table index,
+     * so dispatch costs {@code log2(n)} comparisons. Each block keeps its own scope.
+     */
+    static String lambdaTableBlock(List<String> blocks) {
+        StringBuilder sb = new StringBuilder();
+        appendDispatch(sb, blocks, 0, blocks.size());
+        return sb.append(RETURN_NULL).toString();
+    }
+
+    private static void appendDispatch(StringBuilder sb, List<String> blocks, int from, int to) {
+        if (to - from == 1) {
+            sb.append("{\n").append(blocks.get(from)).append("\n}\n");
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sb.append("if (").append(DrlxLambdaConsequence.TABLE_INDEX).append(" < ").append(mid).append(") {\n");
+        appendDispatch(sb, blocks, from, mid);
+        sb.append("} else {\n");
+        appendDispatch(sb, blocks, mid, to);
+        sb.append("}\n");
     }
 
     /**
-     * Find bound variables from previous patterns that are referenced in the expression.
-     * Uses word-boundary matching to avoid false positives.
+     * Consequences sharing one declaration signature, compiled into one evaluator.
+     * Identical blocks share one branch: {@code tableIndexes} holds each consequence's branch.
      */
-    public List<BoundVariable> findReferencedBindings(String expression, Map<String, BoundVariable> boundVariables) {
+    private static final class LambdaTable {
+        private final Map<String, Type<?>> declarationTypes;
+        private final List<String> blocks = new ArrayList<>();
+        private final Map<String, Integer> branchByBlock = new HashMap<>();
+        private final List<DrlxLambdaConsequence> consequences = new ArrayList<>();
+        private final List<Integer> tableIndexes = new ArrayList<>();
+
+        private LambdaTable(Map<String, Type<?>> declarationTypes) {
+            this.declarationTypes = declarationTypes;
+        }
+
+        private void add(String block, DrlxLambdaConsequence consequence) {
+            tableIndexes.add(branchByBlock.computeIfAbsent(block, b -> {
+                blocks.add(b);
+                return blocks.size() - 1;
+            }));
+            consequences.add(consequence);
+        }
+    }
+
+    protected Object loadPreCompiledEvaluator(DrlxLambdaMetadata.LambdaEntry entry) throws Exception {
+        if (entry.classBytes() != null && DrlxLambdaLoadMode.current() == DrlxLambdaLoadMode.LAZY) {
+            DrlxPreBuiltLambdaLoader loader = preBuiltLoader;
+            return DrlxLazyEvaluator.stub(() -> {
+                try {
+                    return loader.newEvaluator(entry);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Failed to define pre-compiled lambda " + entry.fqn(), e);
+                }
+            });
+        }
+        return preBuiltLoader.newEvaluator(entry);
+    }
+
+    /**
+     * Lets a {@link DrlxLambdaLoadMode#LAZY} stub hand {@code sink} the real evaluator on
+     * first use. Returns {@code sink}.
+     */
+    private static <T extends EvaluatorSink> T bindOnFirstUse(T sink, Object preCompiled) {
+        DrlxLazyEvaluator.bindOnFirstUse(preCompiled, sink);
+        return sink;
+    }
+
+    /**
+     * Find the bound variables among {@code names}, the free names of an expression
+     * (see {@link DrlxExpressionNames}), in declaration order.
+     */
+    public List<BoundVariable> findReferencedBindings(List<String> names, Map<String, BoundVariable> boundVariables) {
         List<BoundVariable> referenced = new ArrayList<>();
+        if (names.isEmpty()) {
+            return referenced;
+        }
+        Set<String> nameSet = new HashSet<>(names);
         for (Map.Entry<String, BoundVariable> entry : boundVariables.entrySet()) {
-            String varName = entry.getKey();
-            java.util.regex.Pattern regex = java.util.regex.Pattern.compile(
-                    "(?<![a-zA-Z0-9_])" + java.util.regex.Pattern.quote(varName) + "(?![a-zA-Z0-9_])");
-            if (regex.matcher(expression).find()) {
+            if (nameSet.contains(entry.getKey())) {
                 referenced.add(entry.getValue());
             }
         }
         return referenced;
     }
 
+    /**
+     * Collect the free identifiers of an expression: Java identifiers outside string
+     * and char literals that are not the member part of a {@code a.b} access. Only the
+     * fallback of {@link DrlxExpressionNames} for source that does not parse; it may
+     * over-approximate (e.g. method names) but never misses a bare property read.
+     */
+    static Set<String> findIdentifiers(String expression) {
+        Set<String> identifiers = new HashSet<>();
+        int len = expression.length();
+        int i = 0;
+        while (i < len) {
+            char c = expression.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipLiteral(expression, i, c);
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < len && Character.isJavaIdentifierPart(expression.charAt(i))) {
+                    i++;
+                }
+                if (!isMemberAccess(expression, start)) {
+                    identifiers.add(expression.substring(start, i));
+                }
+            } else if (Character.isDigit(c)) {
+                // skip numeric literals such as 10L or 1e3 so their suffixes are not identifiers
+                while (i < len && Character.isJavaIdentifierPart(expression.charAt(i))) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        return identifiers;
+    }
+
+    private static int skipLiteral(String expression, int start, char quote) {
+        int i = start + 1;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isMemberAccess(String expression, int identifierStart) {
+        int i = identifierStart - 1;
+        while (i >= 0 && Character.isWhitespace(expression.charAt(i))) {
+            i--;
+        }
+        return i >= 0 && expression.charAt(i) == '.';
+    }
+
     public Map<String, Type<?>> getTypeMap(GroupElement ge) {
         Map<String, Type<?>> types = new LinkedHashMap<>();
         collectPatternTypes(ge, types);
@@ -489,12 +840,11 @@ public class DrlxLambdaCompiler {
             Class<?> srcClass,
             String srcBindingName) {
 
-        DrlxCustomAccumulator acc = new DrlxCustomAccumulator(ir.initVars(), srcBindingName);
+        DrlxAccumulateStateLayout layout = DrlxAccumulateStateLayout.of(
+                ir, normalizeBlockText(ir.actionBlock()), ir.reverseBlock() == null ? null : normalizeBlockText(ir.reverseBlock()));
+        DrlxCustomAccumulator acc = new DrlxCustomAccumulator(ir.initVars(), layout, srcBindingName);
 
-        List<org.mvel3.transpiler.context.Declaration<?>> holderDecls = new ArrayList<>();
-        for (DrlxRuleAstModel.InitVarIR iv : ir.initVars()) {
-            holderDecls.add(org.mvel3.transpiler.context.Declaration.of(iv.name(), resolveInitVarType(iv.typeName())));
-        }
+        List<org.mvel3.transpiler.context.Declaration<?>> holderDecls = holderDeclarations(ir, layout);
 
         List<org.mvel3.transpiler.context.Declaration<?>> actionDecls = new ArrayList<>(holderDecls);
         actionDecls.add(org.mvel3.transpiler.context.Declaration.of(srcBindingName, srcClass));
@@ -504,21 +854,23 @@ public class DrlxLambdaCompiler {
         // Action block
         {
             int counter = lambdaCounter++;
-            String normalizedAction = normalizeBlockText(ir.actionBlock());
+            String normalizedAction = layout.actionBlock();
             Evaluator<Map<String, Object>, Void, ?> preCompiled =
                     (Evaluator) tryLoadPreCompiled(counter, normalizedAction, "custom acc action");
             if (preCompiled != null) {
                 acc.setActionEval(preCompiled);
+                bindOnFirstUse(new DrlxCustomAccumulator.ActionSink(acc), preCompiled);
             } else {
+                BatchKey key = batchKey("map", actionDeclArray, String.class, true, normalizedAction);
                 CompilerParameters<Map<String, Object>, Void, String> evalInfo =
                         (CompilerParameters) MVEL.<Object>map(actionDeclArray)
                                 .<String>out(String.class)
                                 .block(normalizedAction + RETURN_NULL)
                                 .imports(new HashSet<>(imports))
                                 .classManager(batchCompiler.getClassManager())
-                                .generatedClassName("GeneratorEvaluator__")
+                                .generatedClassName(generatedClassName(key))
                                 .build();
-                MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+                DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
                 pendingLambdas.add(new PendingLambda(handle, new DrlxCustomAccumulator.ActionSink(acc)));
                 onLambdaCreated(counter, normalizedAction);
             }
@@ -527,21 +879,23 @@ public class DrlxLambdaCompiler {
         // Reverse block (optional)
         if (ir.reverseBlock() != null) {
             int counter = lambdaCounter++;
-            String normalizedReverse = normalizeBlockText(ir.reverseBlock());
+            String normalizedReverse = layout.reverseBlock();
             Evaluator<Map<String, Object>, Void, ?> preCompiled =
                     (Evaluator) tryLoadPreCompiled(counter, normalizedReverse, "custom acc reverse");
             if (preCompiled != null) {
                 acc.setReverseEval(preCompiled);
+                bindOnFirstUse(new DrlxCustomAccumulator.ReverseSink(acc), preCompiled);
             } else {
+                BatchKey key = batchKey("map", actionDeclArray, String.class, true, normalizedReverse);
                 CompilerParameters<Map<String, Object>, Void, String> evalInfo =
                         (CompilerParameters) MVEL.<Object>map(actionDeclArray)
                                 .<String>out(String.class)
                                 .block(normalizedReverse + RETURN_NULL)
                                 .imports(new HashSet<>(imports))
                                 .classManager(batchCompiler.getClassManager())
-                                .generatedClassName("GeneratorEvaluator__")
+                                .generatedClassName(generatedClassName(key))
                                 .build();
-                MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+                DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
                 pendingLambdas.add(new PendingLambda(handle, new DrlxCustomAccumulator.ReverseSink(acc)));
                 onLambdaCreated(counter, normalizedReverse);
             }
@@ -555,60 +909,69 @@ public class DrlxLambdaCompiler {
             Class<?> resultClass = resolveInitVarType(ir.resultTypeName());
 
             Evaluator<Map<String, Object>, Void, Object> preCompiled =
-                    (Evaluator) tryLoadPreCompiled(counter, ir.resultExpression(), "custom acc result");
+                    (Evaluator) tryLoadPreCompiled(counter, layout.resultExpression(), "custom acc result");
             if (preCompiled != null) {
                 acc.setResultEval(preCompiled);
+                bindOnFirstUse(new DrlxCustomAccumulator.ResultSink(acc), preCompiled);
             } else {
+                BatchKey key = batchKey("map", holderDeclArray, resultClass, false, layout.resultExpression());
                 CompilerParameters<Map<String, Object>, Void, Object> evalInfo =
                         (CompilerParameters) MVEL.<Object>map(holderDeclArray)
                                 .<Object>out(resultClass)
-                                .expression(ir.resultExpression())
+                                .expression(layout.resultExpression())
                                 .imports(new HashSet<>(imports))
                                 .classManager(batchCompiler.getClassManager())
-                                .generatedClassName("GeneratorEvaluator__")
+                                .generatedClassName(generatedClassName(key))
                                 .build();
-                MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+                DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
                 pendingLambdas.add(new PendingLambda(handle, new DrlxCustomAccumulator.ResultSink(acc)));
-                onLambdaCreated(counter, ir.resultExpression());
+                onLambdaCreated(counter, layout.resultExpression());
             }
         }
 
         return acc;
     }
 
+    /**
+     * Multi-source value extractor: the expression is compiled with one positional
+     * argument per binding of {@code sourceScope}, in its iteration order.
+     */
     public DrlxValueExtractor createValueExtractor(String argExpr,
                                                    Map<String, BoundVariable> sourceScope) {
         int counter = lambdaCounter++;
+        List<String> bindingNames = new ArrayList<>(sourceScope.keySet());
 
         @SuppressWarnings("unchecked")
-        Evaluator<Map<String, Object>, Void, Object> preCompiled =
-                (Evaluator<Map<String, Object>, Void, Object>) tryLoadPreCompiled(counter, argExpr, "value extractor");
+        Evaluator<List<Object>, Void, Object> preCompiled =
+                (Evaluator<List<Object>, Void, Object>) tryLoadPreCompiled(counter, argExpr, "value extractor");
         if (preCompiled != null) {
-            return new DrlxValueExtractor(argExpr, null, preCompiled);
+            return bindOnFirstUse(new DrlxValueExtractor(argExpr, bindingNames, preCompiled), preCompiled);
         }
 
-        DrlxValueExtractor deferred = createBatchValueExtractorMulti(argExpr, sourceScope);
+        DrlxValueExtractor deferred = createBatchValueExtractorMulti(argExpr, sourceScope, bindingNames);
         onLambdaCreated(counter, argExpr);
         return deferred;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private DrlxValueExtractor createBatchValueExtractorMulti(String argExpr,
-                                                              Map<String, BoundVariable> sourceScope) {
+                                                              Map<String, BoundVariable> sourceScope,
+                                                              List<String> bindingNames) {
         org.mvel3.transpiler.context.Declaration<?>[] decls = sourceScope.entrySet().stream()
                 .map(e -> org.mvel3.transpiler.context.Declaration.of(e.getKey(), e.getValue().type()))
                 .toArray(org.mvel3.transpiler.context.Declaration[]::new);
 
-        CompilerParameters<Map<String, Object>, Void, Object> evalInfo =
-                (CompilerParameters) MVEL.<Object>map(decls)
+        BatchKey key = batchKey("list", decls, Object.class, false, argExpr);
+        CompilerParameters<List<Object>, Void, Object> evalInfo =
+                (CompilerParameters) MVEL.<Object>list(decls)
                         .<Object>out(Object.class)
                         .expression(argExpr)
                         .imports(new HashSet<>(imports))
                         .classManager(batchCompiler.getClassManager())
-                        .generatedClassName("GeneratorEvaluator__")
+                        .generatedClassName(generatedClassName(key))
                         .build();
-        MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
-        DrlxValueExtractor extractor = new DrlxValueExtractor(argExpr, null, null);
+        DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
+        DrlxValueExtractor extractor = new DrlxValueExtractor(argExpr, bindingNames, null);
         pendingLambdas.add(new PendingLambda(handle, extractor));
         return extractor;
     }
@@ -619,12 +982,11 @@ public class DrlxLambdaCompiler {
             Map<String, BoundVariable> sourceScope) {
 
         List<String> srcBindingNames = new ArrayList<>(sourceScope.keySet());
-        DrlxCustomAccumulator acc = new DrlxCustomAccumulator(ir.initVars(), srcBindingNames);
+        DrlxAccumulateStateLayout layout = DrlxAccumulateStateLayout.of(
+                ir, normalizeBlockText(ir.actionBlock()), ir.reverseBlock() == null ? null : normalizeBlockText(ir.reverseBlock()));
+        DrlxCustomAccumulator acc = new DrlxCustomAccumulator(ir.initVars(), layout, srcBindingNames);
 
-        List<org.mvel3.transpiler.context.Declaration<?>> holderDecls = new ArrayList<>();
-        for (DrlxRuleAstModel.InitVarIR iv : ir.initVars()) {
-            holderDecls.add(org.mvel3.transpiler.context.Declaration.of(iv.name(), resolveInitVarType(iv.typeName())));
-        }
+        List<org.mvel3.transpiler.context.Declaration<?>> holderDecls = holderDeclarations(ir, layout);
 
         List<org.mvel3.transpiler.context.Declaration<?>> actionDecls = new ArrayList<>(holderDecls);
         for (Map.Entry<String, BoundVariable> e : sourceScope.entrySet()) {
@@ -636,21 +998,23 @@ public class DrlxLambdaCompiler {
         // Action block
         {
             int counter = lambdaCounter++;
-            String normalizedAction = normalizeBlockText(ir.actionBlock());
+            String normalizedAction = layout.actionBlock();
             Evaluator<Map<String, Object>, Void, ?> preCompiled =
                     (Evaluator) tryLoadPreCompiled(counter, normalizedAction, "custom acc action");
             if (preCompiled != null) {
                 acc.setActionEval(preCompiled);
+                bindOnFirstUse(new DrlxCustomAccumulator.ActionSink(acc), preCompiled);
             } else {
+                BatchKey key = batchKey("map", actionDeclArray, String.class, true, normalizedAction);
                 CompilerParameters<Map<String, Object>, Void, String> evalInfo =
                         (CompilerParameters) MVEL.<Object>map(actionDeclArray)
                                 .<String>out(String.class)
                                 .block(normalizedAction + RETURN_NULL)
                                 .imports(new HashSet<>(imports))
                                 .classManager(batchCompiler.getClassManager())
-                                .generatedClassName("GeneratorEvaluator__")
+                                .generatedClassName(generatedClassName(key))
                                 .build();
-                MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+                DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
                 pendingLambdas.add(new PendingLambda(handle, new DrlxCustomAccumulator.ActionSink(acc)));
                 onLambdaCreated(counter, normalizedAction);
             }
@@ -659,21 +1023,23 @@ public class DrlxLambdaCompiler {
         // Reverse block (optional)
         if (ir.reverseBlock() != null) {
             int counter = lambdaCounter++;
-            String normalizedReverse = normalizeBlockText(ir.reverseBlock());
+            String normalizedReverse = layout.reverseBlock();
             Evaluator<Map<String, Object>, Void, ?> preCompiled =
                     (Evaluator) tryLoadPreCompiled(counter, normalizedReverse, "custom acc reverse");
             if (preCompiled != null) {
                 acc.setReverseEval(preCompiled);
+                bindOnFirstUse(new DrlxCustomAccumulator.ReverseSink(acc), preCompiled);
             } else {
+                BatchKey key = batchKey("map", actionDeclArray, String.class, true, normalizedReverse);
                 CompilerParameters<Map<String, Object>, Void, String> evalInfo =
                         (CompilerParameters) MVEL.<Object>map(actionDeclArray)
                                 .<String>out(String.class)
                                 .block(normalizedReverse + RETURN_NULL)
                                 .imports(new HashSet<>(imports))
                                 .classManager(batchCompiler.getClassManager())
-                                .generatedClassName("GeneratorEvaluator__")
+                                .generatedClassName(generatedClassName(key))
                                 .build();
-                MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+                DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
                 pendingLambdas.add(new PendingLambda(handle, new DrlxCustomAccumulator.ReverseSink(acc)));
                 onLambdaCreated(counter, normalizedReverse);
             }
@@ -687,27 +1053,47 @@ public class DrlxLambdaCompiler {
             Class<?> resultClass = resolveInitVarType(ir.resultTypeName());
 
             Evaluator<Map<String, Object>, Void, Object> preCompiled =
-                    (Evaluator) tryLoadPreCompiled(counter, ir.resultExpression(), "custom acc result");
+                    (Evaluator) tryLoadPreCompiled(counter, layout.resultExpression(), "custom acc result");
             if (preCompiled != null) {
                 acc.setResultEval(preCompiled);
+                bindOnFirstUse(new DrlxCustomAccumulator.ResultSink(acc), preCompiled);
             } else {
+                BatchKey key = batchKey("map", holderDeclArray, resultClass, false, layout.resultExpression());
                 CompilerParameters<Map<String, Object>, Void, Object> evalInfo =
                         (CompilerParameters) MVEL.<Object>map(holderDeclArray)
                                 .<Object>out(resultClass)
-                                .expression(ir.resultExpression())
+                                .expression(layout.resultExpression())
                                 .imports(new HashSet<>(imports))
                                 .classManager(batchCompiler.getClassManager())
-                                .generatedClassName("GeneratorEvaluator__")
+                                .generatedClassName(generatedClassName(key))
                                 .build();
-                MVELBatchCompiler.LambdaHandle handle = batchCompiler.add(evalInfo);
+                DrlxBatchCompiler.Handle handle = addToBatch(key, evalInfo);
                 pendingLambdas.add(new PendingLambda(handle, new DrlxCustomAccumulator.ResultSink(acc)));
-                onLambdaCreated(counter, ir.resultExpression());
+                onLambdaCreated(counter, layout.resultExpression());
             }
         }
 
         return acc;
     }
 
+    /**
+     * Context declarations of the init vars: the state for primitive ones held by
+     * {@code layout}, one map entry for each other.
+     */
+    private static List<org.mvel3.transpiler.context.Declaration<?>> holderDeclarations(
+            DrlxRuleAstModel.CustomAccumulateIR ir, DrlxAccumulateStateLayout layout) {
+        List<org.mvel3.transpiler.context.Declaration<?>> holderDecls = new ArrayList<>();
+        for (DrlxRuleAstModel.InitVarIR iv : ir.initVars()) {
+            if (!layout.holds(iv.name())) {
+                holderDecls.add(org.mvel3.transpiler.context.Declaration.of(iv.name(), resolveInitVarType(iv.typeName())));
+            }
+        }
+        if (!layout.isEmpty()) {
+            holderDecls.add(org.mvel3.transpiler.context.Declaration.of(DrlxAccumulateState.VARIABLE, DrlxAccumulateState.class));
+        }
+        return holderDecls;
+    }
+
     private static String normalizeBlockText(String text) {
         if (text == null) return "";
         String trimmed = text.trim();
@@ -718,7 +1104,8 @@ public class DrlxLambdaCompiler {
     }
 
     // Returns boxed classes — MVEL3 rejects primitive types in .out() and
-    // Map<String, Object> context stores boxed values at runtime.
+    // Map<String, Object> context stores boxed values at runtime. Primitive init vars
+    // normally live in a DrlxAccumulateState instead; see holderDeclarations.
     static Class<?> resolveInitVarType(String typeName) {
         return switch (typeName) {
             case "int"     -> Integer.class;
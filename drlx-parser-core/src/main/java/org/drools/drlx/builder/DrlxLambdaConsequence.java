@@ -1,7 +1,8 @@
 package org.drools.drlx.builder;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -15,49 +16,107 @@ import org.mvel3.Evaluator;
 import org.mvel3.MVEL;
 import org.mvel3.Type;
 
+/**
+ * Rule consequence backed by an MVEL3 block compiled against a positional signature:
+ * one {@code List<Object>} slot per entry of {@code declarationTypes}, in its iteration
+ * order. Each firing fills a reusable per-thread slot array straight from the tuple and
+ * the globals, so invoking the block allocates nothing itself.
+ */
 public class DrlxLambdaConsequence implements Consequence<KnowledgeHelper>, EvaluatorSink {
 
     private static final String RETURN_NULL = "\n return null;";
 
+    /** Slot name carrying {@link #tableIndex} into a lambda-table evaluator. */
+    static final String TABLE_INDEX = "__lambda__";
+
+    static final String MATCH = "__match__";
+    static final String RULE_BASE = "__ruleBase__";
+
+    private enum SlotKind { DECLARATION, GLOBAL, MATCH, RULE_BASE, TABLE_INDEX }
+
+    /** The declaration of every slot in one subrule's outer declarations, {@code null} for other slots. */
+    private record SubRuleSlots(Map<String, Declaration> outerDeclarations, Declaration[] declarations) {}
+
     private String consequenceBlock;
 
-    private Evaluator<Map<String, Object>, Void, String> evaluator;
+    private Evaluator<List<Object>, Void, String> evaluator;
 
     private Map<String, Type<?>> declarationTypes;
 
     private Set<String> globalNames;
 
+    private String[] slotNames;
+    private SlotKind[] slotKinds;
+
+    // resolved once per subrule (an OR rule has several) and reused while Drools keeps
+    // passing the same outer declaration map, as DrlxDeclarationPositions does
+    private volatile SubRuleSlots[] subRuleSlots = new SubRuleSlots[0];
+
+    // slot arrays are reused per thread; a nested firing on the same thread takes a fresh one
+    private final ThreadLocal<Slots> slots = new ThreadLocal<>();
+
+    // position in a shared lambda-table evaluator, null when the evaluator is this consequence's own
+    private Integer tableIndex;
+
     public DrlxLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes) {
         this(consequenceBlock, declarationTypes, Set.of());
     }
 
     public DrlxLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Set<String> globalNames) {
-        this.consequenceBlock = consequenceBlock;
-        this.declarationTypes = declarationTypes;
-        this.globalNames = globalNames;
-
+        this(consequenceBlock, declarationTypes, null, globalNames);
         initializeLambdaConsequence();
     }
 
-    public DrlxLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Evaluator<Map<String, Object>, Void, String> preCompiledEvaluator) {
+    public DrlxLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Evaluator<List<Object>, Void, String> preCompiledEvaluator) {
         this(consequenceBlock, declarationTypes, preCompiledEvaluator, Set.of());
     }
 
-    public DrlxLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Evaluator<Map<String, Object>, Void, String> preCompiledEvaluator, Set<String> globalNames) {
+    public DrlxLambdaConsequence(String consequenceBlock, Map<String, Type<?>> declarationTypes, Evaluator<List<Object>, Void, String> preCompiledEvaluator, Set<String> globalNames) {
         this.consequenceBlock = consequenceBlock;
         this.declarationTypes = declarationTypes;
         this.evaluator = preCompiledEvaluator;
         this.globalNames = globalNames;
+        layoutSlots(declarationTypes);
     }
 
-    public Evaluator<Map<String, Object>, Void, String> getEvaluator() {
+    private void layoutSlots(Map<String, Type<?>> signature) {
+        this.slotNames = signature.keySet().toArray(new String[0]);
+        this.slotKinds = new SlotKind[slotNames.length];
+        for (int i = 0; i < slotNames.length; i++) {
+            slotKinds[i] = slotKind(slotNames[i], globalNames);
+        }
+        this.subRuleSlots = new SubRuleSlots[0];
+    }
+
+    private static SlotKind slotKind(String name, Set<String> globalNames) {
+        if (globalNames.contains(name)) {
+            return SlotKind.GLOBAL;
+        }
+        return switch (name) {
+            case MATCH -> SlotKind.MATCH;
+            case RULE_BASE -> SlotKind.RULE_BASE;
+            case TABLE_INDEX -> SlotKind.TABLE_INDEX;
+            default -> SlotKind.DECLARATION;
+        };
+    }
+
+    public Evaluator<List<Object>, Void, String> getEvaluator() {
         return evaluator;
     }
 
-    public void setEvaluator(Evaluator<Map<String, Object>, Void, String> evaluator) {
+    public void setEvaluator(Evaluator<List<Object>, Void, String> evaluator) {
         this.evaluator = evaluator;
     }
 
+    /**
+     * Binds this consequence to position {@code tableIndex} of a lambda table compiled
+     * against {@code tableSignature}: the table's declaration order plus {@link #TABLE_INDEX}.
+     */
+    void setTableIndex(int tableIndex, Map<String, Type<?>> tableSignature) {
+        this.tableIndex = tableIndex; // boxed once, not per firing
+        layoutSlots(tableSignature);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public void bindEvaluator(Evaluator<?, ?, ?> evaluator) {
@@ -68,7 +127,7 @@ public class DrlxLambdaConsequence implements Consequence<KnowledgeHelper>, Eval
         // TODO: manage source code, hash, and implement cache
         MVEL mvel = new MVEL();
         // Add "return null;" with outType String, because Void doesn't match with void return. TODO: fix mvel3
-        evaluator = mvel.compileMapBlock(consequenceBlock + RETURN_NULL, String.class, new HashSet<>(), declarationTypes);
+        evaluator = mvel.compileListBlock(consequenceBlock + RETURN_NULL, String.class, new HashSet<>(), declarationTypes);
     }
 
     @Override
@@ -78,17 +137,68 @@ public class DrlxLambdaConsequence implements Consequence<KnowledgeHelper>, Eval
 
     @Override
     public void evaluate(KnowledgeHelper knowledgeHelper, ValueResolver valueResolver) throws Exception {
-        Map<String, Object> vars = new HashMap<>();
-        InternalMatch match = knowledgeHelper.getMatch();
-        Map<String, Declaration> declarations = match.getTerminalNode().getSubRule().getOuterDeclarations();
-        for (String declarationId : match.getDeclarationIds()) {
-            Declaration decl = declarations.get(declarationId);
-            vars.put(declarationId, decl.getValue(valueResolver, match.getTuple()));
+        Slots current = slots.get();
+        if (current == null) {
+            current = new Slots(slotNames.length);
+        } else {
+            slots.set(null);
         }
-        globalNames.forEach(name -> vars.put(name, valueResolver.getGlobal(name)));
-        vars.put("__match__", match);
-        vars.put("__ruleBase__", valueResolver.getRuleBase());
+        try {
+            fill(current.args, knowledgeHelper.getMatch(), valueResolver);
+            evaluator.eval(current.view);
+        } finally {
+            Arrays.fill(current.args, null);
+            slots.set(current);
+        }
+    }
 
-        evaluator.eval(vars);
+    private void fill(Object[] args, InternalMatch match, ValueResolver valueResolver) {
+        Declaration[] declarations = null;
+        for (int i = 0; i < args.length; i++) {
+            args[i] = switch (slotKinds[i]) {
+                case DECLARATION -> {
+                    if (declarations == null) {
+                        declarations = declarations(match.getTerminalNode().getSubRule().getOuterDeclarations());
+                    }
+                    // bindings of another OR branch are not in this subrule: left null
+                    Declaration decl = declarations[i];
+                    yield decl != null ? decl.getValue(valueResolver, match.getTuple()) : null;
+                }
+                case GLOBAL -> valueResolver.getGlobal(slotNames[i]);
+                case MATCH -> match;
+                case RULE_BASE -> valueResolver.getRuleBase();
+                case TABLE_INDEX -> tableIndex;
+            };
+        }
+    }
+
+    private Declaration[] declarations(Map<String, Declaration> outerDeclarations) {
+        SubRuleSlots[] known = subRuleSlots;
+        for (SubRuleSlots candidate : known) {
+            if (candidate.outerDeclarations() == outerDeclarations) {
+                return candidate.declarations();
+            }
+        }
+        Declaration[] declarations = new Declaration[slotNames.length];
+        for (int i = 0; i < slotNames.length; i++) {
+            if (slotKinds[i] == SlotKind.DECLARATION) {
+                declarations[i] = outerDeclarations.get(slotNames[i]);
+            }
+        }
+        SubRuleSlots[] grown = Arrays.copyOf(known, known.length + 1);
+        grown[known.length] = new SubRuleSlots(outerDeclarations, declarations);
+        subRuleSlots = grown;
+        return declarations;
+    }
+
+    /** Positional arguments of one firing and their {@code List} view, reused across firings. */
+    private static final class Slots {
+        final Object[] args;
+        final List<Object> view;
+
+        Slots(int size) {
+            this.args = new Object[size];
+            this.view = Arrays.asList(args);
+        }
     }
 }
@@ -27,6 +27,9 @@ public class DrlxLambdaConstraint extends MutableTypeConstraint<ContextEntry[]>
 
     private String expression;
 
+    // free names of the expression, a safe superset of the properties it reads
+    private List<String> expressionNames = List.of();
+
     private Class<?> patternType;
 
     private org.mvel3.transpiler.context.Declaration<?>[] declarations;
@@ -50,6 +53,16 @@ public class DrlxLambdaConstraint extends MutableTypeConstraint<ContextEntry[]>
         this.evaluator = preCompiledEvaluator;
     }
 
+    /**
+     * With the free names of {@code expression} (see {@link DrlxExpressionNames}), so the
+     * listened properties are known while {@code preCompiledEvaluator} is a lazy stub.
+     */
+    public DrlxLambdaConstraint(String expression, List<String> expressionNames, Class<?> patternType,
+                                Evaluator<Object, Void, Boolean> preCompiledEvaluator) {
+        this(expression, patternType, preCompiledEvaluator);
+        this.expressionNames = List.copyOf(expressionNames);
+    }
+
     public String getExpression() {
         return expression;
     }
@@ -94,7 +107,11 @@ public class DrlxLambdaConstraint extends MutableTypeConstraint<ContextEntry[]>
     public BitMask getListenedPropertyMask(Optional<Pattern> pattern,
                                            ObjectType objectType,
                                            List<String> settableProperties) {
-        String[] reads = evaluator.getReadProperties();
+        // a lazy stub would have to define its class to answer; without names every
+        // property is listened to
+        String[] reads = DrlxLazyEvaluator.isPending(evaluator)
+                ? expressionNames.toArray(new String[0])
+                : evaluator.getReadProperties();
         if (reads.length == 0) {
             return super.getListenedPropertyMask(pattern, objectType, settableProperties);
         }
@@ -114,7 +131,9 @@ public class DrlxLambdaConstraint extends MutableTypeConstraint<ContextEntry[]>
         // sibling AND sub-rules. Re-running initializeLambdaConstraint() would NPE
         // on the deferred-compile path (declarations is null until bindEvaluator
         // fires). Reuse the already-bound evaluator — MVEL3 evaluators are stateless.
-        return new DrlxLambdaConstraint(this.expression, this.patternType, this.evaluator);
+        DrlxLambdaConstraint clone = new DrlxLambdaConstraint(this.expression, this.expressionNames, this.patternType, this.evaluator);
+        DrlxLazyEvaluator.bindOnFirstUse(evaluator, clone); // a lazy stub rebinds the clone too
+        return clone;
     }
 
     @Override
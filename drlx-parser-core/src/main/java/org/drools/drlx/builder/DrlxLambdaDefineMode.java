@@ -0,0 +1,36 @@
+package org.drools.drlx.builder;
+
+import java.util.Locale;
+
+/**
+ * How pre-built lambda classes are defined when a KieBase is built from pre-build artifacts.
+ *
+ * <p>Default is {@link #CLASS_MANAGER}: each class goes through MVEL's {@code ClassManager}
+ * one at a time, which extracts and hashes its bytecode for deduplication and defines it as
+ * a hidden class. {@link #BULK} reads every class referenced by the {@link DrlxLambdaMetadata}
+ * up front and defines them as ordinary classes of one dedicated {@link ClassLoader}, without
+ * the bytecode extraction pass. Classes are already deduplicated by fqn at pre-build time.
+ */
+public enum DrlxLambdaDefineMode {
+    CLASS_MANAGER,
+    BULK;
+
+    public static final String PROPERTY = "drlx.compiler.lambdaDefine";
+
+    public static DrlxLambdaDefineMode current() {
+        String configured = System.getProperty(PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return fromProperty(configured);
+        }
+        return CLASS_MANAGER;
+    }
+
+    public static DrlxLambdaDefineMode fromProperty(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "classmanager", "class-manager", "hidden" -> CLASS_MANAGER;
+            case "bulk", "classloader" -> BULK;
+            default -> throw new IllegalArgumentException("Unknown DRLX lambda define mode: " + value);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package org.drools.drlx.builder;
+
+import java.util.Locale;
+
+/**
+ * When lambda classes from a {@link DrlxBuildArchive} are defined.
+ *
+ * <p>Default is {@link #EAGER}: every class is defined while the KieBase is built.
+ * {@link #LAZY} memory-maps the archive and hands constraints and consequences a stub
+ * that defines the class on its first evaluation, so building a large KieBase only
+ * pays for the rules that actually run. Class-file based pre-builds always load eagerly.
+ */
+public enum DrlxLambdaLoadMode {
+    EAGER,
+    LAZY;
+
+    public static final String PROPERTY = "drlx.compiler.lambdaLoading";
+
+    public static DrlxLambdaLoadMode current() {
+        String configured = System.getProperty(PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return fromProperty(configured);
+        }
+        return EAGER;
+    }
+
+    public static DrlxLambdaLoadMode fromProperty(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "eager" -> EAGER;
+            case "lazy", "ondemand", "on-demand" -> LAZY;
+            default -> throw new IllegalArgumentException("Unknown DRLX lambda loading mode: " + value);
+        };
+    }
+}
@@ -3,6 +3,7 @@ package org.drools.drlx.builder;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
@@ -15,7 +16,7 @@ import org.mvel3.lambdaextractor.ArtifactRef;
 
 /**
  * Pre-build metadata for DRLX lambdas. Persisted as a Properties file with
- * {@code format.version=2}. Each entry is keyed by {@code rule.<ruleName>.<counterId>}
+ * {@code format.version=3}. Each entry is keyed by {@code rule.<ruleName>.<counterId>}
  * with {@code expression}, {@code fqn}, and {@code classFile} sub-keys.
  * <p>
  * Self-sufficient: contains absolute {@code classFile} paths so the runtime build
@@ -25,19 +26,47 @@ import org.mvel3.lambdaextractor.ArtifactRef;
 public class DrlxLambdaMetadata {
 
     private static final String FILE_NAME = "drlx-lambda-metadata.properties";
-    private static final String FORMAT_VERSION = "2";
+    private static final String FORMAT_VERSION = "6"; // 3: beta constraints, 4: consequences, 5: consequence globals, 6: multi-source value extractors take positional (List) arguments
     private static final String KEY_VERSION = "format.version";
 
     private final Map<String, LambdaEntry> entries = new LinkedHashMap<>();
 
-    public record LambdaEntry(String fqn, Path classFile, String expression) {
+    /**
+     * A pre-built lambda. File-based entries carry {@code classFile}; entries read from a
+     * {@link DrlxBuildArchive} carry the {@code classBytes} instead and have no path.
+     * {@code classBytes} is a read-only view that may be backed by a mapped archive file.
+     */
+    public record LambdaEntry(String fqn, Path classFile, String expression, ByteBuffer classBytes) {
+        public LambdaEntry(String fqn, Path classFile, String expression) {
+            this(fqn, classFile, expression, null);
+        }
+
         public ArtifactRef toArtifactRef() { return new ArtifactRef(fqn, classFile); }
     }
 
+    /** Receives each entry of {@link #forEach} with the key it was recorded under. */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(String ruleName, int counterId, LambdaEntry entry) throws IOException;
+    }
+
     public void put(String ruleName, int counterId, ArtifactRef ref, String expression) {
         entries.put(key(ruleName, counterId), new LambdaEntry(ref.fqn(), ref.classFile(), expression));
     }
 
+    public void put(String ruleName, int counterId, String fqn, ByteBuffer classBytes, String expression) {
+        entries.put(key(ruleName, counterId), new LambdaEntry(fqn, null, expression, classBytes));
+    }
+
+    /** Visits all entries in recording order. */
+    public void forEach(EntryVisitor visitor) throws IOException {
+        for (Map.Entry<String, LambdaEntry> e : entries.entrySet()) {
+            String key = e.getKey();
+            int lastDot = key.lastIndexOf('.');
+            visitor.visit(key.substring("rule.".length(), lastDot), Integer.parseInt(key.substring(lastDot + 1)), e.getValue());
+        }
+    }
+
     public LambdaEntry get(String ruleName, int counterId) {
         return entries.get(key(ruleName, counterId));
     }
@@ -0,0 +1,37 @@
+package org.drools.drlx.builder;
+
+import java.util.Locale;
+
+/**
+ * Whether batch compilation packs lambdas into shared "lambda table" classes.
+ *
+ * <p>Default is {@link #NONE}: every lambda becomes its own generated evaluator class.
+ * {@link #CONSEQUENCES} compiles all consequences that share a declaration signature
+ * (binding names and types, globals) into one evaluator whose block dispatches on the
+ * consequence's table index, so the consequence class count follows the number of
+ * distinct signatures rather than the number of rules. Pre-builds always compile one
+ * class per lambda, because {@link DrlxLambdaMetadata} maps each lambda to its own class.
+ */
+public enum DrlxLambdaTableMode {
+    NONE,
+    CONSEQUENCES;
+
+    public static final String PROPERTY = "drlx.compiler.lambdaTables";
+
+    public static DrlxLambdaTableMode current() {
+        String configured = System.getProperty(PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return fromProperty(configured);
+        }
+        return NONE;
+    }
+
+    public static DrlxLambdaTableMode fromProperty(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "none", "off" -> NONE;
+            case "consequences", "consequence" -> CONSEQUENCES;
+            default -> throw new IllegalArgumentException("Unknown DRLX lambda table mode: " + value);
+        };
+    }
+}
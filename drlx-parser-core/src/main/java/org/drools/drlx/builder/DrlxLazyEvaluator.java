@@ -0,0 +1,104 @@
+package org.drools.drlx.builder;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.mvel3.Evaluator;
+
+/**
+ * Stand-in {@link Evaluator} for {@link DrlxLambdaLoadMode#LAZY}. The first call resolves
+ * the real evaluator (defining its class) and rebinds every {@link EvaluatorSink}
+ * registered through {@link #bindOnFirstUse} (the owning sink and its clones), so later
+ * calls go straight to the real evaluator. A sink registered after resolution is bound at
+ * once; only calls made while the stub resolves go through the reflective proxy.
+ */
+final class DrlxLazyEvaluator implements InvocationHandler {
+
+    private final Supplier<Object> resolver;
+    private volatile Object target;
+    private List<EvaluatorSink> sinks = new ArrayList<>(1); // guarded by this; null once resolved
+
+    private DrlxLazyEvaluator(Supplier<Object> resolver) {
+        this.resolver = resolver;
+    }
+
+    static Evaluator<?, ?, ?> stub(Supplier<Object> resolver) {
+        return (Evaluator<?, ?, ?>) Proxy.newProxyInstance(DrlxLazyEvaluator.class.getClassLoader(),
+                new Class<?>[] { Evaluator.class }, new DrlxLazyEvaluator(resolver));
+    }
+
+    /**
+     * Registers {@code sink} to receive the real evaluator once {@code evaluator} is resolved,
+     * or binds it now when it already is. No-op when {@code evaluator} is not a stub.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static void bindOnFirstUse(Object evaluator, EvaluatorSink sink) {
+        DrlxLazyEvaluator handler = handlerOf(evaluator);
+        if (handler == null) {
+            return;
+        }
+        synchronized (handler) {
+            if (handler.sinks != null) {
+                handler.sinks.add(sink);
+                return;
+            }
+        }
+        sink.bindEvaluator((Evaluator) handler.target);
+    }
+
+    /**
+     * {@code true} for a stub whose class has not been defined yet.
+     */
+    static boolean isPending(Object evaluator) {
+        DrlxLazyEvaluator handler = handlerOf(evaluator);
+        return handler != null && handler.target == null;
+    }
+
+    private static DrlxLazyEvaluator handlerOf(Object evaluator) {
+        if (evaluator != null && Proxy.isProxyClass(evaluator.getClass())
+                && Proxy.getInvocationHandler(evaluator) instanceof DrlxLazyEvaluator handler) {
+            return handler;
+        }
+        return null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "DrlxLazyEvaluator[" + (target != null ? target : "pending") + "]";
+            };
+        }
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object resolve() {
+        Object resolved = target;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = target;
+                if (resolved == null) {
+                    resolved = resolver.get();
+                    target = resolved;
+                    for (EvaluatorSink sink : sinks) {
+                        sink.bindEvaluator((Evaluator) resolved);
+                    }
+                    sinks = null;
+                }
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,165 @@
+package org.drools.drlx.builder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.base.base.ValueResolver;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.accessor.EvalExpression;
+
+/**
+ * Selects the case of a desugared {@code match} for one tuple. Shared by every case
+ * rule of the match: each rule guards on {@link #guard(int)}, so a case rule costs one
+ * subject evaluation and one dispatch instead of re-testing (and negating) every
+ * earlier case. An if/else chain with per-branch consequences uses a dispatcher without
+ * subject, whose cases are the branch conditions.
+ *
+ * <p>Value cases whose expression is a {@code String}, {@code Boolean} or integral
+ * literal are looked up in a hash table keyed by the literal. The table holds one kind
+ * of literal (that of the first hashable case) and is only consulted for a subject of
+ * that kind, so MVEL's cross-type coercions keep going through the lambdas. The
+ * remaining cases ({@code #Type} cases and non-literal values) are tested in source
+ * order through their condition lambda; a {@code #Type} case is skipped without
+ * calling the lambda when the subject is not an instance of its type. First match
+ * wins, as in the source: the guard of case {@code i} stops after case {@code i}, and
+ * the default case is index {@code cases.length}.
+ */
+public final class DrlxMatchDispatcher {
+
+    /**
+     * One case in source order. {@code type} is the resolved {@code #Type} class, or
+     * {@code null} for value cases and types that could not be resolved at build time.
+     * {@code literal} is the value of a literal value case, otherwise {@code null}.
+     */
+    record Case(DrlxEvalExpression condition, Class<?> type, Object literal) {}
+
+    private final String subject;
+    private final DrlxValueExtractor subjectExtractor;
+    private final Case[] cases;
+    private final boolean[] hashed;
+    private final Map<Object, Integer> valueCases = new HashMap<>();
+    private final Class<?> hashedKind;
+
+    /**
+     * @param subjectExtractor evaluates the match subject; {@code null} for an if/else chain
+     */
+    DrlxMatchDispatcher(String subject, DrlxValueExtractor subjectExtractor, Case[] cases) {
+        this.subject = subject;
+        this.subjectExtractor = subjectExtractor;
+        this.cases = cases;
+        this.hashed = new boolean[cases.length];
+        Class<?> kind = null;
+        for (int i = 0; i < cases.length; i++) {
+            Class<?> literalKind = kindOf(cases[i].literal());
+            if (literalKind == null || (kind != null && kind != literalKind)) {
+                continue;
+            }
+            kind = literalKind;
+            hashed[i] = true;
+            valueCases.putIfAbsent(hashKey(cases[i].literal()), i);
+        }
+        this.hashedKind = kind;
+    }
+
+    /**
+     * Whether case {@code caseIndex} is the first case matching the subject
+     * ({@code caseIndex == case count}: whether no case matches). Cases after
+     * {@code caseIndex} are never evaluated.
+     */
+    boolean selects(Map<String, Object> input, int caseIndex) {
+        Object value = subjectExtractor != null ? subjectExtractor.applyMulti(input) : null;
+        int limit = cases.length;
+        boolean useHash = hashedKind != null && kindOf(value) == hashedKind;
+        if (useHash) {
+            Integer hit = valueCases.get(hashKey(value));
+            if (hit != null) {
+                limit = hit;
+            }
+        }
+        if (caseIndex > limit) {
+            return false; // an earlier literal case already matched
+        }
+        for (int i = 0; i < caseIndex; i++) {
+            if (!(useHash && hashed[i]) && test(cases[i], value, input)) {
+                return false;
+            }
+        }
+        if (caseIndex == limit) {
+            return true; // the hash hit itself, or the default case
+        }
+        // the hash lookup already answered every literal case
+        return !(useHash && hashed[caseIndex]) && test(cases[caseIndex], value, input);
+    }
+
+    private static boolean test(Case c, Object value, Map<String, Object> input) {
+        if (c.type() != null && !c.type().isInstance(value)) {
+            return false;
+        }
+        return c.condition().test(input);
+    }
+
+    /**
+     * The eval guard of case {@code caseIndex}; {@code caseIndex == case count} guards the default case.
+     */
+    EvalExpression guard(int caseIndex) {
+        return new Guard(this, caseIndex);
+    }
+
+    /**
+     * {@code String}, {@code Boolean} or {@code Long} for values whose {@code ==} the hash
+     * table can answer, {@code null} otherwise. Doubles and characters stay on the lambda
+     * path: their {@code ==} is numeric, not {@code equals}.
+     */
+    private static Class<?> kindOf(Object value) {
+        if (value instanceof String) {
+            return String.class;
+        }
+        if (value instanceof Boolean) {
+            return Boolean.class;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return Long.class;
+        }
+        return null;
+    }
+
+    private static Object hashKey(Object value) {
+        // integral literals and subjects compare numerically: normalise to Long
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return subjectExtractor != null ? "match (" + subject + ")" : "if/else (" + cases.length + " conditions)";
+    }
+
+    private record Guard(DrlxMatchDispatcher dispatcher, int caseIndex) implements EvalExpression {
+
+        @Override
+        public Object createContext() {
+            return null;
+        }
+
+        @Override
+        public boolean evaluate(BaseTuple tuple,
+                                Declaration[] requiredDeclarations,
+                                ValueResolver valueResolver,
+                                Object context) {
+            return dispatcher.selects(DrlxEvalExpression.declarationValues(tuple, requiredDeclarations), caseIndex);
+        }
+
+        @Override
+        public void replaceDeclaration(Declaration declaration, Declaration resolved) {
+            // No-op — bindings are looked up by name, as in DrlxEvalExpression.
+        }
+
+        @Override
+        public Guard clone() {
+            return this;
+        }
+    }
+}
@@ -24,22 +24,31 @@ public class DrlxPreBuildLambdaCompiler extends DrlxLambdaCompiler {
 
     private final List<PendingPreBuildInfo> pendingPreBuildInfos = new ArrayList<>();
 
-    record PendingPreBuildInfo(String ruleName, int counterId, String expression, MVELBatchCompiler.LambdaHandle handle) {}
+    record PendingPreBuildInfo(String ruleName, int counterId, String expression, DrlxBatchCompiler.Handle handle) {}
 
     public DrlxPreBuildLambdaCompiler(MVELBatchCompiler batchCompiler) {
         super(batchCompiler);
     }
 
+    public DrlxPreBuildLambdaCompiler(DrlxBatchCompiler batchCompiler) {
+        super(batchCompiler);
+    }
+
     public DrlxLambdaMetadata getMetadata() {
         return metadata;
     }
 
     @Override
     protected void onLambdaCreated(int counter, String expression) {
-        MVELBatchCompiler.LambdaHandle handle = pendingLambdas.get(pendingLambdas.size() - 1).handle();
+        DrlxBatchCompiler.Handle handle = pendingLambdas.get(pendingLambdas.size() - 1).handle();
         pendingPreBuildInfos.add(new PendingPreBuildInfo(currentRuleName, counter, expression, handle));
     }
 
+    @Override
+    protected boolean useLambdaTables() {
+        return false; // metadata records one class per lambda
+    }
+
     @Override
     public void compileBatch(ClassLoader classLoader) {
         if (pendingLambdas.isEmpty()) {
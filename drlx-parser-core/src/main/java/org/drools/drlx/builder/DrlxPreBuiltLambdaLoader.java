@@ -0,0 +1,83 @@
+package org.drools.drlx.builder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.mvel3.ClassManager;
+import org.mvel3.lambdaextractor.LambdaArtifactLoader;
+
+/**
+ * Defines pre-built lambda classes and instantiates their evaluators. Each class is
+ * defined once per loader, however many lambdas share it. Synchronized because
+ * {@link DrlxLambdaLoadMode#LAZY} stubs call it from the threads that fire rules.
+ */
+final class DrlxPreBuiltLambdaLoader {
+
+    private ClassManager classManager;
+    private DrlxBulkLambdaClassLoader bulkLoader;
+    private final Map<String, Class<?>> loadedClasses = new HashMap<>();
+
+    /**
+     * With {@link DrlxLambdaDefineMode#BULK}, reads the bytes of every class in
+     * {@code metadata} into one {@link DrlxBulkLambdaClassLoader} and, unless
+     * {@link DrlxLambdaLoadMode#LAZY} is set, defines them all. Unreadable class files are
+     * skipped here and reported by {@link #newEvaluator} through the per-class path.
+     */
+    synchronized void prepare(DrlxLambdaMetadata metadata, ClassLoader parent) {
+        if (DrlxLambdaDefineMode.current() != DrlxLambdaDefineMode.BULK) {
+            return;
+        }
+        Map<String, ByteBuffer> classBytes = new LinkedHashMap<>();
+        try {
+            metadata.forEach((ruleName, counterId, entry) -> {
+                if (classBytes.containsKey(entry.fqn())) {
+                    return;
+                }
+                if (entry.classBytes() != null) {
+                    classBytes.put(entry.fqn(), entry.classBytes());
+                } else if (entry.classFile() != null && Files.isReadable(entry.classFile())) {
+                    classBytes.put(entry.fqn(), ByteBuffer.wrap(Files.readAllBytes(entry.classFile())));
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read pre-built lambda classes", e);
+        }
+        bulkLoader = new DrlxBulkLambdaClassLoader(parent, classBytes);
+        if (DrlxLambdaLoadMode.current() == DrlxLambdaLoadMode.EAGER) {
+            bulkLoader.defineAll();
+        }
+    }
+
+    synchronized Object newEvaluator(DrlxLambdaMetadata.LambdaEntry entry) throws Exception {
+        Class<?> clazz = loadedClasses.get(entry.fqn());
+        if (clazz == null) {
+            if (bulkLoader != null && bulkLoader.contains(entry.fqn())) {
+                clazz = bulkLoader.lambdaClass(entry.fqn());
+            } else {
+                clazz = defineWithClassManager(entry);
+            }
+            loadedClasses.put(entry.fqn(), clazz);
+        }
+        return clazz.getConstructor().newInstance();
+    }
+
+    private Class<?> defineWithClassManager(DrlxLambdaMetadata.LambdaEntry entry) throws IOException {
+        if (classManager == null) {
+            classManager = new ClassManager();
+        }
+        if (entry.classBytes() != null) {
+            // archived entry: no class file to read, copy the bytes out of the archive buffer
+            ByteBuffer buffer = entry.classBytes().duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            classManager.define(Collections.singletonMap(entry.fqn(), bytes));
+            return classManager.getClass(entry.fqn());
+        }
+        return LambdaArtifactLoader.loadOrDefinePersistedClass(classManager, entry.toArtifactRef());
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package org.drools.drlx.builder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import org.drools.base.base.ValueResolver;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.Declaration;
+import org.drools.base.rule.accessor.Accumulator;
+import org.kie.api.runtime.rule.FactHandle;
+
+/**
+ * Built-in {@code count}, {@code sum}, {@code avg}, {@code min} and {@code max} over a
+ * primitive running state, instead of the boxed {@code Serializable} context of the
+ * Drools {@code AccumulateFunction}. The argument is read either by an unboxed getter
+ * accessor (when it is {@code binding.property} of a primitive number) or through the
+ * MVEL value extractor. Integral getters accumulate in a {@code long}, everything else
+ * in a {@code double}.
+ *
+ * <p>Results match the Drools functions used by {@link DrlxLambdaAccumulator}:
+ * {@code count} is a {@code Long}, {@code sum} and {@code avg} are {@code Double}s
+ * ({@code 0.0} when empty), {@code min} and {@code max} are boxed to the getter's type
+ * ({@code null} when empty) and do not support reverse. For {@code sum} and {@code avg}
+ * the value returned by {@link #accumulate} is the one read for the fact, which Drools
+ * hands back to {@link #tryReverse} even after the fact has been modified.
+ */
+public final class DrlxPrimitiveAccumulator implements Accumulator {
+
+    public enum Kind {
+        COUNT, SUM, AVG, MIN, MAX;
+
+        /**
+         * The kind of built-in function {@code functionName}, or {@code null} for other functions.
+         */
+        static Kind of(String functionName) {
+            return switch (functionName) {
+                case "count" -> COUNT;
+                case "sum" -> SUM;
+                case "avg" -> AVG;
+                case "min" -> MIN;
+                case "max" -> MAX;
+                default -> null;
+            };
+        }
+    }
+
+    private static final class Context {
+        long count;
+        long longValue;
+        double doubleValue;
+    }
+
+    private final Kind kind;
+    private final ToLongFunction<Object> longReader;
+    private final ToDoubleFunction<Object> doubleReader;
+    private final Class<?> valueType;
+    private final boolean multiSource;
+    // multi-source input: the fact bound to one binding, or the value of a positional extractor
+    private final DrlxDeclarationPositions sourcePosition;
+    private final DrlxValueExtractor positionalExtractor;
+
+    private DrlxPrimitiveAccumulator(Kind kind, ToLongFunction<Object> longReader, ToDoubleFunction<Object> doubleReader,
+                                     Class<?> valueType, boolean multiSource,
+                                     DrlxDeclarationPositions sourcePosition, DrlxValueExtractor positionalExtractor) {
+        this.kind = kind;
+        this.longReader = longReader;
+        this.doubleReader = doubleReader;
+        this.valueType = valueType;
+        this.multiSource = multiSource;
+        this.sourcePosition = sourcePosition;
+        this.positionalExtractor = positionalExtractor;
+    }
+
+    static DrlxPrimitiveAccumulator count(boolean multiSource) {
+        return new DrlxPrimitiveAccumulator(Kind.COUNT, null, null, null, multiSource, null, null);
+    }
+
+    /**
+     * Reads the argument with {@code getter}, which returns a primitive number other than
+     * {@code char}. With several sources the getter is applied to {@code binding}.
+     */
+    static DrlxPrimitiveAccumulator ofProperty(Kind kind, String binding, Method getter, boolean multiSource) {
+        Class<?> type = getter.getReturnType();
+        DrlxDeclarationPositions sourcePosition = multiSource ? new DrlxDeclarationPositions(List.of(binding)) : null;
+        if (type == double.class || type == float.class) {
+            return new DrlxPrimitiveAccumulator(kind, null, DrlxPropertyAccessors.doubleAccessor(getter), type,
+                    multiSource, sourcePosition, null);
+        }
+        return new DrlxPrimitiveAccumulator(kind, DrlxPropertyAccessors.longAccessor(getter), null, type,
+                multiSource, sourcePosition, null);
+    }
+
+    /**
+     * Reads the argument through {@code extractor}, as a {@code double}. Only for
+     * {@code sum} and {@code avg}: the boxed type {@code min} and {@code max} return is not known.
+     */
+    static DrlxPrimitiveAccumulator ofExtractor(Kind kind, DrlxValueExtractor extractor, boolean multiSource) {
+        if (kind != Kind.SUM && kind != Kind.AVG) {
+            throw new IllegalArgumentException("No extractor-based primitive accumulator for " + kind);
+        }
+        if (multiSource) {
+            return new DrlxPrimitiveAccumulator(kind, null, input -> ((Number) input).doubleValue(), Double.class,
+                    true, null, extractor);
+        }
+        return new DrlxPrimitiveAccumulator(kind, null, input -> ((Number) extractor.apply(input)).doubleValue(), Double.class,
+                false, null, null);
+    }
+
+    @Override public Object createWorkingMemoryContext() { return null; }
+
+    @Override public Object createContext() { return new Context(); }
+
+    @Override
+    public Object init(Object wmContext, Object context, BaseTuple tuple,
+                       Declaration[] decls, ValueResolver vr) {
+        Context ctx = (Context) context;
+        ctx.count = 0;
+        ctx.longValue = 0;
+        ctx.doubleValue = 0;
+        return context;
+    }
+
+    @Override
+    public Object accumulate(Object wmContext, Object context, BaseTuple tuple,
+                             FactHandle handle, Declaration[] decls,
+                             Declaration[] innerDecls, ValueResolver vr) {
+        Context ctx = (Context) context;
+        if (kind == Kind.COUNT) {
+            ctx.count++;
+            return handle.getObject();
+        }
+        try {
+            Object input = multiSource ? multiSourceInput(tuple, innerDecls, vr) : handle.getObject();
+            if (longReader != null) {
+                long value = longReader.applyAsLong(input);
+                return accumulateLong(ctx, value) ? Long.valueOf(value) : handle.getObject();
+            }
+            double value = doubleReader.applyAsDouble(input);
+            return accumulateDouble(ctx, value) ? Double.valueOf(value) : handle.getObject();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("accumulate failed for " + kind.name().toLowerCase(), e);
+        }
+    }
+
+    private Object multiSourceInput(BaseTuple tuple, Declaration[] innerDecls, ValueResolver vr) {
+        return positionalExtractor != null
+                ? positionalExtractor.applyPositional(tuple, innerDecls, vr)
+                : sourcePosition.first(tuple, innerDecls, vr);
+    }
+
+    /** Returns whether the value has to be kept for reverse. */
+    private boolean accumulateLong(Context ctx, long value) {
+        switch (kind) {
+            case SUM, AVG -> {
+                ctx.count++;
+                ctx.longValue += value;
+                return true;
+            }
+            case MIN -> {
+                if (ctx.count++ == 0 || value < ctx.longValue) {
+                    ctx.longValue = value;
+                }
+            }
+            case MAX -> {
+                if (ctx.count++ == 0 || value > ctx.longValue) {
+                    ctx.longValue = value;
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected " + kind);
+        }
+        return false;
+    }
+
+    private boolean accumulateDouble(Context ctx, double value) {
+        switch (kind) {
+            case SUM, AVG -> {
+                ctx.count++;
+                ctx.doubleValue += value;
+                return true;
+            }
+            case MIN -> {
+                if (ctx.count++ == 0 || Double.compare(value, ctx.doubleValue) < 0) {
+                    ctx.doubleValue = value;
+                }
+            }
+            case MAX -> {
+                if (ctx.count++ == 0 || Double.compare(value, ctx.doubleValue) > 0) {
+                    ctx.doubleValue = value;
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected " + kind);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean supportsReverse() {
+        return kind == Kind.COUNT || kind == Kind.SUM || kind == Kind.AVG;
+    }
+
+    @Override
+    public boolean tryReverse(Object wmContext, Object context, BaseTuple tuple,
+                              FactHandle handle, Object value,
+                              Declaration[] decls, Declaration[] innerDecls,
+                              ValueResolver vr) {
+        if (!supportsReverse()) {
+            return false;
+        }
+        Context ctx = (Context) context;
+        ctx.count--;
+        if (kind != Kind.COUNT) {
+            if (longReader != null) {
+                ctx.longValue -= (Long) value;
+            } else {
+                ctx.doubleValue -= (Double) value;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object getResult(Object wmContext, Object context, BaseTuple tuple,
+                            Declaration[] decls, ValueResolver vr) {
+        Context ctx = (Context) context;
+        double total = longReader != null ? ctx.longValue : ctx.doubleValue;
+        return switch (kind) {
+            case COUNT -> Long.valueOf(ctx.count);
+            case SUM -> Double.valueOf(total);
+            case AVG -> Double.valueOf(ctx.count == 0 ? 0.0 : total / ctx.count);
+            case MIN, MAX -> ctx.count == 0 ? null : extreme(ctx);
+        };
+    }
+
+    private Object extreme(Context ctx) {
+        if (valueType == int.class) {
+            return (int) ctx.longValue;
+        }
+        if (valueType == long.class) {
+            return ctx.longValue;
+        }
+        if (valueType == short.class) {
+            return (short) ctx.longValue;
+        }
+        if (valueType == byte.class) {
+            return (byte) ctx.longValue;
+        }
+        if (valueType == float.class) {
+            return (float) ctx.doubleValue;
+        }
+        return ctx.doubleValue;
+    }
+
+    @Override
+    public String toString() {
+        return kind.name().toLowerCase() + (longReader != null ? " (long)" : doubleReader != null ? " (double)" : "");
+    }
+}
@@ -0,0 +1,37 @@
+package org.drools.drlx.builder;
+
+import java.util.Locale;
+
+/**
+ * How fact properties are read on the constraint hot path (beta constraint
+ * argument extraction and {@link DrlxBeanFieldReader}).
+ *
+ * <p>Default is {@link #DIRECT} — each getter is bound once to a
+ * {@code LambdaMetafactory}-spun {@link java.util.function.Function}, falling
+ * back to a {@link java.lang.invoke.MethodHandle} when the fact class is not
+ * visible from this class loader. {@link #REFLECTION} keeps the plain
+ * {@code Method.invoke} path and exists mainly for benchmarking.
+ */
+public enum DrlxPropertyAccessMode {
+    DIRECT,
+    REFLECTION;
+
+    public static final String PROPERTY = "drlx.compiler.propertyAccess";
+
+    public static DrlxPropertyAccessMode current() {
+        String configured = System.getProperty(PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return fromProperty(configured);
+        }
+        return DIRECT;
+    }
+
+    public static DrlxPropertyAccessMode fromProperty(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "direct", "lambda", "methodhandle" -> DIRECT;
+            case "reflection", "reflect" -> REFLECTION;
+            default -> throw new IllegalArgumentException("Unknown DRLX property access mode: " + value);
+        };
+    }
+}
@@ -0,0 +1,171 @@
+package org.drools.drlx.builder;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Turns JavaBean getters into {@link Function} accessors according to
+ * {@link DrlxPropertyAccessMode}. Direct accessors are cached per getter, so
+ * every constraint reading {@code Person.getAge} shares one spun class. The cache
+ * hangs off the getter's declaring class through a {@link ClassValue}, so it never
+ * keeps a user class, or its class loader, alive after the KieBase using it is gone.
+ * Getters of primitive numbers also have unboxed {@link ToLongFunction} /
+ * {@link ToDoubleFunction} accessors, for accumulates.
+ */
+final class DrlxPropertyAccessors {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DrlxPropertyAccessors.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Direct accessors of the getters declared by one class. */
+    private static final class ClassAccessors {
+        private final ConcurrentHashMap<Method, Function<Object, Object>> direct = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Method, ToLongFunction<Object>> longs = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Method, ToDoubleFunction<Object>> doubles = new ConcurrentHashMap<>();
+    }
+
+    private static final ClassValue<ClassAccessors> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassAccessors computeValue(Class<?> type) {
+            return new ClassAccessors();
+        }
+    };
+
+    private DrlxPropertyAccessors() {
+    }
+
+    static Function<Object, Object> accessor(Method getter) {
+        return switch (DrlxPropertyAccessMode.current()) {
+            case DIRECT -> cached(getter);
+            case REFLECTION -> reflectiveAccessor(getter);
+        };
+    }
+
+    /**
+     * Unboxed accessor for a getter returning {@code int}, {@code long}, {@code short} or {@code byte}.
+     */
+    @SuppressWarnings("unchecked")
+    static ToLongFunction<Object> longAccessor(Method getter) {
+        return switch (DrlxPropertyAccessMode.current()) {
+            case DIRECT -> CACHE.get(getter.getDeclaringClass()).longs.computeIfAbsent(getter, g -> (ToLongFunction<Object>) directPrimitiveAccessor(
+                    g, ToLongFunction.class, "applyAsLong", long.class));
+            case REFLECTION -> {
+                Function<Object, Object> boxed = reflectiveAccessor(getter);
+                yield fact -> ((Number) boxed.apply(fact)).longValue();
+            }
+        };
+    }
+
+    /**
+     * Unboxed accessor for a getter returning any primitive number other than {@code char}.
+     */
+    @SuppressWarnings("unchecked")
+    static ToDoubleFunction<Object> doubleAccessor(Method getter) {
+        return switch (DrlxPropertyAccessMode.current()) {
+            case DIRECT -> CACHE.get(getter.getDeclaringClass()).doubles.computeIfAbsent(getter, g -> (ToDoubleFunction<Object>) directPrimitiveAccessor(
+                    g, ToDoubleFunction.class, "applyAsDouble", double.class));
+            case REFLECTION -> {
+                Function<Object, Object> boxed = reflectiveAccessor(getter);
+                yield fact -> ((Number) boxed.apply(fact)).doubleValue();
+            }
+        };
+    }
+
+    /**
+     * Spins {@code samType} over the getter, widening its primitive result to
+     * {@code resultType}. Falls back to unboxing the result of the boxed accessor.
+     */
+    private static Object directPrimitiveAccessor(Method getter, Class<?> samType, String samName, Class<?> resultType) {
+        if (isVisible(getter.getDeclaringClass())) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(getter);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, samName,
+                        MethodType.methodType(samType),
+                        MethodType.methodType(resultType, Object.class),
+                        handle,
+                        MethodType.methodType(resultType, getter.getDeclaringClass()));
+                return site.getTarget().invoke();
+            } catch (Throwable t) {
+                LOG.debug("LambdaMetafactory failed for {}, using boxed accessor", getter, t);
+            }
+        }
+        Function<Object, Object> boxed = cached(getter);
+        if (resultType == long.class) {
+            return (ToLongFunction<Object>) fact -> ((Number) boxed.apply(fact)).longValue();
+        }
+        return (ToDoubleFunction<Object>) fact -> ((Number) boxed.apply(fact)).doubleValue();
+    }
+
+    private static Function<Object, Object> cached(Method getter) {
+        return CACHE.get(getter.getDeclaringClass()).direct.computeIfAbsent(getter, DrlxPropertyAccessors::directAccessor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> directAccessor(Method getter) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(getter);
+        } catch (IllegalAccessException e) {
+            LOG.debug("Getter {} is not accessible, using reflection", getter, e);
+            return reflectiveAccessor(getter);
+        }
+
+        // The spun lambda class lives in this class loader and links the getter's
+        // declaring class by name, so it is only safe when that class is visible here.
+        if (isVisible(getter.getDeclaringClass())) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                        MethodType.methodType(Function.class),
+                        ACCESSOR_TYPE,
+                        handle,
+                        handle.type().wrap());
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable t) {
+                LOG.debug("LambdaMetafactory failed for {}, using MethodHandle", getter, t);
+            }
+        }
+
+        MethodHandle adapted = handle.asType(ACCESSOR_TYPE);
+        return fact -> {
+            try {
+                return (Object) adapted.invokeExact(fact);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException("Failed to read property via " + getter.getName(), t);
+            }
+        };
+    }
+
+    private static Function<Object, Object> reflectiveAccessor(Method getter) {
+        return fact -> {
+            try {
+                return getter.invoke(fact);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to read property via " + getter.getName(), e);
+            }
+        };
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, DrlxPropertyAccessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
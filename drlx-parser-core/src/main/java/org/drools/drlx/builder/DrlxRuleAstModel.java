@@ -50,10 +50,16 @@ public final class DrlxRuleAstModel {
         }
     }
 
-    /** LHS tree node — pattern leaf, nested group element, eval-style guard, or accumulate. */
-    public sealed interface LhsItemIR permits PatternIR, GroupElementIR, EvalIR, AccumulatePatternIR, CustomAccumulateIR, GroupByAccumulateIR, GroupByCustomAccumulateIR {
+    /** LHS tree node — pattern leaf, nested group element, eval-style guard, match guard, or accumulate. */
+    public sealed interface LhsItemIR permits PatternIR, GroupElementIR, EvalIR, MatchGuardIR, AccumulatePatternIR, CustomAccumulateIR, GroupByAccumulateIR, GroupByCustomAccumulateIR {
     }
 
+    /**
+     * {@code conditionReferences.get(i)} holds the free names of {@code conditions.get(i)}
+     * (see {@link DrlxExpressionNames}), and {@code positionalArgReferences.get(i)} those of
+     * {@code positionalArgs.get(i)} (none for a {@code var} binding), so binding references
+     * and read properties are resolved without re-scanning the source.
+     */
     public record PatternIR(String typeName,
                             String bindName,
                             String entryPoint,
@@ -64,7 +70,42 @@ public final class DrlxRuleAstModel {
                             boolean passive,
                             List<String> watchedProperties,
                             String windowType,
-                            String windowParameter) implements LhsItemIR {
+                            String windowParameter,
+                            List<List<String>> conditionReferences,
+                            List<List<String>> positionalArgReferences) implements LhsItemIR {
+
+        public PatternIR {
+            if (conditionReferences.size() != conditions.size()) {
+                throw new IllegalArgumentException("Expected references for " + conditions.size()
+                        + " conditions, got " + conditionReferences.size());
+            }
+            if (positionalArgReferences.size() != positionalArgs.size()) {
+                throw new IllegalArgumentException("Expected references for " + positionalArgs.size()
+                        + " positional arguments, got " + positionalArgReferences.size());
+            }
+            conditionReferences = conditionReferences.stream().map(List::copyOf).toList();
+            positionalArgReferences = positionalArgReferences.stream().map(List::copyOf).toList();
+        }
+
+        /** Pattern whose condition and positional argument references are computed from their source. */
+        public PatternIR(String typeName,
+                         String bindName,
+                         String entryPoint,
+                         List<String> conditions,
+                         List<TemporalConditionIR> temporalConditions,
+                         String castTypeName,
+                         List<String> positionalArgs,
+                         boolean passive,
+                         List<String> watchedProperties,
+                         String windowType,
+                         String windowParameter) {
+            this(typeName, bindName, entryPoint, conditions, temporalConditions, castTypeName, positionalArgs,
+                 passive, watchedProperties, windowType, windowParameter,
+                 conditions.stream().map(DrlxExpressionNames::of).toList(),
+                 positionalArgs.stream()
+                         .map(arg -> arg.startsWith("var ") ? List.<String>of() : DrlxExpressionNames.of(arg))
+                         .toList());
+        }
     }
 
     public record TemporalConditionIR(
@@ -96,6 +137,32 @@ public final class DrlxRuleAstModel {
         }
     }
 
+    /**
+     * Guard of one synthetic rule of a desugared {@code match}: holds when {@code caseIndex}
+     * is the first of {@code cases} matching {@code subject}. The default case has
+     * {@code caseIndex == cases.size()}. Every case rule of one match carries the same
+     * subject and cases, so the runtime builds a single dispatcher for all of them.
+     * An if/else chain with per-branch consequences is lowered the same way with an
+     * empty {@code subject}: each case is then just a branch condition.
+     */
+    public record MatchGuardIR(String subject,
+                               List<MatchCaseIR> cases,
+                               int caseIndex,
+                               List<String> referencedBindings) implements LhsItemIR {
+        public MatchGuardIR {
+            cases = List.copyOf(cases);
+            referencedBindings = List.copyOf(referencedBindings);
+        }
+    }
+
+    /**
+     * One {@code match} case. A value case has an empty {@code typeName} and the case
+     * expression as {@code value}; a {@code #Type} case has the type name and an empty
+     * {@code value}. {@code condition} is the full boolean test against the subject.
+     */
+    public record MatchCaseIR(String typeName, String value, String condition) {
+    }
+
     public record AccumulatePatternIR(LhsItemIR source,
                                       List<AccumulatorIR> accumulators) implements LhsItemIR {
         public AccumulatePatternIR {
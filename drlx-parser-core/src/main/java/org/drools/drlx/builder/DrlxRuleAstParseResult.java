@@ -9,8 +9,13 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.drools.drlx.builder.DrlxRuleAstModel.AccumulatePatternIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.AccumulatorIR;
@@ -18,20 +23,29 @@ import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.ConsequenceIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.CustomAccumulateIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.EvalIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.GroupByAccumulateIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.GroupByCustomAccumulateIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.GroupElementIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.InitVarIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.LhsItemIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchCaseIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchGuardIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleAnnotationIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleParameterIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.WindowDeclarationIR;
+import org.drools.drlx.builder.DrlxRuleSourceSpans.RuleSpan;
 import org.drools.drlx.builder.proto.DrlxRuleAstProto;
 
 /**
  * Persists a compact DRLX-specific rule AST for runtime rebuilds.
  * All protobuf translation works against {@link DrlxRuleAstModel}; there is
- * no direct ANTLR dependency here.
+ * no direct ANTLR parser dependency here.
+ *
+ * <p>Besides the hash of the whole source, the cache records a hash of the unit header
+ * and of each rule's source span ({@link DrlxRuleSourceSpans}). {@link #loadIncremental}
+ * uses them to keep the unchanged rules of an edited source and parse only the others.
  */
 public final class DrlxRuleAstParseResult {
 
@@ -45,24 +59,9 @@ public final class DrlxRuleAstParseResult {
     }
 
     public static void save(String drlxSource, CompilationUnitIR data, Path outputDir) throws IOException {
-        DrlxRuleAstProto.CompilationUnitParseResult.Builder builder =
-                DrlxRuleAstProto.CompilationUnitParseResult.newBuilder()
-                        .setSourceHash(hashSource(drlxSource))
-                        .setPackageName(data.packageName())
-                        .setUnitName(data.unitName() == null ? "" : data.unitName());
-
-        data.imports().forEach(builder::addImports);
-        for (WindowDeclarationIR windowDecl : data.windowDeclarations()) {
-            builder.addWindowDeclarations(DrlxRuleAstProto.WindowDeclarationParseResult.newBuilder()
-                    .setName(windowDecl.name())
-                    .setPattern(patternToProto(windowDecl.pattern()))
-                    .build());
-        }
-        data.rules().forEach(rule -> builder.addRules(toProtoRule(rule)));
-
         Files.createDirectories(outputDir);
         try (OutputStream out = Files.newOutputStream(parseResultFilePath(outputDir))) {
-            builder.build().writeTo(out);
+            toProto(drlxSource, data).writeTo(out);
         }
     }
 
@@ -75,51 +74,225 @@ public final class DrlxRuleAstParseResult {
         try (InputStream in = Files.newInputStream(parseResultFile)) {
             parseResult = DrlxRuleAstProto.CompilationUnitParseResult.parseFrom(in);
         }
+        return fromProto(drlxSource, parseResult, parseResultFile);
+    }
+
+    /**
+     * A RuleAST for source that may have changed since the cache was saved.
+     * {@code reparsedRules} names the rules parsed from the current source; all other
+     * rules were read from the cache.
+     */
+    record IncrementalLoad(CompilationUnitIR ast, Set<String> reparsedRules) {
+        IncrementalLoad {
+            reparsedRules = Set.copyOf(reparsedRules);
+        }
+    }
 
-        if (!parseResult.getSourceHash().equals(hashSource(drlxSource))) {
+    /**
+     * Like {@link #load}, but also serves source edited since the cache was saved, as long
+     * as its header (package, imports, unit, windows) is unchanged: rules whose source
+     * span is unchanged come from the cache, the others are parsed by {@code parser} from
+     * the header plus their spans. Returns {@code null} when there is no cache or it cannot
+     * serve the source (changed header, source the lexer cannot split into rules).
+     */
+    static IncrementalLoad loadIncremental(String drlxSource, Path parseResultFile,
+                                           Function<String, CompilationUnitIR> parser) throws IOException {
+        if (!Files.exists(parseResultFile)) {
+            return null;
+        }
+        DrlxRuleAstProto.CompilationUnitParseResult parseResult;
+        try (InputStream in = Files.newInputStream(parseResultFile)) {
+            parseResult = DrlxRuleAstProto.CompilationUnitParseResult.parseFrom(in);
+        }
+        CompilationUnitIR unchanged = fromProto(drlxSource, parseResult, parseResultFile);
+        if (unchanged != null) {
+            return new IncrementalLoad(unchanged, Set.of());
+        }
+        if (parseResult.getHeaderHash().isEmpty()) {
+            return null;
+        }
+        DrlxRuleSourceSpans spans = DrlxRuleSourceSpans.of(drlxSource);
+        if (spans == null || !parseResult.getHeaderHash().equals(hashSource(spans.header()))) {
             return null;
         }
 
-        List<RuleIR> rules = new ArrayList<>(parseResult.getRulesCount());
-        for (DrlxRuleAstProto.RuleParseResult ruleParseResult : parseResult.getRulesList()) {
-            List<LhsItemIR> lhs = new ArrayList<>(ruleParseResult.getLhsCount());
-            for (DrlxRuleAstProto.LhsItemParseResult itemParseResult : ruleParseResult.getLhsList()) {
-                lhs.add(fromProtoLhs(itemParseResult, parseResultFile));
+        // a span desugared into several rules (match, if/else) is cached as their consecutive run
+        Map<String, List<DrlxRuleAstProto.RuleParseResult>> cachedRules = new HashMap<>();
+        List<DrlxRuleAstProto.RuleParseResult> run = null;
+        String runHash = null;
+        for (DrlxRuleAstProto.RuleParseResult rule : parseResult.getRulesList()) {
+            if (!rule.getSourceHash().equals(runHash)) {
+                runHash = rule.getSourceHash();
+                run = new ArrayList<>();
+                if (!runHash.isEmpty()) {
+                    cachedRules.putIfAbsent(runHash, run);
+                }
+            }
+            run.add(rule);
+        }
+        List<List<RuleIR>> rules = new ArrayList<>(spans.rules().size());
+        List<RuleSpan> changed = new ArrayList<>();
+        for (RuleSpan span : spans.rules()) {
+            List<DrlxRuleAstProto.RuleParseResult> cached = cachedRules.remove(hashSource(span.text()));
+            if (cached == null) {
+                rules.add(null);
+                changed.add(span);
+            } else {
+                rules.add(cached.stream().map(rule -> ruleFromProto(rule, parseResultFile)).toList());
             }
-            ConsequenceIR rhs = ruleParseResult.hasRhs()
-                    ? new ConsequenceIR(ruleParseResult.getRhs().getBlock())
-                    : null;
+        }
+        if (changed.isEmpty()) {
+            return new IncrementalLoad(new CompilationUnitIR(parseResult.getPackageName(),
+                    parseResult.getUnitName(),
+                    List.copyOf(parseResult.getImportsList()),
+                    windowDeclarationsFromProto(parseResult),
+                    flatten(rules)), Set.of());
+        }
 
-            List<RuleAnnotationIR> ruleAnnotations = new ArrayList<>(ruleParseResult.getAnnotationsCount());
-            for (DrlxRuleAstProto.RuleAnnotationParseResult annPR : ruleParseResult.getAnnotationsList()) {
-                ruleAnnotations.add(new RuleAnnotationIR(fromProtoKind(annPR.getKind()), annPR.getRawValue()));
+        CompilationUnitIR parsed = parser.apply(spans.sourceOf(changed));
+        List<List<RuleIR>> parsedBySpan = rulesBySpan(changed, parsed.rules());
+        if (parsedBySpan == null) {
+            return null;
+        }
+        Set<String> reparsedRules = new LinkedHashSet<>();
+        int next = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i) == null) {
+                List<RuleIR> spanRules = parsedBySpan.get(next++);
+                rules.set(i, spanRules);
+                spanRules.forEach(rule -> reparsedRules.add(rule.name()));
             }
+        }
+        return new IncrementalLoad(new CompilationUnitIR(parsed.packageName(),
+                parsed.unitName(),
+                parsed.imports(),
+                parsed.windowDeclarations(),
+                flatten(rules)), reparsedRules);
+    }
+
+    /**
+     * The rules of each span, in span order: the rule named after the span, or the rules
+     * {@code name$0..name$n} it was desugared into. {@code null} when {@code rules} do not
+     * follow the spans that way.
+     */
+    private static List<List<RuleIR>> rulesBySpan(List<RuleSpan> spans, List<RuleIR> rules) {
+        List<List<RuleIR>> bySpan = new ArrayList<>(spans.size());
+        int next = 0;
+        for (RuleSpan span : spans) {
+            int start = next;
+            while (next < rules.size() && span.produced(rules.get(next).name())) {
+                next++;
+            }
+            if (next == start) {
+                return null;
+            }
+            bySpan.add(rules.subList(start, next));
+        }
+        return next == rules.size() ? bySpan : null;
+    }
 
-            List<RuleParameterIR> parameters = new ArrayList<>();
-            for (DrlxRuleAstProto.RuleParameterParseResult paramPR : ruleParseResult.getParametersList()) {
-                parameters.add(new RuleParameterIR(paramPR.getTypeName(), paramPR.getParamName()));
+    private static List<RuleIR> flatten(List<List<RuleIR>> rulesBySpan) {
+        return rulesBySpan.stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Serialized form of {@link #save}, for callers that embed the RuleAST in a larger artifact.
+     */
+    static byte[] toBytes(String drlxSource, CompilationUnitIR data) {
+        return toProto(drlxSource, data).toByteArray();
+    }
+
+    /**
+     * Counterpart of {@link #toBytes}; returns {@code null} when the bytes were recorded
+     * for a different source. {@code origin} is only used in error messages.
+     */
+    static CompilationUnitIR fromBytes(String drlxSource, byte[] bytes, Path origin) throws IOException {
+        return fromProto(drlxSource, DrlxRuleAstProto.CompilationUnitParseResult.parseFrom(bytes), origin);
+    }
+
+    private static DrlxRuleAstProto.CompilationUnitParseResult toProto(String drlxSource, CompilationUnitIR data) {
+        DrlxRuleAstProto.CompilationUnitParseResult.Builder builder =
+                DrlxRuleAstProto.CompilationUnitParseResult.newBuilder()
+                        .setSourceHash(hashSource(drlxSource))
+                        .setPackageName(data.packageName())
+                        .setUnitName(data.unitName() == null ? "" : data.unitName());
+
+        data.imports().forEach(builder::addImports);
+        for (WindowDeclarationIR windowDecl : data.windowDeclarations()) {
+            builder.addWindowDeclarations(DrlxRuleAstProto.WindowDeclarationParseResult.newBuilder()
+                    .setName(windowDecl.name())
+                    .setPattern(patternToProto(windowDecl.pattern()))
+                    .build());
+        }
+        DrlxRuleSourceSpans spans = DrlxRuleSourceSpans.of(drlxSource);
+        List<List<RuleIR>> rulesBySpan = spans == null ? null : rulesBySpan(spans.rules(), data.rules());
+        if (rulesBySpan == null) {
+            data.rules().forEach(rule -> builder.addRules(toProtoRule(rule)));
+        } else {
+            builder.setHeaderHash(hashSource(spans.header()));
+            for (int i = 0; i < rulesBySpan.size(); i++) {
+                String spanHash = hashSource(spans.rules().get(i).text());
+                for (RuleIR rule : rulesBySpan.get(i)) {
+                    builder.addRules(toProtoRule(rule).toBuilder().setSourceHash(spanHash).build());
+                }
             }
+        }
+        return builder.build();
+    }
 
-            rules.add(new RuleIR(
-                    ruleParseResult.getName(),
-                    List.copyOf(ruleAnnotations),
-                    List.copyOf(parameters),
-                    List.copyOf(lhs),
-                    rhs));
+    private static CompilationUnitIR fromProto(String drlxSource, DrlxRuleAstProto.CompilationUnitParseResult parseResult,
+                                               Path parseResultFile) {
+        if (!parseResult.getSourceHash().equals(hashSource(drlxSource))) {
+            return null;
         }
 
-        List<WindowDeclarationIR> windowDeclarations = new ArrayList<>(parseResult.getWindowDeclarationsCount());
-        for (DrlxRuleAstProto.WindowDeclarationParseResult wdPR : parseResult.getWindowDeclarationsList()) {
-            windowDeclarations.add(new WindowDeclarationIR(wdPR.getName(), patternFromProto(wdPR.getPattern())));
+        List<RuleIR> rules = new ArrayList<>(parseResult.getRulesCount());
+        for (DrlxRuleAstProto.RuleParseResult ruleParseResult : parseResult.getRulesList()) {
+            rules.add(ruleFromProto(ruleParseResult, parseResultFile));
         }
 
         return new CompilationUnitIR(parseResult.getPackageName(),
                 parseResult.getUnitName(),
                 List.copyOf(parseResult.getImportsList()),
-                List.copyOf(windowDeclarations),
+                windowDeclarationsFromProto(parseResult),
                 List.copyOf(rules));
     }
 
+    private static RuleIR ruleFromProto(DrlxRuleAstProto.RuleParseResult ruleParseResult, Path parseResultFile) {
+        List<LhsItemIR> lhs = new ArrayList<>(ruleParseResult.getLhsCount());
+        for (DrlxRuleAstProto.LhsItemParseResult itemParseResult : ruleParseResult.getLhsList()) {
+            lhs.add(fromProtoLhs(itemParseResult, parseResultFile));
+        }
+        ConsequenceIR rhs = ruleParseResult.hasRhs()
+                ? new ConsequenceIR(ruleParseResult.getRhs().getBlock())
+                : null;
+
+        List<RuleAnnotationIR> ruleAnnotations = new ArrayList<>(ruleParseResult.getAnnotationsCount());
+        for (DrlxRuleAstProto.RuleAnnotationParseResult annPR : ruleParseResult.getAnnotationsList()) {
+            ruleAnnotations.add(new RuleAnnotationIR(fromProtoKind(annPR.getKind()), annPR.getRawValue()));
+        }
+
+        List<RuleParameterIR> parameters = new ArrayList<>();
+        for (DrlxRuleAstProto.RuleParameterParseResult paramPR : ruleParseResult.getParametersList()) {
+            parameters.add(new RuleParameterIR(paramPR.getTypeName(), paramPR.getParamName()));
+        }
+
+        return new RuleIR(
+                ruleParseResult.getName(),
+                List.copyOf(ruleAnnotations),
+                List.copyOf(parameters),
+                List.copyOf(lhs),
+                rhs);
+    }
+
+    private static List<WindowDeclarationIR> windowDeclarationsFromProto(DrlxRuleAstProto.CompilationUnitParseResult parseResult) {
+        List<WindowDeclarationIR> windowDeclarations = new ArrayList<>(parseResult.getWindowDeclarationsCount());
+        for (DrlxRuleAstProto.WindowDeclarationParseResult wdPR : parseResult.getWindowDeclarationsList()) {
+            windowDeclarations.add(new WindowDeclarationIR(wdPR.getName(), patternFromProto(wdPR.getPattern())));
+        }
+        return List.copyOf(windowDeclarations);
+    }
+
     static LhsItemIR fromProtoLhs(DrlxRuleAstProto.LhsItemParseResult item, Path file) {
         return switch (item.getKindCase()) {
             case PATTERN -> patternFromProto(item.getPattern());
@@ -137,38 +310,79 @@ public final class DrlxRuleAstParseResult {
                         eval.getExpression(),
                         List.copyOf(eval.getReferencedBindingsList()));
             }
+            case MATCH_GUARD -> {
+                DrlxRuleAstProto.MatchGuardParseResult guard = item.getMatchGuard();
+                List<MatchCaseIR> cases = new ArrayList<>(guard.getCasesCount());
+                for (DrlxRuleAstProto.MatchCaseParseResult c : guard.getCasesList()) {
+                    cases.add(new MatchCaseIR(c.getTypeName(), c.getValue(), c.getCondition()));
+                }
+                yield new MatchGuardIR(
+                        guard.getSubject(),
+                        cases,
+                        guard.getCaseIndex(),
+                        guard.getReferencedBindingsList());
+            }
             case ACCUMULATE_PATTERN -> {
                 DrlxRuleAstProto.AccumulatePatternParseResult accPat = item.getAccumulatePattern();
-                LhsItemIR srcIr = fromProtoLhs(accPat.getSource(), file);
-                List<AccumulatorIR> accs = new ArrayList<>(accPat.getAccumulatorsCount());
-                for (DrlxRuleAstProto.AccumulatorParseResult a : accPat.getAccumulatorsList()) {
-                    accs.add(new AccumulatorIR(
-                            a.getResultTypeName(),
-                            a.getResultBindName(),
-                            a.getFunctionName(),
-                            List.copyOf(a.getArgExpressionsList()),
-                            List.copyOf(a.getReferencedBindingsList())));
-                }
-                yield new AccumulatePatternIR(srcIr, List.copyOf(accs));
+                yield new AccumulatePatternIR(fromProtoLhs(accPat.getSource(), file), accumulatorsFromProto(accPat));
             }
             case CUSTOM_ACCUMULATE -> {
                 DrlxRuleAstProto.CustomAccumulateParseResult cap = item.getCustomAccumulate();
-                LhsItemIR srcIr = fromProtoLhs(cap.getSource(), file);
-                List<InitVarIR> initVars = new ArrayList<>(cap.getInitVarsCount());
-                for (DrlxRuleAstProto.InitVarParseResult iv : cap.getInitVarsList()) {
-                    initVars.add(new InitVarIR(iv.getTypeName(), iv.getName(), iv.getInitializer()));
-                }
-                String reverseBlock = cap.getReverseBlock().isEmpty() ? null : cap.getReverseBlock();
-                yield new CustomAccumulateIR(srcIr, initVars,
-                        cap.getActionBlock(), reverseBlock,
+                yield new CustomAccumulateIR(fromProtoLhs(cap.getSource(), file), initVarsFromProto(cap),
+                        cap.getActionBlock(), reverseBlockFromProto(cap),
                         cap.getResultTypeName(), cap.getResultBindName(),
                         cap.getResultExpression(),
                         List.copyOf(cap.getReferencedBindingsList()));
             }
+            case GROUP_BY_ACCUMULATE -> {
+                DrlxRuleAstProto.GroupByAccumulateParseResult groupBy = item.getGroupByAccumulate();
+                DrlxRuleAstProto.AccumulatePatternParseResult accPat = groupBy.getAccumulate();
+                yield new GroupByAccumulateIR(fromProtoLhs(accPat.getSource(), file), accumulatorsFromProto(accPat),
+                        groupBy.getGroupKeyExpression(),
+                        groupBy.getGroupKeyBindName().isEmpty() ? null : groupBy.getGroupKeyBindName(),
+                        List.copyOf(groupBy.getGroupKeyReferencedBindingsList()));
+            }
+            case GROUP_BY_CUSTOM_ACCUMULATE -> {
+                DrlxRuleAstProto.GroupByCustomAccumulateParseResult groupBy = item.getGroupByCustomAccumulate();
+                DrlxRuleAstProto.CustomAccumulateParseResult cap = groupBy.getAccumulate();
+                yield new GroupByCustomAccumulateIR(fromProtoLhs(cap.getSource(), file), initVarsFromProto(cap),
+                        cap.getActionBlock(), reverseBlockFromProto(cap),
+                        cap.getResultTypeName(), cap.getResultBindName(),
+                        cap.getResultExpression(),
+                        List.copyOf(cap.getReferencedBindingsList()),
+                        groupBy.getGroupKeyExpression(),
+                        groupBy.getGroupKeyBindName().isEmpty() ? null : groupBy.getGroupKeyBindName(),
+                        List.copyOf(groupBy.getGroupKeyReferencedBindingsList()));
+            }
             case KIND_NOT_SET -> throw new IllegalStateException("LHS item without payload in " + file);
         };
     }
 
+    private static List<AccumulatorIR> accumulatorsFromProto(DrlxRuleAstProto.AccumulatePatternParseResult accPat) {
+        List<AccumulatorIR> accs = new ArrayList<>(accPat.getAccumulatorsCount());
+        for (DrlxRuleAstProto.AccumulatorParseResult a : accPat.getAccumulatorsList()) {
+            accs.add(new AccumulatorIR(
+                    a.getResultTypeName(),
+                    a.getResultBindName(),
+                    a.getFunctionName(),
+                    List.copyOf(a.getArgExpressionsList()),
+                    List.copyOf(a.getReferencedBindingsList())));
+        }
+        return List.copyOf(accs);
+    }
+
+    private static List<InitVarIR> initVarsFromProto(DrlxRuleAstProto.CustomAccumulateParseResult cap) {
+        List<InitVarIR> initVars = new ArrayList<>(cap.getInitVarsCount());
+        for (DrlxRuleAstProto.InitVarParseResult iv : cap.getInitVarsList()) {
+            initVars.add(new InitVarIR(iv.getTypeName(), iv.getName(), iv.getInitializer()));
+        }
+        return initVars;
+    }
+
+    private static String reverseBlockFromProto(DrlxRuleAstProto.CustomAccumulateParseResult cap) {
+        return cap.getReverseBlock().isEmpty() ? null : cap.getReverseBlock();
+    }
+
     private static PatternIR patternFromProto(DrlxRuleAstProto.PatternParseResult pattern) {
         String castTypeName = pattern.getCastTypeName().isEmpty() ? null : pattern.getCastTypeName();
         String windowType = pattern.getWindowType().isEmpty() ? null : pattern.getWindowType();
@@ -180,6 +394,22 @@ public final class DrlxRuleAstParseResult {
                                 List.copyOf(tc.getParametersList()),
                                 tc.getRightBinding()))
                         .toList();
+        if (pattern.getConditionReferencesCount() != pattern.getConditionsCount()
+                || pattern.getPositionalArgReferencesCount() != pattern.getPositionalArgsCount()) {
+            // recorded before the references were stored: derive them from the source
+            return new PatternIR(
+                    pattern.getTypeName(),
+                    pattern.getBindName(),
+                    pattern.getEntryPoint(),
+                    List.copyOf(pattern.getConditionsList()),
+                    temporalConditions,
+                    castTypeName,
+                    List.copyOf(pattern.getPositionalArgsList()),
+                    pattern.getPassive(),
+                    List.copyOf(pattern.getWatchedPropertiesList()),
+                    windowType,
+                    windowParameter);
+        }
         return new PatternIR(
                 pattern.getTypeName(),
                 pattern.getBindName(),
@@ -191,7 +421,15 @@ public final class DrlxRuleAstParseResult {
                 pattern.getPassive(),
                 List.copyOf(pattern.getWatchedPropertiesList()),
                 windowType,
-                windowParameter);
+                windowParameter,
+                referencesFromProto(pattern.getConditionReferencesList()),
+                referencesFromProto(pattern.getPositionalArgReferencesList()));
+    }
+
+    private static List<List<String>> referencesFromProto(List<DrlxRuleAstProto.ConditionReferencesParseResult> references) {
+        return references.stream()
+                .map(refs -> List.copyOf(refs.getNamesList()))
+                .toList();
     }
 
     private static DrlxRuleAstProto.RuleParseResult toProtoRule(RuleIR rule) {
@@ -231,44 +469,83 @@ public final class DrlxRuleAstParseResult {
                     .setExpression(e.expression());
             e.referencedBindings().forEach(eb::addReferencedBindings);
             builder.setEval(eb);
-        } else if (item instanceof AccumulatePatternIR accPat) {
-            DrlxRuleAstProto.AccumulatePatternParseResult.Builder ab =
-                    DrlxRuleAstProto.AccumulatePatternParseResult.newBuilder()
-                            .setSource(toProtoLhs(accPat.source()));
-            for (AccumulatorIR acc : accPat.accumulators()) {
-                DrlxRuleAstProto.AccumulatorParseResult.Builder accB =
-                        DrlxRuleAstProto.AccumulatorParseResult.newBuilder()
-                                .setResultTypeName(acc.resultTypeName())
-                                .setResultBindName(acc.resultBindName())
-                                .setFunctionName(acc.functionName());
-                acc.argExpressions().forEach(accB::addArgExpressions);
-                acc.referencedBindings().forEach(accB::addReferencedBindings);
-                ab.addAccumulators(accB);
+        } else if (item instanceof MatchGuardIR m) {
+            DrlxRuleAstProto.MatchGuardParseResult.Builder mb = DrlxRuleAstProto.MatchGuardParseResult.newBuilder()
+                    .setSubject(m.subject())
+                    .setCaseIndex(m.caseIndex());
+            for (MatchCaseIR c : m.cases()) {
+                mb.addCases(DrlxRuleAstProto.MatchCaseParseResult.newBuilder()
+                        .setTypeName(c.typeName())
+                        .setValue(c.value())
+                        .setCondition(c.condition()));
             }
-            builder.setAccumulatePattern(ab);
+            m.referencedBindings().forEach(mb::addReferencedBindings);
+            builder.setMatchGuard(mb);
+        } else if (item instanceof AccumulatePatternIR accPat) {
+            builder.setAccumulatePattern(accumulatePatternToProto(accPat.source(), accPat.accumulators()));
         } else if (item instanceof CustomAccumulateIR customAcc) {
-            DrlxRuleAstProto.CustomAccumulateParseResult.Builder cab =
-                    DrlxRuleAstProto.CustomAccumulateParseResult.newBuilder()
-                            .setSource(toProtoLhs(customAcc.source()))
-                            .setActionBlock(customAcc.actionBlock())
-                            .setReverseBlock(customAcc.reverseBlock() != null ? customAcc.reverseBlock() : "")
-                            .setResultTypeName(customAcc.resultTypeName())
-                            .setResultBindName(customAcc.resultBindName())
-                            .setResultExpression(customAcc.resultExpression());
-            for (InitVarIR iv : customAcc.initVars()) {
-                cab.addInitVars(DrlxRuleAstProto.InitVarParseResult.newBuilder()
-                        .setTypeName(iv.typeName())
-                        .setName(iv.name())
-                        .setInitializer(iv.initializer()));
-            }
-            customAcc.referencedBindings().forEach(cab::addReferencedBindings);
-            builder.setCustomAccumulate(cab);
+            builder.setCustomAccumulate(customAccumulateToProto(customAcc.source(), customAcc.initVars(),
+                    customAcc.actionBlock(), customAcc.reverseBlock(), customAcc.resultTypeName(),
+                    customAcc.resultBindName(), customAcc.resultExpression(), customAcc.referencedBindings()));
+        } else if (item instanceof GroupByAccumulateIR groupBy) {
+            builder.setGroupByAccumulate(DrlxRuleAstProto.GroupByAccumulateParseResult.newBuilder()
+                    .setAccumulate(accumulatePatternToProto(groupBy.source(), groupBy.accumulators()))
+                    .setGroupKeyExpression(groupBy.groupKeyExpression())
+                    .setGroupKeyBindName(groupBy.groupKeyBindName() != null ? groupBy.groupKeyBindName() : "")
+                    .addAllGroupKeyReferencedBindings(groupBy.groupKeyReferencedBindings()));
+        } else if (item instanceof GroupByCustomAccumulateIR groupBy) {
+            builder.setGroupByCustomAccumulate(DrlxRuleAstProto.GroupByCustomAccumulateParseResult.newBuilder()
+                    .setAccumulate(customAccumulateToProto(groupBy.source(), groupBy.initVars(),
+                            groupBy.actionBlock(), groupBy.reverseBlock(), groupBy.resultTypeName(),
+                            groupBy.resultBindName(), groupBy.resultExpression(), groupBy.referencedBindings()))
+                    .setGroupKeyExpression(groupBy.groupKeyExpression())
+                    .setGroupKeyBindName(groupBy.groupKeyBindName() != null ? groupBy.groupKeyBindName() : "")
+                    .addAllGroupKeyReferencedBindings(groupBy.groupKeyReferencedBindings()));
         } else {
             throw new IllegalArgumentException("Unsupported LHS item: " + item);
         }
         return builder.build();
     }
 
+    private static DrlxRuleAstProto.AccumulatePatternParseResult accumulatePatternToProto(LhsItemIR source,
+                                                                                         List<AccumulatorIR> accumulators) {
+        DrlxRuleAstProto.AccumulatePatternParseResult.Builder ab =
+                DrlxRuleAstProto.AccumulatePatternParseResult.newBuilder()
+                        .setSource(toProtoLhs(source));
+        for (AccumulatorIR acc : accumulators) {
+            DrlxRuleAstProto.AccumulatorParseResult.Builder accB =
+                    DrlxRuleAstProto.AccumulatorParseResult.newBuilder()
+                            .setResultTypeName(acc.resultTypeName())
+                            .setResultBindName(acc.resultBindName())
+                            .setFunctionName(acc.functionName());
+            acc.argExpressions().forEach(accB::addArgExpressions);
+            acc.referencedBindings().forEach(accB::addReferencedBindings);
+            ab.addAccumulators(accB);
+        }
+        return ab.build();
+    }
+
+    private static DrlxRuleAstProto.CustomAccumulateParseResult customAccumulateToProto(
+            LhsItemIR source, List<InitVarIR> initVars, String actionBlock, String reverseBlock,
+            String resultTypeName, String resultBindName, String resultExpression, List<String> referencedBindings) {
+        DrlxRuleAstProto.CustomAccumulateParseResult.Builder cab =
+                DrlxRuleAstProto.CustomAccumulateParseResult.newBuilder()
+                        .setSource(toProtoLhs(source))
+                        .setActionBlock(actionBlock)
+                        .setReverseBlock(reverseBlock != null ? reverseBlock : "")
+                        .setResultTypeName(resultTypeName)
+                        .setResultBindName(resultBindName)
+                        .setResultExpression(resultExpression);
+        for (InitVarIR iv : initVars) {
+            cab.addInitVars(DrlxRuleAstProto.InitVarParseResult.newBuilder()
+                    .setTypeName(iv.typeName())
+                    .setName(iv.name())
+                    .setInitializer(iv.initializer()));
+        }
+        referencedBindings.forEach(cab::addReferencedBindings);
+        return cab.build();
+    }
+
     private static DrlxRuleAstProto.PatternParseResult patternToProto(PatternIR p) {
         DrlxRuleAstProto.PatternParseResult.Builder pb = DrlxRuleAstProto.PatternParseResult.newBuilder()
                 .setTypeName(p.typeName())
@@ -279,7 +556,15 @@ public final class DrlxRuleAstParseResult {
             pb.setCastTypeName(p.castTypeName());
         }
         p.conditions().forEach(pb::addConditions);
+        for (List<String> references : p.conditionReferences()) {
+            pb.addConditionReferences(DrlxRuleAstProto.ConditionReferencesParseResult.newBuilder()
+                    .addAllNames(references));
+        }
         p.positionalArgs().forEach(pb::addPositionalArgs);
+        for (List<String> references : p.positionalArgReferences()) {
+            pb.addPositionalArgReferences(DrlxRuleAstProto.ConditionReferencesParseResult.newBuilder()
+                    .addAllNames(references));
+        }
         p.watchedProperties().forEach(pb::addWatchedProperties);
         for (DrlxRuleAstModel.TemporalConditionIR tc : p.temporalConditions()) {
             pb.addTemporalConditions(DrlxRuleAstProto.TemporalConditionParseResult.newBuilder()
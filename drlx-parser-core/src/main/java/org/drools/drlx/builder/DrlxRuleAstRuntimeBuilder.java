@@ -6,6 +6,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.TypeVariable;
+import java.math.BigDecimal;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.ArrayList;
@@ -14,11 +15,13 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import java.io.Serializable;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.drools.core.impl.InternalRuleBase;
 import org.drools.core.rule.consequence.InternalMatch;
@@ -73,6 +76,8 @@ import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.EvalIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.GroupElementIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.LhsItemIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchCaseIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchGuardIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleAnnotationIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleIR;
@@ -94,12 +99,28 @@ import org.mvel3.Type;
 public class DrlxRuleAstRuntimeBuilder {
 
     private final DrlxLambdaCompiler lambdaCompiler;
+    // one dispatcher per distinct match, shared by the case rules of one source rule only:
+    // its lambdas are recorded under that rule's counters
+    private final Map<List<Object>, DrlxMatchDispatcher> matchDispatchers = new HashMap<>();
+    private String currentRuleName;
 
     public DrlxRuleAstRuntimeBuilder(DrlxLambdaCompiler lambdaCompiler) {
         this.lambdaCompiler = lambdaCompiler;
     }
 
     public List<KiePackage> build(CompilationUnitIR parseResult) {
+        return build(parseResult, rule -> true, queryName -> null);
+    }
+
+    /**
+     * Builds the rules of {@code parseResult} accepted by {@code toBuild}. Queries are
+     * registered for the whole unit, so a built rule can call a query that is not rebuilt:
+     * {@code existingQueries} supplies the live {@link QueryImpl} of such a query (by rule
+     * name). A skipped query without an existing one is built like any other.
+     */
+    public List<KiePackage> build(CompilationUnitIR parseResult,
+                                  Predicate<String> toBuild,
+                                  Function<String, QueryImpl> existingQueries) {
         KnowledgePackageImpl pkg = new KnowledgePackageImpl(parseResult.packageName());
         pkg.setClassLoader(Thread.currentThread().getContextClassLoader());
 
@@ -145,8 +166,10 @@ public class DrlxRuleAstRuntimeBuilder {
 
             org.mvel3.transpiler.context.Declaration<?>[] declarations =
                     DrlxLambdaCompiler.extractDeclarations(windowType);
-            for (String expression : windowIr.pattern().conditions()) {
-                Constraint constraint = lambdaCompiler.createLambdaConstraint(expression, windowType, declarations);
+            PatternIR windowPatternIr = windowIr.pattern();
+            for (int c = 0; c < windowPatternIr.conditions().size(); c++) {
+                Constraint constraint = lambdaCompiler.createLambdaConstraint(windowPatternIr.conditions().get(c),
+                        windowPatternIr.conditionReferences().get(c), windowType, declarations);
                 windowPattern.addConstraint(constraint);
             }
 
@@ -169,26 +192,25 @@ public class DrlxRuleAstRuntimeBuilder {
 
         Map<String, QueryImpl> queryRegistry = new LinkedHashMap<>();
 
+        // every query is registered before any is built, so calls resolve regardless of order
+        Map<RuleIR, QueryImpl> queriesToBuild = new LinkedHashMap<>();
         for (RuleIR rule : parseResult.rules()) {
             if (!rule.parameters().isEmpty()) {
-                String defaultName = Character.toLowerCase(rule.name().charAt(0)) + rule.name().substring(1);
-                String entryPointName = rule.annotations().stream()
-                        .filter(a -> a.kind() == RuleAnnotationIR.Kind.DATASOURCE)
-                        .map(RuleAnnotationIR::rawValue)
-                        .findFirst()
-                        .orElse(defaultName);
-                QueryImpl query = new QueryImpl(rule.name());
-                queryRegistry.put(entryPointName, query);
-                if (!entryPointName.equals(defaultName)) {
-                    queryRegistry.put(defaultName, query);
+                QueryImpl existing = toBuild.test(rule.name()) ? null : existingQueries.apply(rule.name());
+                QueryImpl query = existing != null ? existing : new QueryImpl(rule.name());
+                queryCallNames(rule).forEach(name -> queryRegistry.put(name, query));
+                if (existing == null) {
+                    queriesToBuild.put(rule, query);
                 }
-                buildQuery(query, rule, pkg.getTypeResolver(), entryPointTypes, unitClass, queryRegistry, windowRegistry);
-                pkg.addRule(query);
             }
         }
+        queriesToBuild.forEach((rule, query) -> {
+            buildQuery(query, rule, pkg.getTypeResolver(), entryPointTypes, unitClass, queryRegistry, windowRegistry);
+            pkg.addRule(query);
+        });
 
         for (RuleIR rule : parseResult.rules()) {
-            if (rule.parameters().isEmpty()) {
+            if (rule.parameters().isEmpty() && toBuild.test(rule.name())) {
                 if (rule.annotations().stream().anyMatch(a -> a.kind() == RuleAnnotationIR.Kind.DATASOURCE)) {
                     throw new RuntimeException(
                             "@DataSource is only allowed on query rules (rules with parameters)"
@@ -205,6 +227,20 @@ public class DrlxRuleAstRuntimeBuilder {
         return out;
     }
 
+    /**
+     * The names a query is called by: its {@code @DataSource} name, or else its rule name
+     * with a lower-case first letter, followed by the latter when they differ.
+     */
+    static List<String> queryCallNames(RuleIR query) {
+        String defaultName = Character.toLowerCase(query.name().charAt(0)) + query.name().substring(1);
+        String entryPointName = query.annotations().stream()
+                .filter(a -> a.kind() == RuleAnnotationIR.Kind.DATASOURCE)
+                .map(RuleAnnotationIR::rawValue)
+                .findFirst()
+                .orElse(defaultName);
+        return entryPointName.equals(defaultName) ? List.of(defaultName) : List.of(entryPointName, defaultName);
+    }
+
     // Register a TypeDeclaration per pattern class so property reactivity
     // (watch list) works at runtime. Mirrors KiePackagesBuilder (executable
     // model): the declaration goes into the class's OWN package, defaults to
@@ -449,6 +485,7 @@ public class DrlxRuleAstRuntimeBuilder {
                                Map<String, QueryImpl> queryRegistry,
                                Map<String, WindowDeclaration> windowRegistry) {
         lambdaCompiler.beginRule(parseResult.name());
+        currentRuleName = parseResult.name();
 
         RuleImpl rule = new RuleImpl(parseResult.name());
         rule.setResource(rule.getResource());
@@ -460,19 +497,22 @@ public class DrlxRuleAstRuntimeBuilder {
         buildLhs(parseResult.lhs(), root, typeResolver, entryPointTypes, unitClass, boundVariables, queryRegistry, null, windowRegistry);
 
         if (parseResult.rhs() != null) {
+            // bind only the globals the block references: fewer evaluator parameters and
+            // no getGlobal() per unused global on every firing
+            DataStoreUpdateRewriter.Rewrite rhs = updateRewriter.rewrite(
+                    parseResult.rhs().block(), dataStoreGlobalNames, globalTypes.keySet());
             Map<String, Type<?>> types = lambdaCompiler.getTypeMap(root);
-            for (Map.Entry<String, java.lang.reflect.Type> e : globalTypes.entrySet()) {
-                Class<?> raw = erasure(e.getValue());
+            for (String name : rhs.referencedGlobals()) {
+                Class<?> raw = erasure(globalTypes.get(name));
                 if (raw != null) {
-                    types.put(e.getKey(), Type.type(raw));
+                    types.put(name, Type.type(raw));
                 }
             }
-            if (!dataStoreGlobalNames.isEmpty()) {
-                types.put("__match__", Type.type(InternalMatch.class));
-                types.put("__ruleBase__", Type.type(InternalRuleBase.class));
+            if (rhs.usesMatch()) {
+                types.put(DrlxLambdaConsequence.MATCH, Type.type(InternalMatch.class));
+                types.put(DrlxLambdaConsequence.RULE_BASE, Type.type(InternalRuleBase.class));
             }
-            String body = updateRewriter.rewrite(parseResult.rhs().block(), dataStoreGlobalNames);
-            rule.setConsequence(lambdaCompiler.createLambdaConsequence(body, types, globalTypes.keySet()));
+            rule.setConsequence(lambdaCompiler.createLambdaConsequence(rhs.body(), types, rhs.referencedGlobals()));
         }
 
         rule.setLhs(root);
@@ -487,6 +527,7 @@ public class DrlxRuleAstRuntimeBuilder {
                             Map<String, QueryImpl> queryRegistry,
                             Map<String, WindowDeclaration> windowRegistry) {
         lambdaCompiler.beginRule(parseResult.name());
+        currentRuleName = parseResult.name();
 
         Pattern prefixPattern = new Pattern(lambdaCompiler.nextPatternId(), 0, 0,
                 ClassObjectType.DroolsQuery_ObjectType, null);
@@ -668,12 +709,15 @@ public class DrlxRuleAstRuntimeBuilder {
 
                     org.mvel3.transpiler.context.Declaration<?>[] declarations =
                             DrlxLambdaCompiler.extractDeclarations(windowPatternClass);
-                    for (String expression : patternIr.conditions()) {
-                        List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(expression, boundVariables);
-                        Constraint constraint = referencedBindings.isEmpty()
-                                ? lambdaCompiler.createLambdaConstraint(expression, windowPatternClass, declarations)
-                                : lambdaCompiler.createBetaLambdaConstraint(expression, windowPatternClass, declarations, referencedBindings);
-                        pattern.addConstraint(constraint);
+                    for (int c = 0; c < patternIr.conditions().size(); c++) {
+                        String expression = patternIr.conditions().get(c);
+                        List<String> names = patternIr.conditionReferences().get(c);
+                        List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(names, boundVariables);
+                        if (referencedBindings.isEmpty()) {
+                            createAlphaConstraints(expression, names, windowPatternClass, declarations, typeResolver).forEach(pattern::addConstraint);
+                        } else {
+                            pattern.addConstraint(createBetaConstraint(expression, names, windowPatternClass, referencedBindings));
+                        }
                     }
 
                     parent.addChild(pattern);
@@ -720,6 +764,8 @@ public class DrlxRuleAstRuntimeBuilder {
                 parent.addChild(ge);
             } else if (item instanceof EvalIR evalIr) {
                 buildEvalCondition(evalIr, parent, boundVariables);
+            } else if (item instanceof MatchGuardIR guardIr) {
+                buildMatchGuard(guardIr, parent, typeResolver, boundVariables);
             } else if (item instanceof AccumulatePatternIR accPat) {
                 buildAccumulatePattern(accPat, parent, typeResolver, entryPointTypes,
                                        unitClass, boundVariables, queryRegistry, currentQuery, windowRegistry);
@@ -1032,18 +1078,8 @@ public class DrlxRuleAstRuntimeBuilder {
             innerAccumulate = new MultiAccumulate(srcElement, new Declaration[0], accs, n + 1);
         }
 
-        DrlxGroupByAccumulate groupByAccumulate;
-        if (multiSource) {
-            DrlxValueExtractor keyExtractor = lambdaCompiler.createValueExtractor(
-                    gbAcc.groupKeyExpression(), sourceScope);
-            groupByAccumulate = new DrlxGroupByAccumulate(innerAccumulate, keyExtractor);
-        } else {
-            Class<?> srcClass = ((ClassObjectType) ((Pattern) srcElement).getObjectType()).getClassType();
-            String srcBindingName = ((Pattern) srcElement).getDeclaration().getIdentifier();
-            DrlxValueExtractor keyExtractor = lambdaCompiler.createValueExtractor(
-                    gbAcc.groupKeyExpression(), srcClass, srcBindingName);
-            groupByAccumulate = new DrlxGroupByAccumulate(innerAccumulate, (Function<Object, Object>) keyExtractor);
-        }
+        DrlxGroupByAccumulate groupByAccumulate = newGroupByAccumulate(
+                innerAccumulate, gbAcc.groupKeyExpression(), srcElement, sourceScope);
 
         ReadAccessor selfReader = new SelfReferenceClassFieldReader(Object[].class);
         Pattern wrap = new Pattern(0, new ClassObjectType(Object[].class));
@@ -1155,24 +1191,17 @@ public class DrlxRuleAstRuntimeBuilder {
         Declaration[] required = new Declaration[0];
         SingleAccumulate innerAccumulate = new SingleAccumulate(srcElement, required, accumulator);
 
-        DrlxGroupByAccumulate groupByAccumulate;
+        Map<String, BoundVariable> keyScope = null;
         if (multiSource) {
-            Map<String, BoundVariable> sourceScope = new java.util.LinkedHashMap<>();
+            keyScope = new java.util.LinkedHashMap<>();
             for (Map.Entry<String, BoundVariable> e : innerScope.entrySet()) {
                 if (!outerScope.containsKey(e.getKey())) {
-                    sourceScope.put(e.getKey(), e.getValue());
+                    keyScope.put(e.getKey(), e.getValue());
                 }
             }
-            DrlxValueExtractor keyExtractor = lambdaCompiler.createValueExtractor(
-                    gbCustom.groupKeyExpression(), sourceScope);
-            groupByAccumulate = new DrlxGroupByAccumulate(innerAccumulate, keyExtractor);
-        } else {
-            Class<?> srcClass = ((ClassObjectType) ((Pattern) srcElement).getObjectType()).getClassType();
-            String srcBindingName = ((Pattern) srcElement).getDeclaration().getIdentifier();
-            DrlxValueExtractor keyExtractor = lambdaCompiler.createValueExtractor(
-                    gbCustom.groupKeyExpression(), srcClass, srcBindingName);
-            groupByAccumulate = new DrlxGroupByAccumulate(innerAccumulate, (Function<Object, Object>) keyExtractor);
         }
+        DrlxGroupByAccumulate groupByAccumulate = newGroupByAccumulate(
+                innerAccumulate, gbCustom.groupKeyExpression(), srcElement, keyScope);
 
         Class<?> resultClass = resolveCustomResultType(gbCustom.resultTypeName(), typeResolver);
         ReadAccessor selfReader = new SelfReferenceClassFieldReader(Object[].class);
@@ -1225,6 +1254,11 @@ public class DrlxRuleAstRuntimeBuilder {
                     + "' requires exactly 1 argument, got " + argCount);
         }
 
+        DrlxPrimitiveAccumulator.Kind kind = DrlxPrimitiveAccumulator.Kind.of(acc.functionName());
+        if (kind == DrlxPrimitiveAccumulator.Kind.COUNT) {
+            return DrlxPrimitiveAccumulator.count(false);
+        }
+
         Function<Object, Object> extractor = null;
         if (argCount == 1 && !resolved.acceptsZeroArgs()) {
             if (srcBindingName == null) {
@@ -1232,8 +1266,19 @@ public class DrlxRuleAstRuntimeBuilder {
                         "accumulate source must have a binding to use expression argument '"
                                 + acc.argExpressions().get(0) + "'");
             }
-            extractor = lambdaCompiler.createValueExtractor(
+            if (kind != null) {
+                java.lang.reflect.Method getter = primitiveNumberGetter(
+                        acc.argExpressions().get(0), Map.of(srcBindingName, srcClass));
+                if (getter != null) {
+                    return DrlxPrimitiveAccumulator.ofProperty(kind, srcBindingName, getter, false);
+                }
+            }
+            DrlxValueExtractor valueExtractor = lambdaCompiler.createValueExtractor(
                     acc.argExpressions().get(0), srcClass, srcBindingName);
+            if (kind == DrlxPrimitiveAccumulator.Kind.SUM || kind == DrlxPrimitiveAccumulator.Kind.AVG) {
+                return DrlxPrimitiveAccumulator.ofExtractor(kind, valueExtractor, false);
+            }
+            extractor = valueExtractor;
         }
 
         return new DrlxLambdaAccumulator(resolved.instance(), extractor);
@@ -1256,15 +1301,120 @@ public class DrlxRuleAstRuntimeBuilder {
                     + "' requires exactly 1 argument, got " + argCount);
         }
 
+        DrlxPrimitiveAccumulator.Kind kind = DrlxPrimitiveAccumulator.Kind.of(acc.functionName());
+        if (kind == DrlxPrimitiveAccumulator.Kind.COUNT) {
+            return DrlxPrimitiveAccumulator.count(true);
+        }
+
         DrlxValueExtractor multiExtractor = null;
         if (argCount == 1 && !resolved.acceptsZeroArgs()) {
+            if (kind != null) {
+                Map<String, Class<?>> bindingTypes = new LinkedHashMap<>();
+                sourceScope.forEach((name, bound) -> bindingTypes.put(name, bound.type()));
+                java.lang.reflect.Method getter = primitiveNumberGetter(acc.argExpressions().get(0), bindingTypes);
+                if (getter != null) {
+                    String binding = DrlxConstraintAnalyzer.bindingProperty(
+                            acc.argExpressions().get(0), bindingTypes.keySet()).orElseThrow().binding();
+                    return DrlxPrimitiveAccumulator.ofProperty(kind, binding, getter, true);
+                }
+            }
             multiExtractor = lambdaCompiler.createValueExtractor(
                     acc.argExpressions().get(0), sourceScope);
+            if (kind == DrlxPrimitiveAccumulator.Kind.SUM || kind == DrlxPrimitiveAccumulator.Kind.AVG) {
+                return DrlxPrimitiveAccumulator.ofExtractor(kind, multiExtractor, true);
+            }
         }
 
         return new DrlxLambdaAccumulator(resolved.instance(), multiExtractor, true);
     }
 
+    /**
+     * groupBy over {@code innerAccumulate}, keyed through getter accessors when the key only
+     * reads properties ({@code binding.property} or a list literal of them), otherwise through
+     * an MVEL value extractor. {@code sourceScope} is {@code null} for a single-pattern source.
+     */
+    private DrlxGroupByAccumulate newGroupByAccumulate(org.drools.base.rule.Accumulate innerAccumulate,
+                                                      String keyExpression,
+                                                      org.drools.base.rule.RuleConditionElement srcElement,
+                                                      Map<String, BoundVariable> sourceScope) {
+        if (sourceScope != null) {
+            Map<String, Class<?>> bindingTypes = new LinkedHashMap<>();
+            sourceScope.forEach((name, bound) -> bindingTypes.put(name, bound.type()));
+            DrlxGroupKeyFunction keyFunction = groupKeyFunction(keyExpression, bindingTypes, true);
+            if (keyFunction != null) {
+                return new DrlxGroupByAccumulate(innerAccumulate, (DrlxGroupByAccumulate.MultiSourceKey) keyFunction);
+            }
+            DrlxValueExtractor keyExtractor = lambdaCompiler.createValueExtractor(keyExpression, sourceScope);
+            return new DrlxGroupByAccumulate(innerAccumulate, keyExtractor::applyPositional);
+        }
+        Class<?> srcClass = ((ClassObjectType) ((Pattern) srcElement).getObjectType()).getClassType();
+        String srcBindingName = ((Pattern) srcElement).getDeclaration().getIdentifier();
+        DrlxGroupKeyFunction keyFunction = groupKeyFunction(keyExpression, Map.of(srcBindingName, srcClass), false);
+        if (keyFunction != null) {
+            return new DrlxGroupByAccumulate(innerAccumulate, (Function<Object, Object>) keyFunction);
+        }
+        DrlxValueExtractor keyExtractor = lambdaCompiler.createValueExtractor(keyExpression, srcClass, srcBindingName);
+        return new DrlxGroupByAccumulate(innerAccumulate, (Function<Object, Object>) keyExtractor);
+    }
+
+    /**
+     * Accessor-based key for a group key made only of {@code binding.property} reads with
+     * a getter; otherwise {@code null}.
+     */
+    private static DrlxGroupKeyFunction groupKeyFunction(String keyExpression, Map<String, Class<?>> bindingTypes,
+                                                         boolean multiSource) {
+        Optional<List<DrlxConstraintAnalyzer.BindingProperty>> reads =
+                DrlxConstraintAnalyzer.bindingProperties(keyExpression, bindingTypes.keySet());
+        if (reads.isEmpty()) {
+            return null;
+        }
+        List<String> bindings = new ArrayList<>();
+        List<java.lang.reflect.Method> getters = new ArrayList<>();
+        for (DrlxConstraintAnalyzer.BindingProperty read : reads.get()) {
+            java.lang.reflect.Method getter = propertyGetter(bindingTypes.get(read.binding()), read.property());
+            if (getter == null) {
+                return null;
+            }
+            bindings.add(read.binding());
+            getters.add(getter);
+        }
+        boolean composite = keyExpression.trim().startsWith("[");
+        return multiSource
+                ? DrlxGroupKeyFunction.multiSource(keyExpression, bindings, getters, composite)
+                : DrlxGroupKeyFunction.singleSource(keyExpression, getters, composite);
+    }
+
+    private static java.lang.reflect.Method propertyGetter(Class<?> type, String property) {
+        if (type == null) {
+            return null;
+        }
+        for (DrlxLambdaBetaConstraint.PropertyExtractor extractor : DrlxLambdaBetaConstraint.propertyExtractors(type)) {
+            if (extractor.name().equals(property)) {
+                return extractor.getter();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The getter read by an accumulate argument of the form {@code binding.property},
+     * when it returns a primitive number other than {@code char}; otherwise {@code null}.
+     */
+    private static java.lang.reflect.Method primitiveNumberGetter(String argExpression, Map<String, Class<?>> bindingTypes) {
+        Optional<DrlxConstraintAnalyzer.BindingProperty> read =
+                DrlxConstraintAnalyzer.bindingProperty(argExpression, bindingTypes.keySet());
+        if (read.isEmpty()) {
+            return null;
+        }
+        java.lang.reflect.Method getter = propertyGetter(bindingTypes.get(read.get().binding()), read.get().property());
+        if (getter == null) {
+            return null;
+        }
+        Class<?> type = getter.getReturnType();
+        boolean primitiveNumber = type.isPrimitive() && type != boolean.class && type != char.class;
+        return primitiveNumber ? getter : null;
+    }
+
     /** Map referenced bindings through the inner scope to a Declaration[] for SingleAccumulate. */
     private static Declaration[] requiredFor(AccumulatorIR acc,
                                              Map<String, BoundVariable> innerScope) {
@@ -1541,6 +1691,14 @@ public class DrlxRuleAstRuntimeBuilder {
         }
     }
 
+    /** Free names of {@code fieldName == (arg)}, where {@code argNames} are those of the positional argument. */
+    private static List<String> positionalNames(String fieldName, List<String> argNames) {
+        List<String> names = new ArrayList<>(argNames.size() + 1);
+        names.add(fieldName);
+        names.addAll(argNames);
+        return names;
+    }
+
     private static boolean isSimpleIdentifier(String s) {
         if (s == null || s.isEmpty()) return false;
         if (!Character.isJavaIdentifierStart(s.charAt(0))) return false;
@@ -1589,6 +1747,68 @@ public class DrlxRuleAstRuntimeBuilder {
         }
     }
 
+    /**
+     * Lower a {@link MatchGuardIR} into an EvalCondition backed by the shared
+     * {@link DrlxMatchDispatcher} of its match or if/else chain. The dispatcher (subject
+     * lambda plus one condition lambda per case) is compiled once, by the first case
+     * rule; later case rules of the same match only add their own guard.
+     */
+    private void buildMatchGuard(MatchGuardIR guardIr,
+                                 GroupElement parent,
+                                 TypeResolver typeResolver,
+                                 Map<String, BoundVariable> boundVariables) {
+        Map<String, BoundVariable> scope = new LinkedHashMap<>();
+        Map<String, Class<?>> scopeTypes = new LinkedHashMap<>();
+        List<Declaration> declarations = new ArrayList<>();
+        for (String name : guardIr.referencedBindings()) {
+            BoundVariable bv = boundVariables.get(name);
+            if (bv != null) {
+                scope.put(name, bv);
+                scopeTypes.put(name, bv.type());
+                declarations.add(bv.declaration());
+            }
+        }
+
+        DrlxMatchDispatcher dispatcher = matchDispatchers.computeIfAbsent(
+                List.of(sourceRuleName(currentRuleName), guardIr.subject(), guardIr.cases(), scopeTypes),
+                key -> createMatchDispatcher(guardIr, typeResolver, scope));
+
+        parent.addChild(new org.drools.base.rule.EvalCondition(
+                dispatcher.guard(guardIr.caseIndex()),
+                declarations.toArray(new Declaration[0])));
+    }
+
+    // name$0..name$n are the case rules desugared from one source rule
+    private static String sourceRuleName(String ruleName) {
+        return ruleName.replaceFirst("\\$\\d+$", "");
+    }
+
+    private DrlxMatchDispatcher createMatchDispatcher(MatchGuardIR guardIr,
+                                                      TypeResolver typeResolver,
+                                                      Map<String, BoundVariable> scope) {
+        List<BoundVariable> referenced = new ArrayList<>(scope.values());
+        DrlxValueExtractor subjectExtractor = guardIr.subject().isEmpty()
+                ? null : lambdaCompiler.createValueExtractor(guardIr.subject(), scope);
+        DrlxMatchDispatcher.Case[] cases = new DrlxMatchDispatcher.Case[guardIr.cases().size()];
+        for (int i = 0; i < cases.length; i++) {
+            MatchCaseIR caseIr = guardIr.cases().get(i);
+            DrlxEvalExpression condition = lambdaCompiler.createEvalExpression(caseIr.condition(), referenced);
+            Class<?> type = null;
+            Object literal = null;
+            if (!caseIr.typeName().isEmpty()) {
+                try {
+                    type = typeResolver.resolveType(caseIr.typeName());
+                } catch (ClassNotFoundException e) {
+                    // left to the condition lambda, which sees the rule's imports
+                }
+            } else {
+                literal = DrlxConstraintAnalyzer.literal(caseIr.value()).orElse(null);
+            }
+            cases[i] = new DrlxMatchDispatcher.Case(condition, type, literal);
+        }
+        return new DrlxMatchDispatcher(guardIr.subject(), subjectExtractor, cases);
+    }
+
     private void buildEvalCondition(EvalIR evalIr,
                                     GroupElement parent,
                                     Map<String, BoundVariable> boundVariables) {
@@ -1685,14 +1905,15 @@ public class DrlxRuleAstRuntimeBuilder {
                 BoundVariable aliased = new BoundVariable(alias, bv.type(), bv.pattern(), aliasDecl);
                 List<BoundVariable> refs = List.of(aliased);
                 innerConstraint = (MutableTypeConstraint) lambdaCompiler.createBetaLambdaConstraint(
-                        synthesized, patternClass, declarations, refs);
+                        synthesized, List.of(fieldName, alias), patternClass, refs);
             } else {
                 // Normal constraint synthesis (no collision)
                 String synthesized = fieldName + " == (" + argExpr + ")";
-                List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(synthesized, boundVariables);
+                List<String> names = positionalNames(fieldName, parseResult.positionalArgReferences().get(i));
+                List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(names, boundVariables);
                 innerConstraint = referencedBindings.isEmpty()
-                        ? lambdaCompiler.createLambdaConstraint(synthesized, patternClass, declarations)
-                        : (MutableTypeConstraint) lambdaCompiler.createBetaLambdaConstraint(synthesized, patternClass, declarations, referencedBindings);
+                        ? lambdaCompiler.createLambdaConstraint(synthesized, names, patternClass, declarations)
+                        : (MutableTypeConstraint) lambdaCompiler.createBetaLambdaConstraint(synthesized, names, patternClass, referencedBindings);
             }
 
             // Wrap with unification: if the query parameter is unbound at runtime,
@@ -1714,11 +1935,13 @@ public class DrlxRuleAstRuntimeBuilder {
         }
 
         // Add regular conditions (non-positional)
-        for (String expression : parseResult.conditions()) {
-            List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(expression, boundVariables);
+        for (int c = 0; c < parseResult.conditions().size(); c++) {
+            String expression = parseResult.conditions().get(c);
+            List<String> names = parseResult.conditionReferences().get(c);
+            List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(names, boundVariables);
             Constraint constraint = referencedBindings.isEmpty()
-                    ? lambdaCompiler.createLambdaConstraint(expression, patternClass, declarations)
-                    : lambdaCompiler.createBetaLambdaConstraint(expression, patternClass, declarations, referencedBindings);
+                    ? lambdaCompiler.createLambdaConstraint(expression, names, patternClass, declarations)
+                    : lambdaCompiler.createBetaLambdaConstraint(expression, names, patternClass, referencedBindings);
             pattern.addConstraint(constraint);
         }
 
@@ -1757,19 +1980,24 @@ public class DrlxRuleAstRuntimeBuilder {
             }
 
             String synthesized = fieldName + " == (" + argExpr + ")";
-            List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(synthesized, boundVariables);
-            Constraint constraint = referencedBindings.isEmpty()
-                    ? lambdaCompiler.createLambdaConstraint(synthesized, patternClass, declarations)
-                    : lambdaCompiler.createBetaLambdaConstraint(synthesized, patternClass, declarations, referencedBindings);
-            pattern.addConstraint(constraint);
+            List<String> names = positionalNames(fieldName, parseResult.positionalArgReferences().get(i));
+            List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(names, boundVariables);
+            if (referencedBindings.isEmpty()) {
+                createAlphaConstraints(synthesized, names, patternClass, declarations, typeResolver).forEach(pattern::addConstraint);
+            } else {
+                pattern.addConstraint(createBetaConstraint(synthesized, names, patternClass, referencedBindings));
+            }
         }
 
-        for (String expression : parseResult.conditions()) {
-            List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(expression, boundVariables);
-            Constraint constraint = referencedBindings.isEmpty()
-                    ? lambdaCompiler.createLambdaConstraint(expression, patternClass, declarations)
-                    : lambdaCompiler.createBetaLambdaConstraint(expression, patternClass, declarations, referencedBindings);
-            pattern.addConstraint(constraint);
+        for (int c = 0; c < parseResult.conditions().size(); c++) {
+            String expression = parseResult.conditions().get(c);
+            List<String> names = parseResult.conditionReferences().get(c);
+            List<BoundVariable> referencedBindings = lambdaCompiler.findReferencedBindings(names, boundVariables);
+            if (referencedBindings.isEmpty()) {
+                createAlphaConstraints(expression, names, patternClass, declarations, typeResolver).forEach(pattern::addConstraint);
+            } else {
+                pattern.addConstraint(createBetaConstraint(expression, names, patternClass, referencedBindings));
+            }
         }
 
         for (DrlxRuleAstModel.TemporalConditionIR tc : parseResult.temporalConditions()) {
@@ -1814,6 +2042,263 @@ public class DrlxRuleAstRuntimeBuilder {
         return pattern;
     }
 
+    /**
+     * Creates the alpha constraints for a condition without binding references. A single
+     * property compared with a literal ({@code status == "OPEN"}, {@code age > 18}) becomes a
+     * lambda-free {@link DrlxIndexedAlphaConstraint} that Drools can hash, range-index and
+     * share across rules. A {@code &&} chain of such comparisons (banding conditions like
+     * {@code age >= 18 && age < 25}) is split into one indexed constraint per operand.
+     * An equality with a constant object ({@code address == new Address("Paris")}) is indexed
+     * too, on the object instantiated once here. Anything else is a single lambda.
+     * Literal arithmetic and concatenation are folded first.
+     */
+    private List<Constraint> createAlphaConstraints(String condition, List<String> names, Class<?> patternClass,
+                                                    org.mvel3.transpiler.context.Declaration<?>[] declarations,
+                                                    TypeResolver typeResolver) {
+        String expression = DrlxConstantFolder.fold(condition);
+        List<Constraint> indexed = DrlxConstraintAnalyzer.literalComparisons(expression)
+                .map(comparisons -> createLiteralConstraints(patternClass, comparisons, typeResolver))
+                .orElse(null);
+        return indexed != null ? indexed : List.of(lambdaCompiler.createLambdaConstraint(expression, names, patternClass, declarations));
+    }
+
+    private static List<Constraint> createLiteralConstraints(Class<?> patternClass,
+                                                             List<DrlxConstraintAnalyzer.LiteralComparison> comparisons,
+                                                             TypeResolver typeResolver) {
+        List<Constraint> constraints = new ArrayList<>(comparisons.size());
+        for (DrlxConstraintAnalyzer.LiteralComparison cmp : comparisons) {
+            Constraint constraint = createLiteralConstraint(patternClass, cmp, typeResolver);
+            if (constraint == null) {
+                return null;
+            }
+            constraints.add(constraint);
+        }
+        return constraints;
+    }
+
+    private static Constraint createLiteralConstraint(Class<?> patternClass, DrlxConstraintAnalyzer.LiteralComparison cmp,
+                                                     TypeResolver typeResolver) {
+        DrlxLambdaBetaConstraint.PropertyExtractor[] properties = DrlxLambdaBetaConstraint.propertyExtractors(patternClass);
+        for (int i = 0; i < properties.length; i++) {
+            if (!properties[i].name().equals(cmp.property())) {
+                continue;
+            }
+            java.lang.reflect.Method getter = properties[i].getter();
+            Object value = cmp.literal() instanceof DrlxConstraintAnalyzer.ConstantCreation creation
+                    ? constantObject(creation, getter.getReturnType(), typeResolver)
+                    : coerceLiteral(cmp.literal(), getter.getReturnType(), cmp.operator());
+            if (value == null) {
+                return null;
+            }
+            // The introspection position is the field index Drools keys alpha hashing on
+            return new DrlxIndexedAlphaConstraint(cmp.expression(), cmp.property(),
+                    new DrlxBeanFieldReader(getter, getter.getReturnType(), i), cmp.operator(), value);
+        }
+        return null;
+    }
+
+    /**
+     * Instantiates a constant {@code new T(literals)} compared with a property of type
+     * {@code fieldType}, or returns {@code null} (keeping the lambda) when the type or a
+     * single matching public constructor cannot be resolved, the constructor throws, or
+     * the object is not a {@code fieldType}.
+     */
+    private static Object constantObject(DrlxConstraintAnalyzer.ConstantCreation creation, Class<?> fieldType,
+                                         TypeResolver typeResolver) {
+        Object value = instantiate(creation, typeResolver);
+        return value != null && boxed(fieldType).isInstance(value) ? value : null;
+    }
+
+    private static Object instantiate(DrlxConstraintAnalyzer.ConstantCreation creation, TypeResolver typeResolver) {
+        Class<?> type;
+        try {
+            type = typeResolver.resolveType(creation.typeName());
+        } catch (ClassNotFoundException | RuntimeException e) {
+            return null;
+        }
+        Object[] arguments = new Object[creation.arguments().size()];
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = creation.arguments().get(i);
+            arguments[i] = argument instanceof DrlxConstraintAnalyzer.ConstantCreation nested
+                    ? instantiate(nested, typeResolver)
+                    : argument;
+            if (arguments[i] == null) {
+                return null;
+            }
+        }
+        java.lang.reflect.Constructor<?> match = null;
+        for (java.lang.reflect.Constructor<?> constructor : type.getConstructors()) {
+            if (accepts(constructor.getParameterTypes(), arguments)) {
+                if (match != null) {
+                    return null; // overloaded: leave the choice to the compiler
+                }
+                match = constructor;
+            }
+        }
+        if (match == null || java.lang.reflect.Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        Class<?>[] parameterTypes = match.getParameterTypes();
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = widen(arguments[i], parameterTypes[i]);
+        }
+        try {
+            return match.newInstance(arguments);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean accepts(Class<?>[] parameterTypes, Object[] arguments) {
+        if (parameterTypes.length != arguments.length) {
+            return false;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            if (widen(arguments[i], parameterTypes[i]) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The argument as passed to a parameter of {@code parameterType}, with the
+     * widening Java applies to a literal, or {@code null} when it does not fit.
+     */
+    private static Object widen(Object argument, Class<?> parameterType) {
+        Class<?> boxed = boxed(parameterType);
+        if (boxed.isInstance(argument)) {
+            return argument;
+        }
+        if (argument instanceof Integer i && boxed == Long.class) {
+            return i.longValue();
+        }
+        if ((argument instanceof Integer || argument instanceof Long) && boxed == Double.class) {
+            return ((Number) argument).doubleValue();
+        }
+        return null;
+    }
+
+    /**
+     * Converts a literal to the boxed property type, or returns {@code null} when the
+     * comparison has to keep MVEL semantics (mixed types, out-of-range values, floating
+     * point equality, relational operators on non-numeric properties).
+     */
+    private static Object coerceLiteral(Object literal, Class<?> fieldType,
+                                        org.drools.base.util.index.ConstraintTypeOperator operator) {
+        Class<?> boxed = boxed(fieldType);
+        boolean equality = operator == org.drools.base.util.index.ConstraintTypeOperator.EQUAL;
+        if (literal instanceof Integer || literal instanceof Long) {
+            long v = ((Number) literal).longValue();
+            if (boxed == Integer.class && v == (int) v) {
+                return (int) v;
+            }
+            if (boxed == Long.class) {
+                return v;
+            }
+            if (boxed == Short.class && v == (short) v) {
+                return (short) v;
+            }
+            if (boxed == Byte.class && v == (byte) v) {
+                return (byte) v;
+            }
+            if (boxed == Double.class && !equality) {
+                return (double) v;
+            }
+            return null;
+        }
+        if (literal instanceof Double d) {
+            return boxed == Double.class && !equality ? d : null;
+        }
+        if (!equality) {
+            return null;
+        }
+        return boxed == literal.getClass() ? literal : null;
+    }
+
+    /**
+     * Creates the beta constraint for a condition referencing earlier bindings. An equality
+     * join on same-typed values ({@code prop == p1.prop}, {@code prop == p1}) becomes a
+     * hash-indexable {@link DrlxIndexedBetaConstraint}; anything else is a lambda.
+     */
+    private Constraint createBetaConstraint(String condition, List<String> names, Class<?> patternClass,
+                                            List<BoundVariable> referencedBindings) {
+        String expression = DrlxConstantFolder.fold(condition);
+        if (referencedBindings.size() == 1) {
+            BoundVariable bv = referencedBindings.get(0);
+            Constraint indexed = DrlxConstraintAnalyzer.equalityJoin(expression, Set.of(bv.name()))
+                    .map(join -> createIndexedJoin(expression, patternClass, bv, join))
+                    .orElse(null);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        return lambdaCompiler.createBetaLambdaConstraint(expression, names, patternClass, referencedBindings);
+    }
+
+    private static Constraint createIndexedJoin(String expression, Class<?> patternClass, BoundVariable bv,
+                                                DrlxConstraintAnalyzer.EqualityJoin join) {
+        java.lang.reflect.Method rightGetter = findGetterOrNull(patternClass, join.property());
+        if (rightGetter == null || bv.declaration() == null) {
+            return null;
+        }
+        Declaration leftDecl;
+        Class<?> leftType;
+        if (join.bindingProperty() == null) {
+            leftDecl = bv.declaration();
+            leftType = bv.type();
+        } else {
+            // The joined value must come from the referenced fact itself, so only
+            // self-reference bindings qualify (not query params or accumulate results).
+            if (bv.pattern() == null || !bv.declaration().getExtractor().isSelfReference()) {
+                return null;
+            }
+            java.lang.reflect.Method leftGetter = findGetterOrNull(bv.type(), join.bindingProperty());
+            if (leftGetter == null) {
+                return null;
+            }
+            leftType = leftGetter.getReturnType();
+            // Implicit declaration: reads the property from the bound fact but is not added to
+            // the pattern, so it stays out of consequence signatures and match declarations.
+            leftDecl = new Declaration("__idx_" + bv.name() + "_" + join.bindingProperty(),
+                    new DrlxBeanFieldReader(leftGetter, leftType), bv.pattern());
+        }
+        Class<?> rightType = rightGetter.getReturnType();
+        if (!isHashJoinable(rightType, leftType)) {
+            return null;
+        }
+        return new DrlxIndexedBetaConstraint(expression, new DrlxBeanFieldReader(rightGetter, rightType), leftDecl);
+    }
+
+    /**
+     * Both sides must box to the same type so {@code equals}/{@code hashCode} agree with
+     * MVEL's {@code ==}. Floating point is excluded ({@code NaN}, {@code -0.0}), and so is
+     * {@code BigDecimal}, whose {@code equals} also compares the scale ({@code 1.0} vs {@code 1.00}).
+     */
+    private static boolean isHashJoinable(Class<?> rightType, Class<?> leftType) {
+        Class<?> boxed = boxed(rightType);
+        return boxed == boxed(leftType)
+                && boxed != Double.class
+                && boxed != Float.class
+                && boxed != BigDecimal.class
+                && !boxed.isArray();
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return java.lang.invoke.MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static java.lang.reflect.Method findGetterOrNull(Class<?> clazz, String fieldName) {
+        try {
+            return findGetterForField(clazz, fieldName);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     private static void applyAnnotations(RuleImpl rule, List<RuleAnnotationIR> annotations) {
         for (RuleAnnotationIR ann : annotations) {
             switch (ann.kind()) {
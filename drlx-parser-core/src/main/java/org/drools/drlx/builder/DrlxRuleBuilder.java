@@ -2,8 +2,10 @@ package org.drools.drlx.builder;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CharStream;
@@ -12,6 +14,8 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.drools.base.RuleBase;
+import org.drools.base.definitions.rule.impl.QueryImpl;
+import org.drools.core.impl.InternalRuleBase;
 import org.drools.core.impl.RuleBaseFactory;
 import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
 import org.drools.drlx.parser.DrlxLexer;
@@ -21,7 +25,6 @@ import org.kie.api.KieBase;
 import org.kie.api.KieBaseConfiguration;
 import org.kie.api.definition.KiePackage;
 import org.mvel3.ClassManager;
-import org.mvel3.MVELBatchCompiler;
 import org.mvel3.lambdaextractor.LambdaRuntime;
 
 /**
@@ -66,14 +69,17 @@ public class DrlxRuleBuilder {
     /**
      * Pre-builds DRLX source: compiles all lambdas and records metadata for later reuse.
      * Saves metadata to the given output directory; may additionally persist a proto
-     * cache of the RuleAST depending on the active cache strategy.
+     * cache of the RuleAST depending on the active cache strategy. With
+     * {@link DrlxLambdaCache#PROPERTY} set, lambdas compiled by earlier pre-builds are
+     * taken from that cache instead of being compiled again.
      */
     public DrlxLambdaMetadata preBuild(String drlxSource, Path outputDir) throws IOException {
         CompilationUnitIR ast = parseToRuleAst(drlxSource);
         persistBuildCache(drlxSource, ast, outputDir);
 
-        MVELBatchCompiler batchCompiler = new MVELBatchCompiler(new ClassManager(), outputDir);
+        DrlxBatchCompiler batchCompiler = new DrlxBatchCompiler(new ClassManager(), outputDir);
         DrlxPreBuildLambdaCompiler preBuildCompiler = new DrlxPreBuildLambdaCompiler(batchCompiler);
+        preBuildCompiler.setLambdaCache(DrlxLambdaCache.fromProperty());
 
         DrlxRuleAstRuntimeBuilder builder = new DrlxRuleAstRuntimeBuilder(preBuildCompiler);
         builder.build(ast);
@@ -81,7 +87,11 @@ public class DrlxRuleBuilder {
         preBuildCompiler.compileBatch(Thread.currentThread().getContextClassLoader());
 
         DrlxLambdaMetadata metadata = preBuildCompiler.getMetadata();
-        metadata.save(outputDir);
+        if (DrlxBuildCacheStrategy.current() == DrlxBuildCacheStrategy.ARCHIVE) {
+            DrlxBuildArchive.save(drlxSource, ast, metadata, outputDir);
+        } else {
+            metadata.save(outputDir);
+        }
         return metadata;
     }
 
@@ -95,12 +105,16 @@ public class DrlxRuleBuilder {
     /**
      * Builds a KieBase using pre-compiled lambda metadata and an optional cached
      * build artifact directory. When a RuleAST proto cache is available the ANTLR
-     * parse step is skipped; otherwise the source is parsed freshly.
+     * parse step is skipped; otherwise the source is parsed freshly. If the source
+     * was edited since the pre-build, only the changed rules are parsed and their
+     * lambdas compiled; the other rules keep their cached AST and pre-built lambdas.
      */
     public KieBase build(String drlxSource, DrlxLambdaMetadata metadata, Path cacheDir) {
-        CompilationUnitIR ast = loadAstFromCache(drlxSource, cacheDir)
-                .orElseGet(() -> parseToRuleAst(drlxSource));
-        return buildKieBaseWithMetadata(ast, metadata);
+        Optional<DrlxRuleAstParseResult.IncrementalLoad> cached = loadAstFromCache(drlxSource, cacheDir);
+        if (cached.isEmpty()) {
+            return buildKieBaseWithMetadata(parseToRuleAst(drlxSource), metadata, Set.of());
+        }
+        return buildKieBaseWithMetadata(cached.get().ast(), metadata, cached.get().reparsedRules());
     }
 
     /**
@@ -111,6 +125,64 @@ public class DrlxRuleBuilder {
         return build(drlxSource, metadata, metadataFile.getParent());
     }
 
+    /**
+     * Builds a KieBase from a {@link DrlxBuildArchive}. The archived RuleAST is used when it
+     * matches the source; lambda classes are defined from the archived bytes, on first
+     * use when {@link DrlxLambdaLoadMode#LAZY} is set (the archive is then memory-mapped).
+     */
+    public KieBase buildFromArchive(String drlxSource, Path archiveFile) throws IOException {
+        DrlxBuildArchive archive = DrlxLambdaLoadMode.current() == DrlxLambdaLoadMode.LAZY
+                ? DrlxBuildArchive.map(archiveFile)
+                : DrlxBuildArchive.load(archiveFile);
+        CompilationUnitIR ast = Optional.ofNullable(archive.ruleAst(drlxSource))
+                .orElseGet(() -> parseToRuleAst(drlxSource));
+        return buildKieBaseWithMetadata(ast, archive.metadata(), Set.of());
+    }
+
+    /**
+     * Updates a live KieBase built from {@code previousSource} to {@code drlxSource},
+     * rule by rule (see {@link #update(KieBase, CompilationUnitIR, CompilationUnitIR)}).
+     */
+    public DrlxRuleDelta update(KieBase kieBase, String previousSource, String drlxSource) {
+        return update(kieBase, parseToRuleAst(previousSource), parseToRuleAst(drlxSource));
+    }
+
+    /**
+     * Updates a live KieBase built from {@code previous} to {@code next} in place. Only the
+     * lambdas of added and changed rules are compiled (a rule calling a rebuilt query counts
+     * as changed, see {@link DrlxRuleDelta}); removed and changed rules are then
+     * removed from the KieBase and the new versions added. Unchanged rules keep their
+     * {@code RuleImpl} and network nodes. Nothing is applied when the compilation fails.
+     */
+    public DrlxRuleDelta update(KieBase kieBase, CompilationUnitIR previous, CompilationUnitIR next) {
+        DrlxRuleDelta delta = DrlxRuleDelta.between(previous, next);
+        if (delta.isEmpty()) {
+            return delta;
+        }
+
+        Set<String> toBuild = new HashSet<>(delta.added());
+        toBuild.addAll(delta.changed());
+        List<KiePackage> kiePackages = List.of();
+        if (!toBuild.isEmpty()) {
+            DrlxLambdaCompiler lambdaCompiler = newLambdaCompiler();
+            // the whole unit, so calls to queries that are not rebuilt resolve to the live ones
+            kiePackages = new DrlxRuleAstRuntimeBuilder(lambdaCompiler).build(next, toBuild::contains,
+                    queryName -> kieBase.getRule(next.packageName(), queryName) instanceof QueryImpl query ? query : null);
+            lambdaCompiler.compileBatch(Thread.currentThread().getContextClassLoader());
+        }
+
+        for (String ruleName : delta.changed()) {
+            kieBase.removeRule(previous.packageName(), ruleName);
+        }
+        for (String ruleName : delta.removed()) {
+            kieBase.removeRule(previous.packageName(), ruleName);
+        }
+        if (!kiePackages.isEmpty()) {
+            ((InternalRuleBase) kieBase).addPackages(kiePackages);
+        }
+        return delta;
+    }
+
     /**
      * Parses DRLX source into List&lt;KiePackage&gt; with batch lambda compilation.
      */
@@ -125,9 +197,10 @@ public class DrlxRuleBuilder {
         return kiePackages;
     }
 
-    private KieBase buildKieBaseWithMetadata(CompilationUnitIR ast, DrlxLambdaMetadata metadata) {
+    private KieBase buildKieBaseWithMetadata(CompilationUnitIR ast, DrlxLambdaMetadata metadata, Set<String> recompiledRules) {
         DrlxLambdaCompiler lambdaCompiler = newLambdaCompiler();
         lambdaCompiler.setPreBuildMetadata(metadata);
+        lambdaCompiler.setRecompiledRules(recompiledRules);
         DrlxRuleAstRuntimeBuilder builder = new DrlxRuleAstRuntimeBuilder(lambdaCompiler);
         List<KiePackage> packages = builder.build(ast);
         lambdaCompiler.compileBatch(Thread.currentThread().getContextClassLoader());
@@ -136,7 +209,7 @@ public class DrlxRuleBuilder {
 
     private static DrlxLambdaCompiler newLambdaCompiler() {
         Path persistDir = LambdaRuntime.isPersistenceEnabled() ? LambdaRuntime.defaultPersistencePath() : null;
-        MVELBatchCompiler batchCompiler = new MVELBatchCompiler(new ClassManager(), persistDir);
+        DrlxBatchCompiler batchCompiler = new DrlxBatchCompiler(new ClassManager(), persistDir);
         return new DrlxLambdaCompiler(batchCompiler);
     }
 
@@ -167,21 +240,22 @@ public class DrlxRuleBuilder {
 
     private void persistBuildCache(String drlxSource, CompilationUnitIR ast, Path outputDir) throws IOException {
         switch (DrlxBuildCacheStrategy.current()) {
-            case NONE -> {
+            case NONE, ARCHIVE -> {
+                // ARCHIVE embeds the RuleAST in the archive written after lambda compilation
             }
             case RULE_AST -> DrlxRuleAstParseResult.save(drlxSource, ast, outputDir);
         }
     }
 
-    private Optional<CompilationUnitIR> loadAstFromCache(String drlxSource, Path cacheDir) {
+    private Optional<DrlxRuleAstParseResult.IncrementalLoad> loadAstFromCache(String drlxSource, Path cacheDir) {
         if (cacheDir == null) {
             return Optional.empty();
         }
         try {
             return switch (DrlxBuildCacheStrategy.current()) {
-                case NONE -> Optional.empty();
-                case RULE_AST -> Optional.ofNullable(
-                        DrlxRuleAstParseResult.load(drlxSource, DrlxRuleAstParseResult.parseResultFilePath(cacheDir)));
+                case NONE, ARCHIVE -> Optional.empty();
+                case RULE_AST -> Optional.ofNullable(DrlxRuleAstParseResult.loadIncremental(drlxSource,
+                        DrlxRuleAstParseResult.parseResultFilePath(cacheDir), DrlxRuleBuilder::parseToRuleAst));
             };
         } catch (IOException e) {
             throw new RuntimeException("Failed to load DRLX build cache from " + cacheDir, e);
@@ -0,0 +1,124 @@
+package org.drools.drlx.builder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.drools.drlx.builder.DrlxRuleAstModel.AccumulatePatternIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.CustomAccumulateIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.GroupByAccumulateIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.GroupByCustomAccumulateIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.GroupElementIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.LhsItemIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.RuleIR;
+
+/**
+ * Rule-level difference between two versions of a compilation unit, by rule name, in
+ * source order. A rule present in both versions is changed when its {@link RuleIR}
+ * differs. When the unit header differs (package, unit, imports or windows), every rule
+ * present in both counts as changed, because its build depends on the header. A rule
+ * that calls an added, changed or removed query also counts as changed, because its
+ * query element is bound to the query it was built against.
+ *
+ * <p>{@link DrlxRuleBuilder#update} applies a delta to a live KieBase.
+ */
+public record DrlxRuleDelta(List<String> added, List<String> changed, List<String> removed) {
+
+    public DrlxRuleDelta {
+        added = List.copyOf(added);
+        changed = List.copyOf(changed);
+        removed = List.copyOf(removed);
+    }
+
+    public static DrlxRuleDelta between(CompilationUnitIR previous, CompilationUnitIR next) {
+        boolean sameHeader = previous.packageName().equals(next.packageName())
+                && Objects.equals(previous.unitName(), next.unitName())
+                && previous.imports().equals(next.imports())
+                && previous.windowDeclarations().equals(next.windowDeclarations());
+
+        Map<String, RuleIR> previousRules = new LinkedHashMap<>();
+        previous.rules().forEach(rule -> previousRules.put(rule.name(), rule));
+
+        List<String> added = new ArrayList<>();
+        Set<String> changed = new LinkedHashSet<>();
+        for (RuleIR rule : next.rules()) {
+            RuleIR old = previousRules.remove(rule.name());
+            if (old == null) {
+                added.add(rule.name());
+            } else if (!sameHeader || !old.equals(rule)) {
+                changed.add(rule.name());
+            }
+        }
+        List<String> removed = new ArrayList<>(previousRules.keySet());
+
+        // callers of a rebuilt query are rebuilt too, transitively through queries calling queries
+        Set<String> rebuilt = new HashSet<>(added);
+        rebuilt.addAll(changed);
+        rebuilt.addAll(removed);
+        Set<String> rebuiltQueryNames = new HashSet<>();
+        for (CompilationUnitIR unit : List.of(previous, next)) {
+            for (RuleIR rule : unit.rules()) {
+                if (rebuilt.contains(rule.name()) && !rule.parameters().isEmpty()) {
+                    rebuiltQueryNames.addAll(DrlxRuleAstRuntimeBuilder.queryCallNames(rule));
+                }
+            }
+        }
+        boolean grown = !rebuiltQueryNames.isEmpty();
+        while (grown) {
+            grown = false;
+            for (RuleIR rule : next.rules()) {
+                if (!rebuilt.contains(rule.name()) && callsAny(rule.lhs(), rebuiltQueryNames)) {
+                    rebuilt.add(rule.name());
+                    changed.add(rule.name());
+                    if (!rule.parameters().isEmpty()) {
+                        rebuiltQueryNames.addAll(DrlxRuleAstRuntimeBuilder.queryCallNames(rule));
+                        grown = true;
+                    }
+                }
+            }
+        }
+
+        List<String> changedInSourceOrder = next.rules().stream()
+                .map(RuleIR::name)
+                .filter(changed::contains)
+                .toList();
+        return new DrlxRuleDelta(added, changedInSourceOrder, removed);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    private static boolean callsAny(List<LhsItemIR> items, Set<String> queryNames) {
+        for (LhsItemIR item : items) {
+            if (callsAny(item, queryNames)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean callsAny(LhsItemIR item, Set<String> queryNames) {
+        if (item instanceof PatternIR pattern) {
+            return queryNames.contains(pattern.entryPoint());
+        } else if (item instanceof GroupElementIR group) {
+            return callsAny(group.children(), queryNames);
+        } else if (item instanceof AccumulatePatternIR acc) {
+            return callsAny(acc.source(), queryNames);
+        } else if (item instanceof CustomAccumulateIR acc) {
+            return callsAny(acc.source(), queryNames);
+        } else if (item instanceof GroupByAccumulateIR acc) {
+            return callsAny(acc.source(), queryNames);
+        } else if (item instanceof GroupByCustomAccumulateIR acc) {
+            return callsAny(acc.source(), queryNames);
+        }
+        return false;
+    }
+}
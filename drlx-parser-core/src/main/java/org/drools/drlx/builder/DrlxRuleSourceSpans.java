@@ -0,0 +1,149 @@
+package org.drools.drlx.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.drools.drlx.parser.DrlxLexer;
+
+/**
+ * A DRLX compilation unit split, by the lexer alone, into its header (package, imports,
+ * {@code unit} and window declarations) and the source span of each rule, annotations
+ * included. Used to key the RuleAST cache per rule without parsing the source.
+ *
+ * <p>A rule span starts after the {@code ;} or {@code }} that ends the previous top-level
+ * declaration and ends at the brace closing the rule body. {@link #of} returns
+ * {@code null} for source it cannot split that way (lexer errors, unbalanced braces,
+ * anything but rules after the first rule); callers then parse the whole source.
+ */
+record DrlxRuleSourceSpans(String header, List<RuleSpan> rules) {
+
+    /** {@code text} is the source of rule {@code name}, from its first annotation to its closing brace. */
+    record RuleSpan(String name, String text) {
+
+        /** Whether {@code ruleName} is this rule or one of the {@code name$i} rules a match or if/else desugars it into. */
+        boolean produced(String ruleName) {
+            if (ruleName.equals(name)) {
+                return true;
+            }
+            if (ruleName.length() <= name.length() + 1 || !ruleName.startsWith(name) || ruleName.charAt(name.length()) != '$') {
+                return false;
+            }
+            for (int i = name.length() + 1; i < ruleName.length(); i++) {
+                if (!Character.isDigit(ruleName.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    DrlxRuleSourceSpans {
+        rules = List.copyOf(rules);
+    }
+
+    static DrlxRuleSourceSpans of(String source) {
+        DrlxLexer lexer = new DrlxLexer(CharStreams.fromString(source));
+        boolean[] lexerError = new boolean[1];
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line,
+                                    int charPositionInLine, String msg, RecognitionException e) {
+                lexerError[0] = true;
+            }
+        });
+        List<Token> tokens = new ArrayList<>();
+        for (Token token : lexer.getAllTokens()) {
+            if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+                tokens.add(token);
+            }
+        }
+        if (lexerError[0]) {
+            return null;
+        }
+
+        String header = null;
+        List<RuleSpan> rules = new ArrayList<>();
+        int depth = 0;
+        int declarationStart = 0;   // first token of the current top-level declaration
+        int ruleStart = -1;         // first token of the current rule, -1 outside rules
+        String ruleName = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            switch (token.getType()) {
+                case DrlxLexer.LBRACE -> depth++;
+                case DrlxLexer.RBRACE -> {
+                    if (--depth < 0) {
+                        return null;
+                    }
+                    if (depth == 0) {
+                        if (ruleStart >= 0) {
+                            rules.add(new RuleSpan(ruleName, source.substring(
+                                    tokens.get(ruleStart).getStartIndex(), token.getStopIndex() + 1)));
+                            ruleStart = -1;
+                        } else if (header != null) {
+                            return null; // a non-rule declaration after the first rule
+                        }
+                        declarationStart = i + 1;
+                    }
+                }
+                case DrlxLexer.SEMI -> {
+                    if (depth == 0 && ruleStart < 0) {
+                        if (header != null) {
+                            return null;
+                        }
+                        declarationStart = i + 1;
+                    }
+                }
+                case DrlxLexer.RULE -> {
+                    if (depth == 0 && ruleStart < 0 && startsRule(tokens, i)) {
+                        if (header == null) {
+                            header = declarationStart == 0 ? ""
+                                    : source.substring(0, tokens.get(declarationStart - 1).getStopIndex() + 1);
+                        }
+                        ruleStart = declarationStart;
+                        ruleName = tokens.get(i + 1).getText();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        if (depth != 0 || ruleStart >= 0) {
+            return null;
+        }
+        if (header == null) {
+            return new DrlxRuleSourceSpans(source, List.of());
+        }
+        if (declarationStart != tokens.size()) {
+            return null; // trailing tokens after the last rule
+        }
+        return new DrlxRuleSourceSpans(header, rules);
+    }
+
+    // 'rule' keyword followed by the rule name and its parameter list or body (not e.g. 'import a.rule.B;')
+    private static boolean startsRule(List<Token> tokens, int i) {
+        if (i > 0 && tokens.get(i - 1).getType() == DrlxLexer.DOT) {
+            return false;
+        }
+        if (i + 2 >= tokens.size()) {
+            return false;
+        }
+        int next = tokens.get(i + 2).getType();
+        return next == DrlxLexer.LBRACE || next == DrlxLexer.LPAREN;
+    }
+
+    /** Source with the header and only the given rule spans, in order. */
+    String sourceOf(List<RuleSpan> selected) {
+        StringBuilder sb = new StringBuilder(header);
+        for (RuleSpan rule : selected) {
+            sb.append("\n\n").append(rule.text());
+        }
+        return sb.append('\n').toString();
+    }
+}
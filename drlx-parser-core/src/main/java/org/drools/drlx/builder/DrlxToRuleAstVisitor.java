@@ -3,6 +3,7 @@ package org.drools.drlx.builder;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,8 @@ import org.drools.drlx.builder.DrlxRuleAstModel.GroupByCustomAccumulateIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.GroupElementIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.InitVarIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.LhsItemIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchCaseIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchGuardIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleAnnotationIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleAnnotationIR.Kind;
@@ -420,7 +423,7 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
 
     private EvalIR buildTestElement(DrlxParser.TestElementContext ctx) {
         String expression = getText(ctx.expression());
-        return new EvalIR(expression, extractIdentifiers(expression));
+        return new EvalIR(expression, DrlxExpressionNames.of(ctx.expression()));
     }
 
     private AccumulatorIR buildAccumulator(DrlxParser.AccumulateItemContext ctx) {
@@ -932,14 +935,21 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
 
         int conditionCount = ctx.expression().size();
         int bodyCount = ctx.branchBody().size();
-        boolean hasFinalElse = bodyCount > conditionCount;
+
+        // Lowered like a subject-less match: every branch rule carries one MatchGuardIR
+        // over the shared list of branch conditions instead of negating the earlier ones.
+        List<MatchCaseIR> cases = new ArrayList<>(conditionCount);
+        java.util.LinkedHashSet<String> referenced = new java.util.LinkedHashSet<>();
+        for (int i = 0; i < conditionCount; i++) {
+            String condition = getText(ctx.expression(i));
+            referenced.addAll(extractIdentifiers(condition));
+            cases.add(new MatchCaseIR("", "", condition));
+        }
+        List<String> referencedBindings = List.copyOf(referenced);
 
         List<RuleIR> syntheticRules = new ArrayList<>();
-        List<String> priorConditions = new ArrayList<>();
 
         for (int i = 0; i < bodyCount; i++) {
-            boolean isElse = (i == bodyCount - 1 && hasFinalElse);
-            String condition = isElse ? null : getText(ctx.expression(i));
             DrlxParser.BranchBodyContext body = ctx.branchBody(i);
 
             if (body.branchItem().isEmpty()) {
@@ -975,13 +985,8 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
             }
 
             List<LhsItemIR> fullLhs = new ArrayList<>(commonPrefix);
-            for (String prior : priorConditions) {
-                String negated = "!(" + prior + ")";
-                fullLhs.add(new EvalIR(negated, extractIdentifiers(negated)));
-            }
-            if (condition != null) {
-                fullLhs.add(new EvalIR(condition, extractIdentifiers(condition)));
-            }
+            // the final else is caseIndex == conditionCount: no condition held
+            fullLhs.add(new MatchGuardIR("", cases, i, referencedBindings));
             fullLhs.addAll(branchLhs);
 
             StringBuilder combined = new StringBuilder();
@@ -1001,10 +1006,6 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
                     annotations, parameters,
                     List.copyOf(fullLhs),
                     new ConsequenceIR(combined.toString())));
-
-            if (condition != null) {
-                priorConditions.add(condition);
-            }
         }
 
         return syntheticRules;
@@ -1019,59 +1020,58 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
 
         String subjectText = getText(ctx.expression());
 
-        List<RuleIR> syntheticRules = new ArrayList<>();
-        List<String> priorConditions = new ArrayList<>();
+        // One MatchGuardIR per case rule instead of the negations of every earlier case:
+        // the runtime shares a single dispatcher, so each rule costs one O(1) guard.
+        List<MatchCaseIR> cases = new ArrayList<>();
+        LinkedHashSet<String> referenced = new LinkedHashSet<>(extractIdentifiers(subjectText));
+        for (DrlxParser.MatchCaseContext caseCtx : ctx.matchCase()) {
+            MatchCaseIR matchCase = buildMatchCase(caseCtx.matchPattern(), subjectText);
+            referenced.addAll(extractIdentifiers(matchCase.condition()));
+            cases.add(matchCase);
+        }
+        List<String> referencedBindings = List.copyOf(referenced);
 
+        List<RuleIR> syntheticRules = new ArrayList<>();
         for (int i = 0; i < ctx.matchCase().size(); i++) {
-            DrlxParser.MatchCaseContext caseCtx = ctx.matchCase(i);
-            String condition = buildMatchCondition(caseCtx.matchPattern(), subjectText);
-            DrlxParser.MatchCaseBodyContext body = caseCtx.matchCaseBody();
-
-            List<LhsItemIR> branchLhs = new ArrayList<>();
-            List<String> consequenceTexts = new ArrayList<>();
-
-            processCaseBody(body, branchLhs, consequenceTexts);
-
-            List<LhsItemIR> fullLhs = new ArrayList<>(commonPrefix);
-            for (String prior : priorConditions) {
-                String negated = "!(" + prior + ")";
-                fullLhs.add(new EvalIR(negated, extractIdentifiers(negated)));
-            }
-            fullLhs.add(new EvalIR(condition, extractIdentifiers(condition)));
-            fullLhs.addAll(branchLhs);
-
-            syntheticRules.add(new RuleIR(
-                    ruleName + "$" + syntheticRules.size(),
-                    annotations, parameters,
-                    List.copyOf(fullLhs),
-                    new ConsequenceIR(combineConsequences(consequenceTexts))));
-
-            priorConditions.add(condition);
+            syntheticRules.add(buildMatchCaseRule(ctx.matchCase(i).matchCaseBody(), commonPrefix,
+                    new MatchGuardIR(subjectText, cases, i, referencedBindings),
+                    annotations, parameters, ruleName + "$" + syntheticRules.size()));
         }
-
         if (ctx.matchDefault() != null) {
-            DrlxParser.MatchCaseBodyContext body = ctx.matchDefault().matchCaseBody();
+            syntheticRules.add(buildMatchCaseRule(ctx.matchDefault().matchCaseBody(), commonPrefix,
+                    new MatchGuardIR(subjectText, cases, cases.size(), referencedBindings),
+                    annotations, parameters, ruleName + "$" + syntheticRules.size()));
+        }
+        return syntheticRules;
+    }
 
-            List<LhsItemIR> branchLhs = new ArrayList<>();
-            List<String> consequenceTexts = new ArrayList<>();
+    private RuleIR buildMatchCaseRule(DrlxParser.MatchCaseBodyContext body,
+                                      List<LhsItemIR> commonPrefix,
+                                      MatchGuardIR guard,
+                                      List<RuleAnnotationIR> annotations,
+                                      List<RuleParameterIR> parameters,
+                                      String syntheticName) {
+        List<LhsItemIR> branchLhs = new ArrayList<>();
+        List<String> consequenceTexts = new ArrayList<>();
 
-            processCaseBody(body, branchLhs, consequenceTexts);
+        processCaseBody(body, branchLhs, consequenceTexts);
 
-            List<LhsItemIR> fullLhs = new ArrayList<>(commonPrefix);
-            for (String prior : priorConditions) {
-                String negated = "!(" + prior + ")";
-                fullLhs.add(new EvalIR(negated, extractIdentifiers(negated)));
-            }
-            fullLhs.addAll(branchLhs);
+        List<LhsItemIR> fullLhs = new ArrayList<>(commonPrefix);
+        fullLhs.add(guard);
+        fullLhs.addAll(branchLhs);
 
-            syntheticRules.add(new RuleIR(
-                    ruleName + "$" + syntheticRules.size(),
-                    annotations, parameters,
-                    List.copyOf(fullLhs),
-                    new ConsequenceIR(combineConsequences(consequenceTexts))));
-        }
+        return new RuleIR(syntheticName, annotations, parameters,
+                List.copyOf(fullLhs),
+                new ConsequenceIR(combineConsequences(consequenceTexts)));
+    }
 
-        return syntheticRules;
+    private MatchCaseIR buildMatchCase(DrlxParser.MatchPatternContext patternCtx,
+                                       String subjectText) {
+        String condition = buildMatchCondition(patternCtx, subjectText);
+        if (patternCtx.HASH() != null) {
+            return new MatchCaseIR(patternCtx.identifier().getText(), "", condition);
+        }
+        return new MatchCaseIR("", getText(patternCtx.expression()), condition);
     }
 
     private String buildMatchCondition(DrlxParser.MatchPatternContext patternCtx,
@@ -1161,17 +1161,12 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
     }
 
     /**
-     * Extract candidate binding identifiers from an expression text via word-boundary regex.
-     * Over-collects (Java keywords, type names) but that's harmless — the runtime builder
-     * filters against the live boundVariables map and silently drops names that don't resolve.
+     * Candidate binding identifiers of an expression or block: its free names (see
+     * {@link DrlxExpressionNames}). May include pattern properties and locals, which the
+     * runtime builder drops when they don't resolve against the live boundVariables map.
      */
     private static List<String> extractIdentifiers(String expression) {
-        java.util.regex.Pattern idRegex =
-                java.util.regex.Pattern.compile("\\b([a-zA-Z_][a-zA-Z0-9_]*)\\b");
-        java.util.regex.Matcher m = idRegex.matcher(expression);
-        java.util.LinkedHashSet<String> identifiers = new java.util.LinkedHashSet<>();
-        while (m.find()) identifiers.add(m.group(1));
-        return List.copyOf(identifiers);
+        return DrlxExpressionNames.of(expression);
     }
 
     private GroupElementIR buildGroupElementFromChildren(
@@ -1212,7 +1207,8 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
         String windowParameter = ctx.windowFilter().windowParam().getText();
         PatternIR pattern = new PatternIR("", "", entryPoint, conditions, temporalConditions,
                                            castTypeName, positionalArgs, passive, watchedProperties,
-                                           windowType, windowParameter);
+                                           windowType, windowParameter, extractConditionReferences(oopathCtx),
+                                           extractPositionalArgReferences(oopathCtx));
         return new WindowDeclarationIR(name, pattern);
     }
 
@@ -1239,7 +1235,8 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
         }
         return new PatternIR(typeName, bindName, entryPoint, conditions, temporalConditions,
                               castTypeName, positionalArgs, passive, watchedProperties,
-                              windowType, windowParameter);
+                              windowType, windowParameter, extractConditionReferences(oopathCtx),
+                              extractPositionalArgReferences(oopathCtx));
     }
 
     private PatternIR buildPatternFromOopath(DrlxParser.OopathExpressionContext oopathCtx) {
@@ -1249,7 +1246,9 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
         List<String> positionalArgs = extractPositionalArgs(oopathCtx);
         boolean passive = oopathCtx.QUESTION() != null;
         List<String> watchedProperties = extractWatchedProperties(oopathCtx);
-        return new PatternIR("", "", entryPoint, conditions, List.of(), castTypeName, positionalArgs, passive, watchedProperties, null, null);
+        return new PatternIR("", "", entryPoint, conditions, List.of(), castTypeName, positionalArgs, passive, watchedProperties,
+                              null, null, extractConditionReferences(oopathCtx),
+                              extractPositionalArgReferences(oopathCtx));
     }
 
     private PatternIR buildPatternFromOopath(DrlxParser.OopathExpressionContext oopathCtx,
@@ -1261,7 +1260,9 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
         boolean passive = oopathCtx.QUESTION() != null;
         List<String> watchedProperties = extractWatchedProperties(oopathCtx);
         return new PatternIR("", syntheticBindName, entryPoint, conditions, List.of(), castTypeName,
-                              positionalArgs, passive, watchedProperties, null, null);
+                              positionalArgs, passive, watchedProperties, null, null,
+                              extractConditionReferences(oopathCtx),
+                              extractPositionalArgReferences(oopathCtx));
     }
 
     private PatternIR buildPattern(DrlxParser.RulePatternContext ctx) {
@@ -1318,6 +1319,17 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
                 .toList();
     }
 
+    /** Free names of each argument of {@link #extractPositionalArgs}; none for a {@code var} binding. */
+    private List<List<String>> extractPositionalArgReferences(DrlxParser.OopathExpressionContext ctx) {
+        DrlxParser.OopathRootContext root = ctx.oopathRoot();
+        if (root == null || root.positionalArg() == null || root.positionalArg().isEmpty()) {
+            return List.of();
+        }
+        return root.positionalArg().stream()
+                .map(arg -> arg.VAR() != null ? List.<String>of() : DrlxExpressionNames.of(arg.expression()))
+                .toList();
+    }
+
     private static List<String> extractWatchedProperties(DrlxParser.OopathExpressionContext ctx) {
         DrlxParser.OopathRootContext root = ctx.oopathRoot();
         if (root == null || root.watchItem() == null || root.watchItem().isEmpty()) {
@@ -1335,6 +1347,14 @@ public class DrlxToRuleAstVisitor extends DrlxParserBaseVisitor<Object> {
                 .toList();
     }
 
+    /** Free names of each condition of {@link #extractConditions}, read from the parse tree. */
+    private List<List<String>> extractConditionReferences(DrlxParser.OopathExpressionContext ctx) {
+        return collectDrlxExpressions(ctx).stream()
+                .filter(de -> de.customConstraint() == null)
+                .map(DrlxExpressionNames::of)
+                .toList();
+    }
+
     private List<TemporalConditionIR> extractTemporalConditions(DrlxParser.OopathExpressionContext ctx) {
         List<TemporalConditionIR> result = new ArrayList<>();
         for (var de : collectDrlxExpressions(ctx)) {
@@ -12,10 +12,15 @@
 
 package org.drools.drlx.builder;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.drools.base.base.ValueResolver;
+import org.drools.base.reteoo.BaseTuple;
+import org.drools.base.rule.Declaration;
 import org.mvel3.Evaluator;
 
 /**
@@ -27,44 +32,134 @@ import org.mvel3.Evaluator;
  * <p>The evaluator is {@code null} on the batch-compile path until
  * {@link DrlxLambdaCompiler#compileBatch(ClassLoader)} resolves all
  * pending handles and calls {@link #bindEvaluator}.
+ *
+ * <p>{@link #apply} passes the fact in a per-thread map that is reused across calls,
+ * so extracting a value allocates no map. A multi-source extractor is compiled with
+ * positional arguments, one per binding of the source scope:
+ * {@link #applyPositional} reads them straight from the accumulate's inner
+ * declarations into a reused argument array.
  */
 public final class DrlxValueExtractor implements Function<Object, Object>, EvaluatorSink {
 
     private final String expression;
     private final String sourceBindingName;
+    private final DrlxDeclarationPositions positions;
+    private final List<String> bindingNames;
     private Evaluator<Map<String, Object>, Void, Object> evaluator;
+    private Evaluator<List<Object>, Void, Object> positionalEvaluator;
+    private final ThreadLocal<Map<String, Object>> input = ThreadLocal.withInitial(() -> new HashMap<>(2));
+    private final ThreadLocal<Arguments> arguments = new ThreadLocal<>();
 
     public DrlxValueExtractor(String expression, String sourceBindingName,
                               Evaluator<Map<String, Object>, Void, Object> evaluator) {
         this.expression = expression;
         this.sourceBindingName = sourceBindingName;
+        this.positions = null;
+        this.bindingNames = null;
         this.evaluator = evaluator;
     }
 
+    /**
+     * Multi-source extractor whose evaluator takes one positional argument per entry of
+     * {@code bindingNames}, in that order.
+     */
+    public DrlxValueExtractor(String expression, List<String> bindingNames,
+                              Evaluator<List<Object>, Void, Object> positionalEvaluator) {
+        this.expression = expression;
+        this.sourceBindingName = null;
+        this.bindingNames = List.copyOf(bindingNames);
+        this.positions = new DrlxDeclarationPositions(this.bindingNames);
+        this.positionalEvaluator = positionalEvaluator;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void bindEvaluator(Evaluator<?, ?, ?> evaluator) {
-        this.evaluator = (Evaluator<Map<String, Object>, Void, Object>) evaluator;
+        if (positions != null) {
+            this.positionalEvaluator = (Evaluator<List<Object>, Void, Object>) evaluator;
+        } else {
+            this.evaluator = (Evaluator<Map<String, Object>, Void, Object>) evaluator;
+        }
     }
 
     @Override
     public Object apply(Object fact) {
-        Map<String, Object> map = new HashMap<>(1);
+        Map<String, Object> map = input.get();
         map.put(sourceBindingName, fact);
         try {
             return evaluator.eval(map);
         } catch (Exception e) {
             throw new RuntimeException(
                     "value extractor '" + expression + "' failed at runtime", e);
+        } finally {
+            map.put(sourceBindingName, null); // do not keep the fact reachable
+        }
+    }
+
+    /**
+     * Evaluates a multi-source extractor over the inner declarations of the accumulated tuple.
+     */
+    public Object applyPositional(BaseTuple tuple, Declaration[] innerDeclarations, ValueResolver valueResolver) {
+        Arguments current = acquire();
+        try {
+            positions.fill(current.values, tuple, innerDeclarations, valueResolver);
+            return positionalEvaluator.eval(current.view);
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "value extractor '" + expression + "' failed at runtime (multi-source)", e);
+        } finally {
+            release(current);
         }
     }
 
+    /**
+     * Evaluates a multi-source extractor over bindings looked up by name.
+     */
     public Object applyMulti(Map<String, Object> bindings) {
+        if (positions == null) {
+            try {
+                return evaluator.eval(bindings);
+            } catch (Exception e) {
+                throw new RuntimeException(
+                        "value extractor '" + expression + "' failed at runtime (multi-source)", e);
+            }
+        }
+        Arguments current = acquire();
         try {
-            return evaluator.eval(bindings);
+            for (int i = 0; i < current.values.length; i++) {
+                current.values[i] = bindings.get(bindingNames.get(i));
+            }
+            return positionalEvaluator.eval(current.view);
         } catch (Exception e) {
             throw new RuntimeException(
                     "value extractor '" + expression + "' failed at runtime (multi-source)", e);
+        } finally {
+            release(current);
+        }
+    }
+
+    private Arguments acquire() {
+        Arguments current = arguments.get();
+        if (current == null) {
+            return new Arguments(positions.size());
+        }
+        arguments.set(null); // a nested call on this thread gets its own array
+        return current;
+    }
+
+    private void release(Arguments current) {
+        Arrays.fill(current.values, null);
+        arguments.set(current);
+    }
+
+    /** Positional arguments and their {@code List} view, reused across calls. */
+    private static final class Arguments {
+        final Object[] values;
+        final List<Object> view;
+
+        Arguments(int size) {
+            this.values = new Object[size];
+            this.view = Arrays.asList(values);
         }
     }
 }
@@ -6,6 +6,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import org.drools.drlx.builder.DrlxBuildArchive;
+import org.drools.drlx.builder.DrlxBuildCacheStrategy;
 import org.drools.drlx.builder.DrlxLambdaMetadata;
 import org.drools.drlx.builder.DrlxRuleBuilder;
 import org.kie.api.KieBase;
@@ -113,7 +115,9 @@ public class DrlxCompiler {
     public void preBuild(String drlxSource) throws IOException {
         requirePersistMode();
         builder.preBuild(drlxSource, outputDir);
-        LOG.info("Pre-build complete. Metadata saved to {}", DrlxLambdaMetadata.metadataFilePath(outputDir));
+        LOG.info("Pre-build complete. Metadata saved to {}", DrlxBuildCacheStrategy.current() == DrlxBuildCacheStrategy.ARCHIVE
+                ? DrlxBuildArchive.archiveFilePath(outputDir)
+                : DrlxLambdaMetadata.metadataFilePath(outputDir));
     }
 
     /**
@@ -138,6 +142,13 @@ public class DrlxCompiler {
             LOG.info("No-persist mode: compiling in memory");
             return builder.build(drlxSource);
         }
+        if (DrlxBuildCacheStrategy.current() == DrlxBuildCacheStrategy.ARCHIVE) {
+            Path archiveFile = DrlxBuildArchive.archiveFilePath(outputDir);
+            if (Files.exists(archiveFile)) {
+                LOG.info("Found pre-build archive at {}, using archived lambda classes", archiveFile);
+                return builder.buildFromArchive(drlxSource, archiveFile);
+            }
+        }
         Path metadataFile = DrlxLambdaMetadata.metadataFilePath(outputDir);
         if (Files.exists(metadataFile)) {
             LOG.info("Found pre-built metadata at {}, using pre-compiled lambda classes", metadataFile);
@@ -163,4 +163,32 @@ class DataStoreUpdateRewriterTest {
         assertThat(result).contains("DataStoreSupport.update(alerts, t, __match__, __ruleBase__, \"alerts\")");
         assertThat(result).doesNotContain("\"alerts\",");
     }
+
+    @Test
+    void onlyReferencedGlobalsAreReported() {
+        String body = "alerts.add(t); System.out.println(\"audit \" + t.name);";
+        DataStoreUpdateRewriter.Rewrite result = rewriter.rewrite(body, Set.of("alerts"), Set.of("alerts", "audit", "persons"));
+
+        // "audit" only occurs inside a string literal
+        assertThat(result.referencedGlobals()).containsExactly("alerts");
+        assertThat(result.usesMatch()).isFalse();
+        assertThat(result.body()).isEqualTo(body);
+    }
+
+    @Test
+    void rewrittenUpdateReportsMatchUse() {
+        DataStoreUpdateRewriter.Rewrite result = rewriter.rewrite("alerts.update(t);", Set.of("alerts"), Set.of("alerts", "persons"));
+
+        assertThat(result.referencedGlobals()).containsExactly("alerts");
+        assertThat(result.usesMatch()).isTrue();
+        assertThat(result.body()).contains("DataStoreSupport.update(alerts, t, __match__, __ruleBase__,");
+    }
+
+    @Test
+    void noGlobalMentionedSkipsParsing() {
+        DataStoreUpdateRewriter.Rewrite result = rewriter.rewrite("System.out.println(t);", Set.of(), Set.of("alerts"));
+
+        assertThat(result.referencedGlobals()).isEmpty();
+        assertThat(result.usesMatch()).isFalse();
+    }
 }
@@ -0,0 +1,67 @@
+package org.drools.drlx.builder;
+
+import java.util.List;
+
+import org.drools.drlx.builder.DrlxRuleAstModel.CustomAccumulateIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.InitVarIR;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxAccumulateStateLayoutTest {
+
+    @Test
+    void primitiveInitVarsAreRewrittenToStateSlots() {
+        CustomAccumulateIR ir = accumulate(
+                List.of(new InitVarIR("int", "count", "0"), new InitVarIR("long", "total", "10L")),
+                "(double) total / count");
+
+        DrlxAccumulateStateLayout layout = DrlxAccumulateStateLayout.of(
+                ir, "total = total + p.age; count = count + 1;", "total = total - p.age; count = count - 1;");
+
+        assertThat(layout.isEmpty()).isFalse();
+        assertThat(layout.actionBlock())
+                .contains("__state.longs()[0] = __state.longs()[0] + p.age;")
+                .contains("__state.ints()[0] = __state.ints()[0] + 1;");
+        assertThat(layout.reverseBlock()).contains("__state.longs()[0] = __state.longs()[0] - p.age;");
+        assertThat(layout.resultExpression()).contains("__state.longs()[0]").contains("__state.ints()[0]");
+
+        DrlxAccumulateState state = layout.newState();
+        assertThat(state.ints()).containsExactly(0);
+        assertThat(state.longs()).containsExactly(10L);
+        state.longs()[0] = 99L;
+        layout.reset(state);
+        assertThat(state.longs()).containsExactly(10L);
+    }
+
+    @Test
+    void referenceInitVarsStayInTheContextMap() {
+        CustomAccumulateIR ir = accumulate(
+                List.of(new InitVarIR("double", "sum", "0"), new InitVarIR("String", "names", "\"\"")),
+                "names + sum");
+
+        DrlxAccumulateStateLayout layout = DrlxAccumulateStateLayout.of(ir, "sum = sum + p.age; names = names + p.name;", null);
+
+        assertThat(layout.holds("sum")).isTrue();
+        assertThat(layout.holds("names")).isFalse();
+        assertThat(layout.actionBlock()).contains("names = names + p.name;").contains("__state.doubles()[0]");
+        assertThat(layout.reverseBlock()).isNull();
+    }
+
+    @Test
+    void shadowedInitVarFallsBackToTheContextMap() {
+        CustomAccumulateIR ir = accumulate(List.of(new InitVarIR("int", "s", "0")), "s");
+        String action = "for (int s = 0; s < 1; s++) { } s = s + p.age;";
+
+        DrlxAccumulateStateLayout layout = DrlxAccumulateStateLayout.of(ir, action, null);
+
+        assertThat(layout.isEmpty()).isTrue();
+        assertThat(layout.holds("s")).isFalse();
+        assertThat(layout.actionBlock()).isEqualTo(action);
+        assertThat(layout.resultExpression()).isEqualTo("s");
+    }
+
+    private static CustomAccumulateIR accumulate(List<InitVarIR> initVars, String resultExpression) {
+        return new CustomAccumulateIR(null, initVars, "", null, "double", "result", resultExpression, List.of());
+    }
+}
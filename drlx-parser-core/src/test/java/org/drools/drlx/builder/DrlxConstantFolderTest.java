@@ -0,0 +1,32 @@
+package org.drools.drlx.builder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxConstantFolderTest {
+
+    @Test
+    void foldsLiteralArithmeticAndConcatenation() {
+        assertThat(DrlxConstantFolder.fold("age > 10 * 2 + 1")).isEqualTo("age > 21");
+        assertThat(DrlxConstantFolder.fold("total < (100L - 1) / 2")).isEqualTo("total < 49L");
+        assertThat(DrlxConstantFolder.fold("score >= 0.5 * 3")).isEqualTo("score >= 1.5");
+        assertThat(DrlxConstantFolder.fold("name == \"Al\" + \"ice\"")).isEqualTo("name == \"Alice\"");
+        assertThat(DrlxConstantFolder.fold("code == \"x\" + 1 + 2")).isEqualTo("code == \"x12\"");
+        assertThat(DrlxConstantFolder.fold("age > 1 - 5")).isEqualTo("age > -4");
+    }
+
+    @Test
+    void leavesExpressionsWithoutConstantsUnchanged() {
+        assertThat(DrlxConstantFolder.fold("age > 18 && name == \"Alice\"")).isEqualTo("age > 18 && name == \"Alice\"");
+        assertThat(DrlxConstantFolder.fold("age + 1 > 18")).isEqualTo("age + 1 > 18");
+        assertThat(DrlxConstantFolder.fold("this#Car.speed > 80")).isEqualTo("this#Car.speed > 80");
+    }
+
+    @Test
+    void keepsRuntimeSemanticsWhereFoldingCouldDiffer() {
+        assertThat(DrlxConstantFolder.fold("age > 1 / 0")).isEqualTo("age > 1 / 0");
+        assertThat(DrlxConstantFolder.fold("age > 2147483647 + 1")).isEqualTo("age > 2147483647 + 1");
+        assertThat(DrlxConstantFolder.fold("ratio > 1.5f * 2")).isEqualTo("ratio > 1.5f * 2");
+    }
+}
@@ -0,0 +1,25 @@
+package org.drools.drlx.builder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxExpressionNamesTest {
+
+    @Test
+    void namesAreThePrimaryIdentifiersInSourceOrder() {
+        assertThat(DrlxExpressionNames.of("age > p.age && name == q.name"))
+                .containsExactly("age", "p", "name", "q");
+    }
+
+    @Test
+    void memberNamesMethodNamesAndStringLiteralsAreNotNames() {
+        assertThat(DrlxExpressionNames.of("status == \"p\" && p.toString().length() > size")).containsExactly("status", "p", "size");
+        assertThat(DrlxExpressionNames.of("names.contains(\"q\")")).containsExactly("names");
+    }
+
+    @Test
+    void blocksAreParsedAsStatements() {
+        assertThat(DrlxExpressionNames.of("total += p.age; count++;")).containsExactly("total", "p", "count");
+    }
+}
@@ -85,7 +85,7 @@ class DrlxLambdaBoundaryTest {
         // DrlxMetadataMismatchMode routing that consumers depend on.
         Files.writeString(DrlxLambdaMetadata.metadataFilePath(tmp),
                 String.join("\n",
-                        "format.version=2",
+                        "format.version=6",
                         "rule.X.0.expression=age > 18",
                         "rule.X.0.fqn=org.mvel3.Gen",
                         "rule.X.0.classFile=foo\\u0000bar.class",
@@ -0,0 +1,67 @@
+package org.drools.drlx.builder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mvel3.lambdaextractor.ArtifactRef;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxLambdaCacheTest {
+
+    @Test
+    void storedClassIsFoundByDigest(@TempDir Path tmp) throws IOException {
+        Path classFile = Files.write(tmp.resolve("Compiled.class"), new byte[] {1, 2, 3});
+        DrlxLambdaCache cache = new DrlxLambdaCache(tmp.resolve("cache"));
+        String digest = DrlxLambdaCache.digest("pojo Person\nname != null");
+
+        assertThat(cache.get(digest)).isNull();
+        cache.put(digest, new ArtifactRef("org.mvel3.GeneratorEvaluator__1", classFile));
+
+        ArtifactRef cached = cache.get(digest);
+        assertThat(cached.fqn()).isEqualTo("org.mvel3.GeneratorEvaluator__1");
+        assertThat(cached.classFile()).startsWith(tmp.resolve("cache"));
+        assertThat(Files.readAllBytes(cached.classFile())).containsExactly(1, 2, 3);
+        assertThat(cache.get(DrlxLambdaCache.digest("pojo Person\nname == null"))).isNull();
+    }
+
+    @Test
+    void firstStoredClassNameWins(@TempDir Path tmp) throws IOException {
+        Path first = Files.write(tmp.resolve("First.class"), new byte[] {1});
+        Path second = Files.write(tmp.resolve("Second.class"), new byte[] {2});
+        DrlxLambdaCache cache = new DrlxLambdaCache(tmp.resolve("cache"));
+        String digest = DrlxLambdaCache.digest("list\nx > 1");
+
+        cache.put(digest, new ArtifactRef("org.mvel3.GeneratorEvaluator__1", first));
+        cache.put(digest, new ArtifactRef("org.mvel3.GeneratorEvaluator__2", second));
+
+        ArtifactRef cached = cache.get(digest);
+        assertThat(cached.fqn()).isEqualTo("org.mvel3.GeneratorEvaluator__1");
+        assertThat(Files.readAllBytes(cached.classFile())).containsExactly(1);
+        try (var entries = Files.list(tmp.resolve("cache"))) {
+            assertThat(entries).hasSize(1);
+        }
+    }
+
+    @Test
+    void entryWithoutClassFileIsNotStored(@TempDir Path tmp) {
+        DrlxLambdaCache cache = new DrlxLambdaCache(tmp.resolve("cache"));
+        String digest = DrlxLambdaCache.digest("list\nx");
+
+        cache.put(digest, new ArtifactRef("org.mvel3.GeneratorEvaluator__1", null));
+
+        assertThat(cache.get(digest)).isNull();
+    }
+
+    @Test
+    void typeFingerprintFollowsClassFile() {
+        assertThat(DrlxLambdaCache.typeFingerprint(String.class))
+                .isEqualTo(DrlxLambdaCache.typeFingerprint(String[].class))
+                .isNotEqualTo(DrlxLambdaCache.typeFingerprint(Integer.class))
+                .hasSize(64);
+        assertThat(DrlxLambdaCache.typeFingerprint(int.class)).isEqualTo("int");
+    }
+}
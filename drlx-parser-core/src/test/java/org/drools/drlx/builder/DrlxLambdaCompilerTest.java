@@ -0,0 +1,103 @@
+package org.drools.drlx.builder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.drools.base.base.ClassObjectType;
+import org.drools.base.rule.Pattern;
+import org.drools.drlx.builder.DrlxLambdaCompiler.BoundVariable;
+import org.drools.drlx.domain.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mvel3.ClassManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxLambdaCompilerTest {
+
+    @Test
+    void findIdentifiersSkipsMemberAccess() {
+        assertThat(DrlxLambdaCompiler.findIdentifiers("age < p1.age"))
+                .containsExactlyInAnyOrder("age", "p1");
+    }
+
+    @Test
+    void findIdentifiersSkipsStringAndCharLiterals() {
+        assertThat(DrlxLambdaCompiler.findIdentifiers("name == \"age \\\" value\" && c == 'x'"))
+                .containsExactlyInAnyOrder("name", "c");
+    }
+
+    @Test
+    void findIdentifiersSkipsNumericSuffixes() {
+        assertThat(DrlxLambdaCompiler.findIdentifiers("value1 > 10L && age < 1e3"))
+                .containsExactlyInAnyOrder("value1", "age");
+    }
+
+    @Test
+    void betaConstraintReadsThePropertiesAmongTheFreeNames(@TempDir Path tmp) {
+        Pattern p1 = new Pattern(0, new ClassObjectType(Person.class), "p1");
+        BoundVariable bound = new BoundVariable("p1", Person.class, p1, p1.getDeclaration());
+        DrlxLambdaCompiler compiler = new DrlxLambdaCompiler(new DrlxBatchCompiler(new ClassManager(), tmp));
+        compiler.beginRule("R1");
+
+        // "age" inside the literal and the member names after p1 are not reads of this fact
+        String expression = "name != p1.name + \" age\" && value1 == p1.getValue2()";
+        DrlxLambdaBetaConstraint constraint = (DrlxLambdaBetaConstraint) compiler.createBetaLambdaConstraint(
+                expression, DrlxExpressionNames.of(expression), Person.class, List.of(bound));
+
+        assertThat(constraint.getReadProperties()).containsExactlyInAnyOrder("name", "value1");
+    }
+
+    @Test
+    void lambdaTableBlockDispatchesOnTableIndex() {
+        assertThat(DrlxLambdaCompiler.lambdaTableBlock(List.of("a();", "b();", "c();")))
+                .isEqualTo("""
+                        if (__lambda__ < 1) {
+                        {
+                        a();
+                        }
+                        } else {
+                        if (__lambda__ < 2) {
+                        {
+                        b();
+                        }
+                        } else {
+                        {
+                        c();
+                        }
+                        }
+                        }
+
+                         return null;""");
+    }
+
+    @Test
+    void lambdaCacheServesLambdasCompiledByAnEarlierBuild(@TempDir Path tmp) {
+        DrlxLambdaCache cache = new DrlxLambdaCache(tmp.resolve("cache"));
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        org.mvel3.transpiler.context.Declaration<?>[] declarations = DrlxLambdaCompiler.extractDeclarations(Person.class);
+
+        DrlxLambdaCompiler first = new DrlxLambdaCompiler(new DrlxBatchCompiler(new ClassManager(), tmp.resolve("out1")));
+        first.setLambdaCache(cache);
+        first.beginRule("R1");
+        DrlxLambdaConstraint compiled = first.createLambdaConstraint("name != null", List.of("name"), Person.class, declarations);
+        first.compileBatch(classLoader);
+
+        // a later build where the same lambda sits in a renamed rule, after a new one
+        DrlxBatchCompiler batchCompiler = new DrlxBatchCompiler(new ClassManager(), tmp.resolve("out2"));
+        DrlxLambdaCompiler second = new DrlxLambdaCompiler(batchCompiler);
+        second.setLambdaCache(cache);
+        second.beginRule("Renamed");
+        second.createLambdaConstraint("age != 0", List.of("age"), Person.class, declarations);
+        DrlxLambdaConstraint reused = second.createLambdaConstraint("name != null", List.of("name"), Person.class, declarations);
+
+        assertThat(second.pendingLambdas)
+                .extracting(pl -> batchCompiler.isPreCompiled(pl.handle()))
+                .containsExactly(false, true);
+        second.compileBatch(classLoader);
+
+        assertThat(reused.getEvaluator()).isNotNull();
+        assertThat(reused.getEvaluator().getClass().getName().split("/0x")[0])
+                .isEqualTo(compiled.getEvaluator().getClass().getName().split("/0x")[0]);
+    }
+}
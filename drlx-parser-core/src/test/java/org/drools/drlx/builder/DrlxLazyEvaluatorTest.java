@@ -0,0 +1,37 @@
+package org.drools.drlx.builder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mvel3.Evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxLazyEvaluatorTest {
+
+    @Test
+    void everyRegisteredSinkIsReboundOnFirstResolve() {
+        Evaluator<?, ?, ?> real = (Evaluator<?, ?, ?>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Evaluator.class },
+                (proxy, method, args) -> "getReadProperties".equals(method.getName()) ? new String[] { "age" } : null);
+        Evaluator<?, ?, ?> stub = DrlxLazyEvaluator.stub(() -> real);
+        List<Evaluator<?, ?, ?>> owner = new ArrayList<>();
+        List<Evaluator<?, ?, ?>> clone = new ArrayList<>();
+        DrlxLazyEvaluator.bindOnFirstUse(stub, owner::add);
+        DrlxLazyEvaluator.bindOnFirstUse(stub, clone::add);
+        assertThat(DrlxLazyEvaluator.isPending(stub)).isTrue();
+
+        assertThat(stub.getReadProperties()).containsExactly("age");
+
+        assertThat(DrlxLazyEvaluator.isPending(stub)).isFalse();
+        assertThat(owner).hasSize(1).first().isSameAs(real);
+        assertThat(clone).hasSize(1).first().isSameAs(real);
+
+        // a sink registered after resolution is bound at once
+        List<Evaluator<?, ?, ?>> late = new ArrayList<>();
+        DrlxLazyEvaluator.bindOnFirstUse(stub, late::add);
+        assertThat(late).hasSize(1).first().isSameAs(real);
+    }
+}
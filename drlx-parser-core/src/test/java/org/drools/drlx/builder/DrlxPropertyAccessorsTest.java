@@ -0,0 +1,40 @@
+package org.drools.drlx.builder;
+
+import java.util.function.Function;
+
+import org.drools.drlx.domain.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxPropertyAccessorsTest {
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(DrlxPropertyAccessMode.PROPERTY);
+    }
+
+    @Test
+    void directAccessorBoxesPrimitiveGetter() throws Exception {
+        Function<Object, Object> age = DrlxPropertyAccessors.accessor(Person.class.getMethod("getAge"));
+        Function<Object, Object> name = DrlxPropertyAccessors.accessor(Person.class.getMethod("getName"));
+
+        assertThat(age.apply(new Person("John", 50))).isEqualTo(50);
+        assertThat(name.apply(new Person("John", 50))).isEqualTo("John");
+    }
+
+    @Test
+    void directAccessorIsSharedPerGetter() throws Exception {
+        assertThat(DrlxPropertyAccessors.accessor(Person.class.getMethod("getAge")))
+                .isSameAs(DrlxPropertyAccessors.accessor(Person.class.getMethod("getAge")));
+    }
+
+    @Test
+    void reflectionModeReadsTheSameValue() throws Exception {
+        System.setProperty(DrlxPropertyAccessMode.PROPERTY, "reflection");
+        Function<Object, Object> age = DrlxPropertyAccessors.accessor(Person.class.getMethod("getAge"));
+
+        assertThat(age.apply(new Person("John", 50))).isEqualTo(50);
+    }
+}
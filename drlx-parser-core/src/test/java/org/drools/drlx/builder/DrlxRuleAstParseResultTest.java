@@ -1,12 +1,19 @@
 package org.drools.drlx.builder;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.EvalIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.GroupElementIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.LhsItemIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchCaseIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchGuardIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.RuleIR;
 import org.drools.drlx.builder.proto.DrlxRuleAstProto;
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +51,19 @@ class DrlxRuleAstParseResultTest {
         assertThat(e.referencedBindings()).containsExactly("p", "q");
     }
 
+    @Test
+    void matchGuardIrRoundTripsThroughProto() {
+        MatchGuardIR original = new MatchGuardIR("o",
+                List.of(new MatchCaseIR("Car", "", "o instanceof Car"),
+                        new MatchCaseIR("", "\"x\"", "o == \"x\"")),
+                2, List.of("o"));
+
+        LhsItemIR roundTripped = DrlxRuleAstParseResult.fromProtoLhs(
+                DrlxRuleAstParseResult.toProtoLhs(original), Path.of("test.drlx"));
+
+        assertThat(roundTripped).isEqualTo(original);
+    }
+
     @Test
     void passiveFlagRoundTripsThroughProto() {
         PatternIR ir = new PatternIR(
@@ -66,6 +86,51 @@ class DrlxRuleAstParseResultTest {
         assertThat(back.passive()).isTrue();
     }
 
+    @Test
+    void conditionReferencesRoundTripThroughProto() {
+        PatternIR ir = new PatternIR(
+                "Person", "p", "persons",
+                List.of("age > a.age", "name == \"a\""),
+                List.of(),
+                null,
+                List.of("a.name", "var n"),
+                false,
+                List.of(),
+                null, null);
+        assertThat(ir.conditionReferences()).containsExactly(List.of("age", "a"), List.of("name"));
+        assertThat(ir.positionalArgReferences()).containsExactly(List.of("a"), List.of());
+
+        DrlxRuleAstProto.LhsItemParseResult lhsItem = DrlxRuleAstParseResult.toProtoLhs(ir);
+        assertThat(lhsItem.getPattern().getConditionReferencesList())
+                .extracting(DrlxRuleAstProto.ConditionReferencesParseResult::getNamesList)
+                .containsExactly(List.of("age", "a"), List.of("name"));
+        assertThat(lhsItem.getPattern().getPositionalArgReferencesList())
+                .extracting(DrlxRuleAstProto.ConditionReferencesParseResult::getNamesList)
+                .containsExactly(List.of("a"), List.of());
+
+        PatternIR back = (PatternIR) DrlxRuleAstParseResult.fromProtoLhs(lhsItem, Path.of("test"));
+        assertThat(back).isEqualTo(ir);
+    }
+
+    @Test
+    void missingConditionReferencesAreDerivedFromConditions() {
+        DrlxRuleAstProto.PatternParseResult proto =
+                DrlxRuleAstProto.PatternParseResult.newBuilder()
+                        .setTypeName("Person")
+                        .setBindName("p")
+                        .setEntryPoint("persons")
+                        .addConditions("age > a.age")
+                        .build();
+
+        DrlxRuleAstProto.LhsItemParseResult lhsItem =
+                DrlxRuleAstProto.LhsItemParseResult.newBuilder()
+                        .setPattern(proto)
+                        .build();
+
+        PatternIR back = (PatternIR) DrlxRuleAstParseResult.fromProtoLhs(lhsItem, Path.of("test"));
+        assertThat(back.conditionReferences()).containsExactly(List.of("age", "a"));
+    }
+
     @Test
     void missingPassiveFieldDeserialisesToFalse() {
         DrlxRuleAstProto.PatternParseResult proto =
@@ -153,6 +218,157 @@ class DrlxRuleAstParseResultTest {
         assertThat(back.accumulators().get(1).referencedBindings()).isEmpty();
     }
 
+    @Test
+    void groupByAccumulateIrRoundTripsThroughProto() {
+        PatternIR src = new PatternIR(
+                "var", "p", "persons",
+                List.of("age > 18"), List.of(), null, List.of(), false, List.of(), null, null);
+        DrlxRuleAstModel.AccumulatorIR acc = new DrlxRuleAstModel.AccumulatorIR(
+                "var", "avgAge", "avg", List.of("p.age"), List.of("p"));
+        DrlxRuleAstModel.GroupByAccumulateIR bound = new DrlxRuleAstModel.GroupByAccumulateIR(
+                src, List.of(acc), "p.name", "g", List.of("p"));
+        DrlxRuleAstModel.GroupByAccumulateIR unbound = new DrlxRuleAstModel.GroupByAccumulateIR(
+                src, List.of(acc), "p.name", null, List.of("p"));
+
+        for (DrlxRuleAstModel.GroupByAccumulateIR original : List.of(bound, unbound)) {
+            DrlxRuleAstProto.LhsItemParseResult proto = DrlxRuleAstParseResult.toProtoLhs(original);
+            assertThat(proto.hasGroupByAccumulate()).isTrue();
+            assertThat(DrlxRuleAstParseResult.fromProtoLhs(proto, Path.of("test.drlx"))).isEqualTo(original);
+        }
+    }
+
+    @Test
+    void groupByCustomAccumulateIrRoundTripsThroughProto() {
+        PatternIR p = new PatternIR(
+                "var", "p", "persons",
+                List.of(), List.of(), null, List.of(), false, List.of(), null, null);
+        PatternIR o = new PatternIR(
+                "var", "o", "orders",
+                List.of("customerId == p.age"), List.of(), null, List.of(), false, List.of(), null, null);
+        GroupElementIR src = new GroupElementIR(GroupElementIR.Kind.AND, List.of(p, o));
+        DrlxRuleAstModel.GroupByCustomAccumulateIR withReverse = new DrlxRuleAstModel.GroupByCustomAccumulateIR(
+                src, List.of(new DrlxRuleAstModel.InitVarIR("int", "s", "0")),
+                "s = s + o.amount;", "s = s - o.amount;",
+                "int", "total", "s", List.of("o"),
+                "p.name", "g", List.of("p"));
+        DrlxRuleAstModel.GroupByCustomAccumulateIR withoutReverse = new DrlxRuleAstModel.GroupByCustomAccumulateIR(
+                src, List.of(new DrlxRuleAstModel.InitVarIR("int", "s", "0")),
+                "s = s + o.amount;", null,
+                "int", "total", "s", List.of("o"),
+                "p.name", null, List.of("p"));
+
+        for (DrlxRuleAstModel.GroupByCustomAccumulateIR original : List.of(withReverse, withoutReverse)) {
+            DrlxRuleAstProto.LhsItemParseResult proto = DrlxRuleAstParseResult.toProtoLhs(original);
+            assertThat(proto.hasGroupByCustomAccumulate()).isTrue();
+            assertThat(DrlxRuleAstParseResult.fromProtoLhs(proto, Path.of("test.drlx"))).isEqualTo(original);
+        }
+    }
+
+    @Test
+    void editedSourceReparsesOnlyTheChangedRules() throws IOException {
+        String header = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """;
+        String adult = """
+                rule Adult {
+                    Person p : /persons[ age >= 18 ],
+                    do { results.add(p); }
+                }
+                """;
+        String named = """
+                rule Named {
+                    Person p : /persons[ name == "Alice" ],
+                    do { results.add(p); }
+                }
+                """;
+        String source = header + adult + named;
+        CompilationUnitIR saved = DrlxRuleBuilder.parseToAst(source);
+        Path dir = Files.createTempDirectory("drlx-rule-ast-");
+        DrlxRuleAstParseResult.save(source, saved, dir);
+        Path file = DrlxRuleAstParseResult.parseResultFilePath(dir);
+
+        List<String> parsedSources = new ArrayList<>();
+        String edited = header + adult + named.replace("Alice", "Bob") + "\n// trailing comment\n";
+        DrlxRuleAstParseResult.IncrementalLoad load = DrlxRuleAstParseResult.loadIncremental(edited, file, src -> {
+            parsedSources.add(src);
+            return DrlxRuleBuilder.parseToAst(src);
+        });
+
+        assertThat(load.reparsedRules()).containsExactly("Named");
+        assertThat(parsedSources).hasSize(1);
+        assertThat(parsedSources.get(0)).contains("rule Named").doesNotContain("rule Adult");
+        assertThat(load.ast()).isEqualTo(DrlxRuleBuilder.parseToAst(edited));
+        assertThat(load.ast().rules().get(0)).isEqualTo(saved.rules().get(0));
+
+        // unchanged source: everything from the cache, no parse
+        DrlxRuleAstParseResult.IncrementalLoad same = DrlxRuleAstParseResult.loadIncremental(source, file, src -> {
+            throw new AssertionError("unexpected parse");
+        });
+        assertThat(same.ast()).isEqualTo(saved);
+        assertThat(same.reparsedRules()).isEmpty();
+
+        // changed header: the cache cannot serve it
+        assertThat(DrlxRuleAstParseResult.loadIncremental(
+                header.replace("unit MyUnit;", "import java.util.List;\nunit MyUnit;") + adult + named, file,
+                DrlxRuleBuilder::parseToAst)).isNull();
+    }
+
+    @Test
+    void editedSourceWithAMatchRuleReparsesOnlyTheChangedRule() throws IOException {
+        String header = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """;
+        String dispatch = """
+                rule Dispatch {
+                    var p : /persons,
+                    match (p.name)
+                        case "Alice" do { results.add("alice"); }
+                        default do { results.add("other"); }
+                }
+                """;
+        String named = """
+                rule Named {
+                    Person p : /persons[ name == "Alice" ],
+                    do { results.add(p); }
+                }
+                """;
+        String source = header + dispatch + named;
+        CompilationUnitIR saved = DrlxRuleBuilder.parseToAst(source);
+        assertThat(saved.rules()).extracting(RuleIR::name)
+                .containsExactly("Dispatch$0", "Dispatch$1", "Named");
+        Path dir = Files.createTempDirectory("drlx-rule-ast-");
+        DrlxRuleAstParseResult.save(source, saved, dir);
+        Path file = DrlxRuleAstParseResult.parseResultFilePath(dir);
+
+        List<String> parsedSources = new ArrayList<>();
+        String edited = header + dispatch + named.replace("Alice", "Bob");
+        DrlxRuleAstParseResult.IncrementalLoad load = DrlxRuleAstParseResult.loadIncremental(edited, file, src -> {
+            parsedSources.add(src);
+            return DrlxRuleBuilder.parseToAst(src);
+        });
+
+        assertThat(load.reparsedRules()).containsExactly("Named");
+        assertThat(parsedSources).hasSize(1);
+        assertThat(parsedSources.get(0)).contains("rule Named").doesNotContain("rule Dispatch");
+        assertThat(load.ast()).isEqualTo(DrlxRuleBuilder.parseToAst(edited));
+
+        // editing the match rule reparses all of its case rules
+        DrlxRuleAstParseResult.IncrementalLoad matchEdited = DrlxRuleAstParseResult.loadIncremental(
+                header + dispatch.replace("\"Alice\"", "\"Bob\"") + named, file, DrlxRuleBuilder::parseToAst);
+        assertThat(matchEdited.reparsedRules()).containsExactly("Dispatch$0", "Dispatch$1");
+        assertThat(matchEdited.ast().rules().get(2)).isEqualTo(saved.rules().get(2));
+    }
+
     @Test
     void windowFieldsRoundTripThroughProto() {
         PatternIR ir = new PatternIR(
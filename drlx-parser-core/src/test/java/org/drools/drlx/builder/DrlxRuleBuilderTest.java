@@ -20,6 +20,7 @@ import org.drools.drlx.ruleunit.MyUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
 import org.kie.api.KieBase;
+import org.kie.api.definition.rule.Rule;
 import org.mvel3.lambdaextractor.LambdaRuntime;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -72,13 +73,13 @@ class DrlxRuleBuilderTest {
                 unit MyUnit;
 
                 rule CheckAge1 {
-                    Person p : /persons[ age > 18 ],
+                    Person p : /persons[ name != null ],
                     do { System.out.println(p); }
                 }
 
                 rule CheckAge2 {
-                    Address s : /addresses[ city == "Tokyo" ],
-                        Person p : /persons[ age > 18 ],
+                    Address s : /addresses[ city != null ],
+                        Person p : /persons[ name != null ],
                     do { System.out.println(p); }
                 }
                 """; // placed /persons after /addresses to avoid node sharing, because this test is about lambda sharing
@@ -91,11 +92,11 @@ class DrlxRuleBuilderTest {
         List<Path> classFiles = listClassFiles();
         assertThat(classFiles).hasSize(3);
 
-        // GeneratorEvaluaor___0 : `age > 18` is shared between both rules
+        // GeneratorEvaluaor___0 : `name != null` is shared between both rules
         // GeneratorEvaluaor___1 : `System.out.println(p);` is shared between both rules
-        // GeneratorEvaluaor___2 : `city == "Tokyo"` is unique to CheckAge2
+        // GeneratorEvaluaor___2 : `city != null` is unique to CheckAge2
 
-        List<DrlxLambdaConstraint> constraints = collectConstraints(kieBase, "age > 18");
+        List<DrlxLambdaConstraint> constraints = collectConstraints(kieBase, "name != null");
 
         assertThat(constraints).hasSize(2);
         // class names are the same (e.g. GeneratorEvaluaor___0), but Class objects are different, because ClassManager is not shared at the moment
@@ -122,6 +123,124 @@ class DrlxRuleBuilderTest {
         }
     }
 
+    @Test
+    void testConsequenceLambdaTable() {
+        String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule Adult {
+                    Person p : /persons[ age >= 18 ],
+                    do { System.out.println("adult " + p.getName()); }
+                }
+
+                rule Minor {
+                    Person p : /persons[ age < 18 ],
+                    do { String kind = "minor"; System.out.println(kind + " " + p.getName()); }
+                }
+
+                rule Named {
+                    Person p : /persons[ name != null ],
+                    do { String kind = "named"; System.out.println(kind + " " + p.getName()); }
+                }
+                """;
+
+        System.setProperty(DrlxLambdaTableMode.PROPERTY, "consequences");
+        try {
+            KieBase kieBase = new DrlxRuleBuilder().build(rule);
+
+            // same declaration signature (Person p): one evaluator serves all three consequences
+            List<DrlxLambdaConsequence> consequences = collectConsequences(kieBase);
+            assertThat(consequences).hasSize(3);
+            assertThat(consequences).extracting(c -> c.getEvaluator().getClass()).containsOnly(consequences.get(0).getEvaluator().getClass());
+
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                TrackingAgendaEventListener listener = new TrackingAgendaEventListener();
+                instance.addEventListener(listener);
+
+                unit.persons.add(new Person("John", 25));
+                unit.persons.add(new Person("Paul", 10));
+
+                assertThat(instance.fire()).isEqualTo(4);
+                assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("Adult", "Minor", "Named", "Named");
+            }
+        } finally {
+            System.clearProperty(DrlxLambdaTableMode.PROPERTY);
+        }
+    }
+
+    @Test
+    void testLambdaTableIsChunked() {
+        StringBuilder rules = new StringBuilder("""
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """);
+        int ruleCount = DrlxLambdaCompiler.MAX_TABLE_BLOCKS + 1;
+        for (int i = 0; i < ruleCount; i++) {
+            rules.append("rule R").append(i).append(" {\n")
+                    .append("    Person p : /persons[ age > ").append(i).append(" ],\n")
+                    .append("    do { System.out.println(\"R").append(i).append(" \" + p.getName()); }\n")
+                    .append("}\n");
+        }
+
+        System.setProperty(DrlxLambdaTableMode.PROPERTY, "consequences");
+        try {
+            KieBase kieBase = new DrlxRuleBuilder().build(rules.toString());
+
+            // one full table and a single-block remainder compiled as a plain consequence
+            assertThat(collectConsequences(kieBase)).extracting(c -> c.getEvaluator().getClass()).distinct().hasSize(2);
+
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                unit.persons.add(new Person("John", 100));
+                assertThat(instance.fire()).isEqualTo(ruleCount);
+            }
+        } finally {
+            System.clearProperty(DrlxLambdaTableMode.PROPERTY);
+        }
+    }
+
+    @Test
+    void testShardedBatchCompilation() {
+        StringBuilder rules = new StringBuilder("""
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """);
+        int ruleCount = DrlxBatchCompiler.MIN_LAMBDAS_PER_SHARD; // a constraint and a consequence each: two shards
+        for (int i = 0; i < ruleCount; i++) {
+            rules.append("rule R").append(i).append(" {\n")
+                    .append("    Person p : /persons[ age * 2 > ").append(i).append(" ],\n")
+                    .append("    do { System.out.println(\"R").append(i).append(" \" + p.getName()); }\n")
+                    .append("}\n");
+        }
+
+        System.setProperty(DrlxBatchCompiler.SHARDS_PROPERTY, "2");
+        try {
+            KieBase kieBase = new DrlxRuleBuilder().build(rules.toString());
+
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                unit.persons.add(new Person("John", 25));
+                assertThat(instance.fire()).isEqualTo(50);
+            }
+        } finally {
+            System.clearProperty(DrlxBatchCompiler.SHARDS_PROPERTY);
+        }
+    }
+
     private String stripHiddenClassNameSuffix(String className) {
         return className.split("/0x")[0];
     }
@@ -146,6 +265,161 @@ class DrlxRuleBuilderTest {
                 .toList();
     }
 
+    @Test
+    void testIncrementalUpdateOfLiveKieBase() {
+        String header = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """;
+        String v1 = header + """
+                rule Keep {
+                    Person p : /persons[ age > 18 ],
+                    do { results.add("keep " + p.getName()); }
+                }
+
+                rule Edit {
+                    Person p : /persons[ age > 30 ],
+                    do { results.add("edit " + p.getName()); }
+                }
+
+                rule Drop {
+                    Person p : /persons[ name == "Alice" ],
+                    do { results.add("drop " + p.getName()); }
+                }
+                """;
+        String v2 = header + """
+                rule Keep {
+                    Person p : /persons[ age > 18 ],
+                    do { results.add("keep " + p.getName()); }
+                }
+
+                rule Edit {
+                    Person p : /persons[ age > 20 ],
+                    do { results.add("edit " + p.getName()); }
+                }
+
+                rule Add {
+                    Person p : /persons[ name == "Bob" ],
+                    do { results.add("add " + p.getName()); }
+                }
+                """;
+
+        DrlxRuleBuilder builder = new DrlxRuleBuilder();
+        KieBase kieBase = builder.build(v1);
+        Rule keep = kieBase.getRule("org.drools.drlx.parser", "Keep");
+
+        DrlxRuleDelta delta = builder.update(kieBase, v1, v2);
+
+        assertThat(delta.added()).containsExactly("Add");
+        assertThat(delta.changed()).containsExactly("Edit");
+        assertThat(delta.removed()).containsExactly("Drop");
+        assertThat(kieBase.getRule("org.drools.drlx.parser", "Keep")).isSameAs(keep);
+        assertThat(kieBase.getRule("org.drools.drlx.parser", "Drop")).isNull();
+
+        MyUnit unit = new MyUnit();
+        try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+            unit.persons.add(new Person("Alice", 40));
+            unit.persons.add(new Person("Bob", 25));
+            instance.fire();
+            assertThat(unit.results).containsExactlyInAnyOrder(
+                    "keep Alice", "keep Bob", "edit Alice", "edit Bob", "add Bob");
+        }
+    }
+
+    @Test
+    void testIncrementalUpdateOfRuleCallingUnchangedQuery() {
+        String query = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule PersonsByAge(int minAge, Person result) {
+                    Person result : /persons[ age >= minAge ],
+                }
+                """;
+        String v1 = query + """
+                rule Caller {
+                    /personsByAge(25, var p),
+                    do { results.add(p.getName()); }
+                }
+                """;
+        String v2 = query + """
+                rule Caller {
+                    /personsByAge(35, var p),
+                    do { results.add(p.getName()); }
+                }
+                """;
+
+        DrlxRuleBuilder builder = new DrlxRuleBuilder();
+        KieBase kieBase = builder.build(v1);
+        Rule personsByAge = kieBase.getRule("org.drools.drlx.parser", "PersonsByAge");
+
+        DrlxRuleDelta delta = builder.update(kieBase, v1, v2);
+
+        assertThat(delta.changed()).containsExactly("Caller");
+        assertThat(kieBase.getRule("org.drools.drlx.parser", "PersonsByAge")).isSameAs(personsByAge);
+
+        MyUnit unit = new MyUnit();
+        try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+            unit.persons.add(new Person("Alice", 30));
+            unit.persons.add(new Person("Charlie", 40));
+            instance.fire();
+            assertThat(unit.results).containsExactly("Charlie");
+        }
+    }
+
+    @Test
+    void testIncrementalUpdateOfQueryRebuildsItsUnchangedCallers() {
+        String header = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """;
+        String caller = """
+                rule Caller {
+                    /personsByAge(25, var p),
+                    do { results.add(p.getName()); }
+                }
+                """;
+        String v1 = header + """
+                rule PersonsByAge(int minAge, Person result) {
+                    Person result : /persons[ age >= minAge ],
+                }
+                """ + caller;
+        String v2 = header + """
+                rule PersonsByAge(int minAge, Person result) {
+                    Person result : /persons[ age >= minAge, name != "Alice" ],
+                }
+                """ + caller;
+
+        DrlxRuleBuilder builder = new DrlxRuleBuilder();
+        KieBase kieBase = builder.build(v1);
+        Rule callerRule = kieBase.getRule("org.drools.drlx.parser", "Caller");
+
+        DrlxRuleDelta delta = builder.update(kieBase, v1, v2);
+
+        assertThat(delta.changed()).containsExactly("PersonsByAge", "Caller");
+        assertThat(kieBase.getRule("org.drools.drlx.parser", "Caller")).isNotSameAs(callerRule);
+
+        MyUnit unit = new MyUnit();
+        try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+            unit.persons.add(new Person("Alice", 30));
+            unit.persons.add(new Person("Charlie", 40));
+            instance.fire();
+            assertThat(unit.results).containsExactly("Charlie");
+        }
+    }
+
     @Test
     void testPreBuild() throws IOException {
         String rule = """
@@ -158,13 +432,13 @@ class DrlxRuleBuilderTest {
                 unit MyUnit;
 
                 rule CheckAge1 {
-                    Person p : /persons[ age > 18 ],
+                    Person p : /persons[ name != null ],
                     do { System.out.println(p); }
                 }
 
                 rule CheckAge2 {
-                    Address s : /addresses[ city == "Tokyo" ],
-                        Person p : /persons[ age > 18 ],
+                    Address s : /addresses[ city != null ],
+                        Person p : /persons[ name != null ],
                     do { System.out.println(p); }
                 }
                 """;
@@ -174,16 +448,16 @@ class DrlxRuleBuilderTest {
         DrlxRuleBuilder builder = new DrlxRuleBuilder();
         DrlxLambdaMetadata metadata = builder.preBuild(rule, LambdaRuntime.defaultPersistencePath());
 
-        // CheckAge1: constraint(age > 18) -> 0, consequence(System.out.println(p);) -> 1
-        // CheckAge2: constraint(city == "Tokyo") -> 0, constraint(age > 18) -> 1, consequence(System.out.println(p);) -> 2
+        // CheckAge1: constraint(name != null) -> 0, consequence(System.out.println(p);) -> 1
+        // CheckAge2: constraint(city != null) -> 0, constraint(name != null) -> 1, consequence(System.out.println(p);) -> 2
         assertThat(metadata.size()).isEqualTo(5);
         assertThat(metadata.get("CheckAge1", 0)).isNotNull();
-        assertThat(metadata.get("CheckAge1", 0).expression()).isEqualTo("age > 18");
+        assertThat(metadata.get("CheckAge1", 0).expression()).isEqualTo("name != null");
         assertThat(metadata.get("CheckAge1", 1)).isNotNull();
         assertThat(metadata.get("CheckAge2", 0)).isNotNull();
-        assertThat(metadata.get("CheckAge2", 0).expression()).isEqualTo("city == \"Tokyo\"");
+        assertThat(metadata.get("CheckAge2", 0).expression()).isEqualTo("city != null");
         assertThat(metadata.get("CheckAge2", 1)).isNotNull();
-        assertThat(metadata.get("CheckAge2", 1).expression()).isEqualTo("age > 18");
+        assertThat(metadata.get("CheckAge2", 1).expression()).isEqualTo("name != null");
         assertThat(metadata.get("CheckAge2", 2)).isNotNull();
 
         // metadata file exists on disk
@@ -191,6 +465,101 @@ class DrlxRuleBuilderTest {
         assertThat(Files.exists(metadataFile)).isTrue();
     }
 
+    @Test
+    void testIdenticalLambdasCompileOnce() throws IOException {
+        String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule Named1 {
+                    Person p : /persons[ name != null ],
+                    do { results.add(p.getName()); }
+                }
+
+                rule Named2 {
+                    Person p : /persons[ name != null ],
+                    do { results.add(p.getName()); }
+                }
+
+                rule Aged {
+                    Person p : /persons[ age != 0 ],
+                    do { results.add(p.getAge()); }
+                }
+                """;
+
+        LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+        DrlxRuleBuilder builder = new DrlxRuleBuilder();
+        DrlxLambdaMetadata metadata = builder.preBuild(rule, LambdaRuntime.defaultPersistencePath());
+
+        // every lambda keeps its own entry, identical ones point to one class
+        assertThat(metadata.size()).isEqualTo(6);
+        assertThat(metadata.get("Named2", 0).fqn()).isEqualTo(metadata.get("Named1", 0).fqn());
+        assertThat(metadata.get("Named2", 1).fqn()).isEqualTo(metadata.get("Named1", 1).fqn());
+        assertThat(metadata.get("Aged", 0).fqn()).isNotEqualTo(metadata.get("Named1", 0).fqn());
+        assertThat(metadata.get("Aged", 1).fqn()).isNotEqualTo(metadata.get("Named1", 1).fqn());
+
+        KieBase kieBase = builder.build(rule, metadata);
+
+        MyUnit unit = new MyUnit();
+        try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+            unit.persons.add(new Person("John", 25));
+            assertThat(instance.fire()).isEqualTo(3);
+            assertThat(unit.results).containsExactlyInAnyOrder("John", "John", 25);
+        }
+    }
+
+    @Test
+    void testIdenticalMatchesKeepTheirOwnPreBuiltLambdas() throws IOException {
+        String header = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                """;
+        String first = """
+                rule First {
+                    var p : /persons,
+                    match (p.name)
+                        case "Alice" do { results.add("first alice"); }
+                        default do { results.add("first other"); }
+                }
+                """;
+        String second = """
+                rule Second {
+                    var p : /persons,
+                    match (p.name)
+                        case "Alice" do { results.add("second alice"); }
+                        default do { results.add("second other"); }
+                }
+                """;
+
+        LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+        DrlxRuleBuilder builder = new DrlxRuleBuilder();
+        DrlxLambdaMetadata metadata = builder.preBuild(header + first + second, LambdaRuntime.defaultPersistencePath());
+
+        // the dispatcher lambdas are recorded under each source rule's own counters
+        assertThat(metadata.get("Second$0", 0).expression()).isEqualTo(metadata.get("First$0", 0).expression());
+
+        // so Second still builds from the pre-build once First is gone
+        KieBase kieBase = builder.build(header + second, metadata);
+
+        MyUnit unit = new MyUnit();
+        try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+            unit.persons.add(new Person("Alice", 30));
+            unit.persons.add(new Person("Bob", 40));
+            instance.fire();
+            assertThat(unit.results).containsExactlyInAnyOrder("second alice", "second other");
+        }
+    }
+
     @Test
     void testRuntimeBuildWithPreCompiledClasses() throws IOException {
         String rule = """
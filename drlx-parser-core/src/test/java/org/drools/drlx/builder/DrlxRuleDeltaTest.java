@@ -0,0 +1,73 @@
+package org.drools.drlx.builder;
+
+import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxRuleDeltaTest {
+
+    private static final String HEADER = """
+            package org.drools.drlx.parser;
+
+            import org.drools.drlx.domain.Person;
+
+            import org.drools.drlx.ruleunit.MyUnit;
+            unit MyUnit;
+            """;
+
+    private static final String KEEP = """
+            rule Keep {
+                Person p : /persons[ age > 18 ],
+                do { results.add(p); }
+            }
+            """;
+
+    private static final String EDIT = """
+            rule Edit {
+                Person p : /persons[ age > 30 ],
+                do { results.add(p); }
+            }
+            """;
+
+    private static final String DROP = """
+            rule Drop {
+                Person p : /persons[ name == "Alice" ],
+                do { results.add(p); }
+            }
+            """;
+
+    private static final String ADD = """
+            rule Add {
+                Person p : /persons[ name == "Bob" ],
+                do { results.add(p); }
+            }
+            """;
+
+    @Test
+    void rulesAreAddedChangedOrRemovedByName() {
+        CompilationUnitIR previous = DrlxRuleBuilder.parseToAst(HEADER + KEEP + EDIT + DROP);
+        CompilationUnitIR next = DrlxRuleBuilder.parseToAst(HEADER + "// reformatted\n" + KEEP
+                + EDIT.replace("age > 30", "age > 40") + ADD);
+
+        DrlxRuleDelta delta = DrlxRuleDelta.between(previous, next);
+
+        assertThat(delta.added()).containsExactly("Add");
+        assertThat(delta.changed()).containsExactly("Edit");
+        assertThat(delta.removed()).containsExactly("Drop");
+        assertThat(DrlxRuleDelta.between(next, next).isEmpty()).isTrue();
+    }
+
+    @Test
+    void headerChangeChangesEveryCommonRule() {
+        CompilationUnitIR previous = DrlxRuleBuilder.parseToAst(HEADER + KEEP + EDIT);
+        CompilationUnitIR next = DrlxRuleBuilder.parseToAst(
+                HEADER.replace("unit MyUnit;", "import org.drools.drlx.domain.Address;\nunit MyUnit;") + KEEP + EDIT);
+
+        DrlxRuleDelta delta = DrlxRuleDelta.between(previous, next);
+
+        assertThat(delta.changed()).containsExactly("Keep", "Edit");
+        assertThat(delta.added()).isEmpty();
+        assertThat(delta.removed()).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package org.drools.drlx.builder;
+
+import org.drools.drlx.builder.DrlxRuleSourceSpans.RuleSpan;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrlxRuleSourceSpansTest {
+
+    private static final String HEADER = """
+            package org.drools.drlx.parser;
+
+            import org.drools.drlx.domain.Person;
+            import org.drools.drlx.ruleunit.MyUnit;
+
+            unit MyUnit;""";
+
+    @Test
+    void splitsHeaderAndRulesWithTheirAnnotations() {
+        String source = HEADER + """
+
+
+                // adults
+                rule Adult {
+                    Person p : /persons[ age >= 18 ],
+                    do { results.add(p); }
+                }
+
+                @Salience(10)
+                rule Named {
+                    Person p : /persons[ name == "}" ],
+                    do { results.add(p); }
+                }
+                """;
+
+        DrlxRuleSourceSpans spans = DrlxRuleSourceSpans.of(source);
+
+        assertThat(spans.header()).isEqualTo(HEADER);
+        assertThat(spans.rules()).extracting(RuleSpan::name).containsExactly("Adult", "Named");
+        assertThat(spans.rules().get(0).text()).startsWith("rule Adult {").endsWith("}");
+        assertThat(spans.rules().get(1).text()).startsWith("@Salience(10)").contains("name == \"}\"").endsWith("}");
+    }
+
+    @Test
+    void windowDeclarationsBelongToTheHeader() {
+        String source = HEADER + """
+
+                window Recent {
+                    /persons | time[5s]
+                }
+
+                rule R {
+                    var p : /recent,
+                    do { results.add(p); }
+                }
+                """;
+
+        DrlxRuleSourceSpans spans = DrlxRuleSourceSpans.of(source);
+
+        assertThat(spans.header()).startsWith(HEADER).endsWith("time[5s]\n}");
+        assertThat(spans.rules()).extracting(RuleSpan::name).containsExactly("R");
+    }
+
+    @Test
+    void sourceThatIsNotHeaderThenRulesIsNotSplit() {
+        assertThat(DrlxRuleSourceSpans.of(HEADER + "\nrule R { do { results.add(1); }")).isNull();
+        assertThat(DrlxRuleSourceSpans.of(HEADER + "\nrule R { do { results.add(1); } }\nunit Other;")).isNull();
+        assertThat(DrlxRuleSourceSpans.of(HEADER).rules()).isEmpty();
+    }
+}
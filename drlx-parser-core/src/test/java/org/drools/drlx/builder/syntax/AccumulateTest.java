@@ -24,6 +24,7 @@ import org.drools.base.rule.GroupElement;
 import org.drools.base.rule.MultiAccumulate;
 import org.drools.base.rule.Pattern;
 import org.drools.base.rule.SingleAccumulate;
+import org.drools.drlx.builder.DrlxPrimitiveAccumulator;
 import org.drools.drlx.builder.DrlxRuleBuilder;
 import org.drools.drlx.domain.Order;
 import org.drools.drlx.domain.Person;
@@ -866,6 +867,68 @@ class AccumulateTest extends DrlxBuilderTestSupport {
         });
     }
 
+    @Test
+    void builtInFunctionsUsePrimitiveAccumulators() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule R {
+                    var p : /persons,
+                    var minAge = min(p.age),
+                    var total = sum(p.age + 1),
+                    long n = count(),
+                    do {}
+                }
+                """;
+        final KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        final Pattern wrap = accumulateResultPattern(kieBase, "org.drools.drlx.parser", "R");
+
+        assertThat(((MultiAccumulate) wrap.getSource()).getAccumulators())
+                .extracting(Object::toString)
+                .containsExactly("min (long)", "sum (double)", "count");
+        assertThat(((MultiAccumulate) wrap.getSource()).getAccumulators())
+                .allSatisfy(a -> assertThat(a).isInstanceOf(DrlxPrimitiveAccumulator.class));
+    }
+
+    @Test
+    void primitiveSumAvgCountReverseOnRetraction() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule R {
+                    var p : /persons,
+                    var total = sum(p.age),
+                    var avgAge = avg(p.age),
+                    var maxAge = max(p.age),
+                    long n = count(),
+                    do { results.add(total); results.add(avgAge); results.add(maxAge); results.add(n); }
+                }
+                """;
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("A", 10));
+            DataHandle h2 = unit.persons.add(new Person("B", 50));
+            unit.persons.add(new Person("C", 30));
+            instance.fire();
+            assertThat(unit.results).containsExactly(90.0, 30.0, 50, 3L);
+
+            unit.results.clear();
+            unit.persons.remove(h2);
+            instance.fire();
+            assertThat(unit.results).containsExactly(40.0, 20.0, 30, 2L);
+        });
+    }
+
     // --- acc() keyword form tests ---
 
     @Test
@@ -1043,6 +1106,40 @@ class AccumulateTest extends DrlxBuilderTestSupport {
         });
     }
 
+    @Test
+    void accKeywordPrimitiveStateOfSeveralTypes() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule R {
+                    acc(var p : /persons,
+                        { long total = 0L; boolean anyMinor = false; },
+                        { total = total + p.age; if (p.age < 18) { anyMinor = true; } },
+                        { total = total - p.age; },
+                        String summary = total + ":" + anyMinor),
+                    do { results.add(summary); }
+                }
+                """;
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            DataHandle h1 = unit.persons.add(new Person("A", 20));
+            unit.persons.add(new Person("B", 70));
+            unit.persons.add(new Person("C", 10));
+            instance.fire();
+            assertThat(unit.results).containsExactly("100:true");
+
+            unit.results.clear();
+            unit.persons.remove(h1);
+            instance.fire();
+            assertThat(unit.results).containsExactly("80:true");
+        });
+    }
+
     // --- multi-pattern source (and()) tests ---
 
     @Test
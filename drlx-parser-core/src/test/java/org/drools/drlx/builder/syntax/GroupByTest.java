@@ -12,6 +12,8 @@
 
 package org.drools.drlx.builder.syntax;
 
+import java.util.List;
+
 import org.drools.base.base.ClassObjectType;
 import org.drools.base.base.extractors.ArrayElementReader;
 import org.drools.base.definitions.rule.impl.RuleImpl;
@@ -19,9 +21,11 @@ import org.drools.base.rule.Accumulate;
 import org.drools.base.rule.Declaration;
 import org.drools.base.rule.Pattern;
 import org.drools.drlx.builder.DrlxGroupByAccumulate;
+import org.drools.drlx.builder.DrlxGroupKey;
 import org.drools.drlx.builder.DrlxRuleBuilder;
 import org.drools.drlx.domain.Person;
 import org.drools.drlx.domain.Order;
+import org.drools.ruleunits.api.DataHandle;
 import org.junit.jupiter.api.Test;
 import org.kie.api.KieBase;
 
@@ -145,6 +149,106 @@ class GroupByTest extends DrlxBuilderTestSupport {
         });
     }
 
+    @Test
+    void multiPatternSourceKeyAndExtractorOverBothBindings() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.domain.Order;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule R {
+                    groupBy(and(var p : /persons, var o : /orders[customerId == p.age]),
+                            p.name + ":" + o.customerId,
+                            var total = sum(o.amount * p.age)),
+                    do { results.add(total); }
+                }
+                """;
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 1));
+            unit.persons.add(new Person("Bob", 2));
+            DataHandle o1 = unit.orders.add(new Order("O1", 1, 100));
+            unit.orders.add(new Order("O2", 1, 200));
+            unit.orders.add(new Order("O3", 2, 50));
+            instance.fire();
+            assertThat(unit.results).containsExactlyInAnyOrder(300.0, 100.0);
+
+            unit.results.clear();
+            unit.orders.remove(o1);
+            instance.fire();
+            assertThat(unit.results).containsExactly(200.0);
+        });
+    }
+
+    @Test
+    void compositePropertyKey() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule R {
+                    groupBy(var p : /persons,
+                            var g = [p.name, p.age],
+                            var c = count()),
+                    do { results.add(g); results.add(c); }
+                }
+                """;
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 20));
+            unit.persons.add(new Person("Alice", 20));
+            unit.persons.add(new Person("Alice", 40));
+            DataHandle bob = unit.persons.add(new Person("Bob", 20));
+            instance.fire();
+            assertThat(unit.results).hasSize(6);
+            assertThat(unit.results).contains(List.of("Alice", 20), 2L, List.of("Alice", 40), List.of("Bob", 20));
+            assertThat(unit.results.get(0)).isInstanceOf(DrlxGroupKey.class);
+
+            unit.results.clear();
+            unit.persons.remove(bob);
+            unit.persons.add(new Person("Alice", 40));
+            instance.fire();
+            assertThat(unit.results).containsExactly(List.of("Alice", 40), 2L);
+        });
+    }
+
+    @Test
+    void primitivePropertyKey() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+
+                rule R {
+                    groupBy(var p : /persons,
+                            var g = p.age,
+                            var c = count()),
+                    do { results.add(g); results.add(c); }
+                }
+                """;
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 20));
+            unit.persons.add(new Person("Bob", 20));
+            unit.persons.add(new Person("Carol", 300));
+            unit.persons.add(new Person("Dave", 300));
+            instance.fire();
+            assertThat(unit.results).hasSize(4);
+            assertThat(unit.results).contains(20, 300, 2L);
+        });
+    }
+
     @Test
     void customAccumulator3Param() {
         final String rule = """
@@ -6,8 +6,9 @@ import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.ConsequenceIR;
-import org.drools.drlx.builder.DrlxRuleAstModel.EvalIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.LhsItemIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchCaseIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchGuardIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleIR;
 import org.drools.drlx.builder.DrlxToRuleAstVisitor;
@@ -73,8 +74,11 @@ class IfElseFormBParseTest {
         RuleIR r0 = rules.get(0);
         assertThat(r0.lhs()).hasSize(3);
         assertThat(r0.lhs().get(0)).isInstanceOf(PatternIR.class);
-        assertThat(r0.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).contains("Rating.LOW"));
+        assertThat(r0.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class, g -> {
+            assertThat(g.subject()).isEmpty();
+            assertThat(g.caseIndex()).isZero();
+            assertThat(g.cases()).extracting(MatchCaseIR::condition).containsExactly("c.creditRating == Rating.LOW");
+        });
         assertThat(r0.lhs().get(2)).isInstanceOf(PatternIR.class);
         assertThat(r0.rhs()).isNotNull();
         assertThat(r0.rhs().block()).contains("System.out.println");
@@ -82,8 +86,8 @@ class IfElseFormBParseTest {
         RuleIR r1 = rules.get(1);
         assertThat(r1.lhs()).hasSize(3);
         assertThat(r1.lhs().get(0)).isInstanceOf(PatternIR.class);
-        assertThat(r1.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).startsWith("!(").contains("Rating.LOW"));
+        assertThat(r1.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.caseIndex()).isEqualTo(1));
         assertThat(r1.lhs().get(2)).isInstanceOf(PatternIR.class);
         assertThat(r1.rhs()).isNotNull();
     }
@@ -118,19 +122,19 @@ class IfElseFormBParseTest {
         assertThat(rules.get(1).name()).isEqualTo("R$1");
         assertThat(rules.get(2).name()).isEqualTo("R$2");
 
+        // one guard per branch rule, however many arms precede it
         RuleIR r1 = rules.get(1);
-        assertThat(r1.lhs()).hasSize(4);
-        assertThat(r1.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).startsWith("!(").contains("Rating.LOW"));
-        assertThat(r1.lhs().get(2)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).contains("Rating.MEDIUM").doesNotStartWith("!("));
+        assertThat(r1.lhs()).hasSize(3);
+        assertThat(r1.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class, g -> {
+            assertThat(g.caseIndex()).isEqualTo(1);
+            assertThat(g.cases()).extracting(MatchCaseIR::condition).containsExactly(
+                    "c.creditRating == Rating.LOW", "c.creditRating == Rating.MEDIUM");
+        });
 
         RuleIR r2 = rules.get(2);
-        assertThat(r2.lhs()).hasSize(4);
-        assertThat(r2.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).startsWith("!(").contains("Rating.LOW"));
-        assertThat(r2.lhs().get(2)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).startsWith("!(").contains("Rating.MEDIUM"));
+        assertThat(r2.lhs()).hasSize(3);
+        assertThat(r2.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.caseIndex()).isEqualTo(2));
     }
 
     @Test
@@ -1,6 +1,7 @@
 package org.drools.drlx.builder.syntax;
 
 import org.drools.drlx.domain.Customer;
+import org.drools.drlx.domain.Person;
 import org.drools.drlx.domain.Product;
 import org.drools.drlx.domain.Rating;
 import org.drools.drlx.domain.Rates;
@@ -106,6 +107,36 @@ class IfElseFormBTest extends DrlxBuilderTestSupport {
         });
     }
 
+    @Test
+    void overlappingConditions_firstTrueBranchFires() {
+        String rule = """
+                package org.drools.drlx.parser;
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                rule R1 {
+                    var p : /persons,
+                    if (p.age > 60) {
+                        do { System.out.println("senior"); }
+                    } else if (p.age > 40) {
+                        do { System.out.println("middle"); }
+                    } else if (p.age > 18) {
+                        do { System.out.println("adult"); }
+                    } else {
+                        do { System.out.println("minor"); }
+                    }
+                }
+                """;
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 70));
+            unit.persons.add(new Person("Bob", 50));
+            unit.persons.add(new Person("Carol", 30));
+            unit.persons.add(new Person("Dave", 10));
+            assertThat(instance.fire()).isEqualTo(4);
+            assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("R1$0", "R1$1", "R1$2", "R1$3");
+        });
+    }
+
     @Test
     void noFinalElse_noMatchDoesNotFire() {
         String rule = """
@@ -0,0 +1,259 @@
+package org.drools.drlx.builder.syntax;
+
+import java.util.List;
+
+import org.drools.base.definitions.rule.impl.RuleImpl;
+import org.drools.base.rule.Pattern;
+import org.drools.base.rule.constraint.Constraint;
+import org.drools.drlx.builder.DrlxIndexedAlphaConstraint;
+import org.drools.drlx.builder.DrlxLambdaConstraint;
+import org.drools.drlx.builder.DrlxRuleBuilder;
+import org.drools.drlx.domain.Address;
+import org.drools.drlx.domain.Person;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedAlphaTest extends DrlxBuilderTestSupport {
+
+    @Test
+    void literalEqualityIsIndexed() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule Alice {
+                    Person p : /persons[ name == "Alice" ],
+                    do { System.out.println(p); }
+                }
+
+                rule Bob {
+                    Person p : /persons[ name == "Bob" ],
+                    do { System.out.println(p); }
+                }
+
+                rule Carol {
+                    Person p : /persons[ "Carol" == name ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "Carol"))
+                .singleElement().isInstanceOfSatisfying(DrlxIndexedAlphaConstraint.class,
+                        c -> assertThat(c.getValue()).isEqualTo("Carol"));
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 30));
+            unit.persons.add(new Person("Carol", 40));
+            unit.persons.add(new Person("Dave", 50));
+
+            assertThat(instance.fire()).isEqualTo(2);
+            assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("Alice", "Carol");
+        });
+    }
+
+    @Test
+    void literalRelationalIsIndexed() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule Adult {
+                    Person p : /persons[ age >= 18 ],
+                    do { System.out.println(p); }
+                }
+
+                rule Minor {
+                    Person p : /persons[ 18 > age ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "Adult"))
+                .singleElement().isInstanceOf(DrlxIndexedAlphaConstraint.class);
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 18));
+            unit.persons.add(new Person("Bob", 17));
+
+            assertThat(instance.fire()).isEqualTo(2);
+            assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("Adult", "Minor");
+        });
+    }
+
+    @Test
+    void bandingConditionIsSplit() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule Youth {
+                    Person p : /persons[ age >= 18 && age < 25 ],
+                    do { System.out.println(p); }
+                }
+
+                rule Senior {
+                    Person p : /persons[ age >= 65 ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "Youth"))
+                .hasSize(2)
+                .allSatisfy(c -> assertThat(c).isInstanceOf(DrlxIndexedAlphaConstraint.class))
+                .extracting(Object::toString)
+                .containsExactly("age >= 18", "age < 25");
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 17));
+            unit.persons.add(new Person("Bob", 20));
+            unit.persons.add(new Person("Carol", 25));
+            unit.persons.add(new Person("Dave", 70));
+
+            assertThat(instance.fire()).isEqualTo(2);
+            assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("Youth", "Senior");
+        });
+    }
+
+    @Test
+    void mismatchedLiteralStaysLambda() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule FractionalAge {
+                    Person p : /persons[ age == 1.5 ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "FractionalAge"))
+                .singleElement().isInstanceOf(DrlxLambdaConstraint.class);
+    }
+
+    @Test
+    void foldedLiteralIsIndexed() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule Older {
+                    Person p : /persons[ age > 10 * 2 + 1 ],
+                    do { System.out.println(p); }
+                }
+
+                rule Named {
+                    Person p : /persons[ name == "Al" + "ice" ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "Older"))
+                .singleElement().isInstanceOfSatisfying(DrlxIndexedAlphaConstraint.class,
+                        c -> assertThat(c.getValue()).isEqualTo(21));
+        assertThat(alphaConstraints(kieBase, "Named"))
+                .singleElement().isInstanceOfSatisfying(DrlxIndexedAlphaConstraint.class,
+                        c -> assertThat(c.getValue()).isEqualTo("Alice"));
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 21));
+            unit.persons.add(new Person("Bob", 22));
+
+            assertThat(instance.fire()).isEqualTo(2);
+            assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("Older", "Named");
+        });
+    }
+
+    @Test
+    void constantObjectIsInstantiatedOnce() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Address;
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule InParis {
+                    Person p : /persons[ address == new Address("Paris") ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "InParis"))
+                .singleElement().isInstanceOfSatisfying(DrlxIndexedAlphaConstraint.class,
+                        c -> assertThat(c.getValue()).isEqualTo(new Address("Paris")));
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 30, new Address("Paris")));
+            unit.persons.add(new Person("Bob", 30, new Address("Rome")));
+
+            assertThat(instance.fire()).isEqualTo(1);
+            assertThat(listener.getAfterMatchFired()).containsExactly("InParis");
+        });
+    }
+
+    @Test
+    void bindingNameInsideStringLiteralStaysAlpha() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Address;
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule Named {
+                    Address city : /addresses,
+                    Person p : /persons[ name == "city" ],
+                    do { System.out.println(p); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        assertThat(alphaConstraints(kieBase, "Named"))
+                .singleElement().isInstanceOfSatisfying(DrlxIndexedAlphaConstraint.class,
+                        c -> assertThat(c.getValue()).isEqualTo("city"));
+    }
+
+    private static List<Constraint> alphaConstraints(KieBase kieBase, String ruleName) {
+        RuleImpl impl = (RuleImpl) kieBase.getKiePackage("org.drools.drlx.parser").getRules().stream()
+                .filter(r -> r.getName().equals(ruleName))
+                .findFirst().orElseThrow();
+        return impl.getLhs().getChildren().stream()
+                .filter(Pattern.class::isInstance)
+                .map(Pattern.class::cast)
+                .flatMap(p -> p.getConstraints().stream())
+                .filter(c -> c.getType() == Constraint.ConstraintType.ALPHA)
+                .toList();
+    }
+}
@@ -0,0 +1,142 @@
+package org.drools.drlx.builder.syntax;
+
+import java.util.List;
+
+import org.drools.base.definitions.rule.impl.RuleImpl;
+import org.drools.base.rule.Pattern;
+import org.drools.base.rule.constraint.Constraint;
+import org.drools.drlx.builder.DrlxIndexedBetaConstraint;
+import org.drools.drlx.builder.DrlxLambdaBetaConstraint;
+import org.drools.drlx.builder.DrlxRuleBuilder;
+import org.drools.drlx.domain.Person;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieBase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedJoinTest extends DrlxBuilderTestSupport {
+
+    @Test
+    void propertyEqualityJoinIsIndexed() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule JoinByName {
+                    Person p1 : /persons1,
+                    Person p2 : /persons2[ name == p1.name ],
+                    do { System.out.println("joined"); }
+                }
+                """;
+
+        assertThat(joinConstraints(rule, "JoinByName"))
+                .singleElement().isInstanceOf(DrlxIndexedBetaConstraint.class);
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons1.add(new Person("Alice", 30));
+            unit.persons1.add(new Person("Bob", 40));
+            unit.persons2.add(new Person("Alice", 25));
+            unit.persons2.add(new Person("Carol", 50));
+
+            assertThat(instance.fire()).isEqualTo(1);
+            assertThat(listener.getAfterMatchFired()).containsExactly("JoinByName");
+        });
+    }
+
+    @Test
+    void joinKeyIsNotDeclaredOnTheReferencedPattern() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule JoinByName {
+                    Person p1 : /persons1,
+                    Person p2 : /persons2[ name == p1.name ],
+                    do { results.add(p1.getAge() + p2.getAge()); }
+                }
+                """;
+
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        RuleImpl impl = (RuleImpl) kieBase.getRule("org.drools.drlx.parser", "JoinByName");
+        assertThat(impl.getDeclarations().keySet()).containsExactlyInAnyOrder("p1", "p2");
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons1.add(new Person("Alice", 30));
+            unit.persons2.add(new Person("Alice", 25));
+
+            assertThat(instance.fire()).isEqualTo(1);
+            assertThat(unit.results).containsExactly(55);
+        });
+    }
+
+    @Test
+    void reversedOperandsAreIndexed() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule JoinByAge {
+                    Person p1 : /persons1,
+                    Person p2 : /persons2[ p1.age == age ],
+                    do { System.out.println("joined"); }
+                }
+                """;
+
+        assertThat(joinConstraints(rule, "JoinByAge"))
+                .singleElement().isInstanceOf(DrlxIndexedBetaConstraint.class);
+
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons1.add(new Person("Alice", 30));
+            unit.persons2.add(new Person("Bob", 30));
+            unit.persons2.add(new Person("Carol", 31));
+
+            assertThat(instance.fire()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void relationalJoinStaysLambda() {
+        final String rule = """
+                package org.drools.drlx.parser;
+
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+
+                unit MyUnit;
+
+                rule Younger {
+                    Person p1 : /persons1,
+                    Person p2 : /persons2[ age < p1.age ],
+                    do { System.out.println("younger"); }
+                }
+                """;
+
+        assertThat(joinConstraints(rule, "Younger"))
+                .singleElement().isInstanceOf(DrlxLambdaBetaConstraint.class);
+    }
+
+    private static List<Constraint> joinConstraints(String rule, String ruleName) {
+        KieBase kieBase = new DrlxRuleBuilder().build(rule);
+        RuleImpl impl = (RuleImpl) kieBase.getKiePackage("org.drools.drlx.parser").getRules().stream()
+                .filter(r -> r.getName().equals(ruleName))
+                .findFirst().orElseThrow();
+        return impl.getLhs().getChildren().stream()
+                .filter(Pattern.class::isInstance)
+                .map(Pattern.class::cast)
+                .flatMap(p -> p.getConstraints().stream())
+                .filter(c -> c.getType() == Constraint.ConstraintType.BETA)
+                .toList();
+    }
+}
@@ -5,7 +5,8 @@ import java.util.List;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.drools.drlx.builder.DrlxRuleAstModel.CompilationUnitIR;
-import org.drools.drlx.builder.DrlxRuleAstModel.EvalIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchCaseIR;
+import org.drools.drlx.builder.DrlxRuleAstModel.MatchGuardIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.PatternIR;
 import org.drools.drlx.builder.DrlxRuleAstModel.RuleIR;
 import org.drools.drlx.builder.DrlxToRuleAstVisitor;
@@ -85,22 +86,25 @@ class MatchParseTest {
 
         RuleIR r0 = rules.get(0);
         assertThat(r0.lhs().get(0)).isInstanceOf(PatternIR.class);
-        assertThat(r0.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).isEqualTo("c.creditRating == Rating.LOW"));
+        assertThat(r0.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class, g -> {
+            assertThat(g.subject()).isEqualTo("c.creditRating");
+            assertThat(g.caseIndex()).isZero();
+            assertThat(g.cases()).extracting(MatchCaseIR::condition).containsExactly(
+                    "c.creditRating == Rating.LOW", "c.creditRating == Rating.MEDIUM");
+            assertThat(g.cases()).extracting(MatchCaseIR::value).containsExactly("Rating.LOW", "Rating.MEDIUM");
+        });
         assertThat(r0.lhs().get(2)).isInstanceOf(PatternIR.class);
 
+        // one guard per case rule, no negations of earlier cases
         RuleIR r1 = rules.get(1);
-        assertThat(r1.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).isEqualTo("!(c.creditRating == Rating.LOW)"));
-        assertThat(r1.lhs().get(2)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).isEqualTo("c.creditRating == Rating.MEDIUM"));
+        assertThat(r1.lhs()).hasSize(3);
+        assertThat(r1.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.caseIndex()).isEqualTo(1));
 
         RuleIR r2 = rules.get(2);
-        assertThat(r2.lhs()).hasSize(3);
-        assertThat(r2.lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).startsWith("!("));
-        assertThat(r2.lhs().get(2)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).startsWith("!("));
+        assertThat(r2.lhs()).hasSize(2);
+        assertThat(r2.lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.caseIndex()).isEqualTo(2));
     }
 
     @Test
@@ -119,8 +123,11 @@ class MatchParseTest {
                 """;
         List<RuleIR> rules = parseRules(rule);
         assertThat(rules).hasSize(2);
-        assertThat(rules.get(0).lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).isEqualTo("o instanceof Car"));
+        assertThat(rules.get(0).lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.cases()).singleElement().satisfies(c -> {
+                    assertThat(c.typeName()).isEqualTo("Car");
+                    assertThat(c.condition()).isEqualTo("o instanceof Car");
+                }));
     }
 
     @Test
@@ -139,8 +146,8 @@ class MatchParseTest {
                 """;
         List<RuleIR> rules = parseRules(rule);
         assertThat(rules).hasSize(2);
-        assertThat(rules.get(0).lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).isEqualTo("o instanceof Car && ((Car)o).speed > 80"));
+        assertThat(rules.get(0).lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.cases().get(0).condition()).isEqualTo("o instanceof Car && ((Car)o).speed > 80"));
     }
 
     @Test
@@ -158,8 +165,8 @@ class MatchParseTest {
                 }
                 """;
         List<RuleIR> rules = parseRules(rule);
-        assertThat(rules.get(0).lhs().get(1)).isInstanceOfSatisfying(EvalIR.class,
-                e -> assertThat(e.expression()).isEqualTo(
+        assertThat(rules.get(0).lhs().get(1)).isInstanceOfSatisfying(MatchGuardIR.class,
+                g -> assertThat(g.cases().get(0).condition()).isEqualTo(
                         "o instanceof Car && ((Car)o).speed > 80 && ((Car)o).vin == \"ABC\""));
     }
 
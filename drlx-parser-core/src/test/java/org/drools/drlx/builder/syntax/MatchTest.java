@@ -2,6 +2,7 @@ package org.drools.drlx.builder.syntax;
 
 import org.drools.drlx.domain.Car;
 import org.drools.drlx.domain.Customer;
+import org.drools.drlx.domain.Person;
 import org.drools.drlx.domain.Product;
 import org.drools.drlx.domain.Rating;
 import org.drools.drlx.domain.Rates;
@@ -286,4 +287,55 @@ class MatchTest extends DrlxBuilderTestSupport {
             assertThat(listener.getAfterMatchFired()).containsExactly("R1$0");
         });
     }
+
+    @Test
+    void literalMatch_firstMatchingCaseWins() {
+        // "Alice" and "Bob" are dispatched by hash; the non-literal case between them
+        // is still tested in source order, so it takes "Bob" before the literal case does.
+        String rule = """
+                package org.drools.drlx.parser;
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                rule R1 {
+                    var p : /persons,
+                    match (p.name)
+                        case "Alice" do { System.out.println("alice"); }
+                        case "Bo" + "b" do { System.out.println("computed bob"); }
+                        case "Bob" do { System.out.println("literal bob"); }
+                        default do { System.out.println("other"); }
+                }
+                """;
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 30));
+            unit.persons.add(new Person("Bob", 40));
+            unit.persons.add(new Person("Carol", 50));
+            assertThat(instance.fire()).isEqualTo(3);
+            assertThat(listener.getAfterMatchFired()).containsExactlyInAnyOrder("R1$0", "R1$1", "R1$3");
+        });
+    }
+
+    @Test
+    void literalMatch_updatedFactIsDispatchedAgain() {
+        // the selected case is kept per propagation: the update must not reuse it
+        String rule = """
+                package org.drools.drlx.parser;
+                import org.drools.drlx.domain.Person;
+                import org.drools.drlx.ruleunit.MyUnit;
+                unit MyUnit;
+                rule R1 {
+                    var p : /persons,
+                    match (p.age)
+                        case 30 do { p.setAge(40); persons.update(p); }
+                        case 40 do { results.add("forty"); }
+                        default do { results.add("other"); }
+                }
+                """;
+        withMyUnitInstance(rule, (instance, unit, listener) -> {
+            unit.persons.add(new Person("Alice", 30));
+            assertThat(instance.fire()).isEqualTo(2);
+            assertThat(listener.getAfterMatchFired()).containsExactly("R1$0", "R1$1");
+            assertThat(unit.results).containsExactly("forty");
+        });
+    }
 }
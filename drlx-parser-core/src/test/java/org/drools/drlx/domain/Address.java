@@ -1,5 +1,7 @@
 package org.drools.drlx.domain;
 
+import java.util.Objects;
+
 public class Address {
     private String city;
 
@@ -15,6 +17,16 @@ public class Address {
         this.city = city;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Address other && Objects.equals(city, other.city);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(city);
+    }
+
     @Override
     public String toString() {
         return "Address{" +
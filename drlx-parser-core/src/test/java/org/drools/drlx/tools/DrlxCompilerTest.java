@@ -5,7 +5,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.drools.core.event.TrackingAgendaEventListener;
+import org.drools.drlx.builder.DrlxBuildArchive;
 import org.drools.drlx.builder.DrlxBuildCacheStrategy;
+import org.drools.drlx.builder.DrlxLambdaDefineMode;
+import org.drools.drlx.builder.DrlxLambdaLoadMode;
 import org.drools.drlx.builder.DrlxLambdaMetadata;
 import org.drools.drlx.builder.DrlxRuleAstParseResult;
 import org.drools.drlx.domain.Address;
@@ -76,6 +79,270 @@ class DrlxCompilerTest {
         }
     }
 
+    @Test
+    void testTwoStepBuildWithRuleAstParseResultForGroupBy() throws IOException {
+        String previousStrategy = System.getProperty(DrlxBuildCacheStrategy.PROPERTY);
+        System.setProperty(DrlxBuildCacheStrategy.PROPERTY, "ruleAst");
+
+        try {
+            String rule = """
+                    package org.drools.drlx.parser;
+
+                    import org.drools.drlx.domain.Person;
+
+                    import org.drools.drlx.ruleunit.MyUnit;
+                    unit MyUnit;
+
+                    rule AvgAgeByName {
+                        groupBy(var p : /persons,
+                                var g = p.name,
+                                var avgAge = avg(p.age)),
+                        do { results.add(g + "=" + avgAge); }
+                    }
+
+                    rule AgesByName {
+                        groupBy(var p : /persons,
+                                var g = p.name,
+                                int s = 0;,
+                                (s = s + p.age, s = s - p.age),
+                                int total = s),
+                        do { results.add(g + ":" + total); }
+                    }
+                    """;
+
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            Path outputDir = Files.createTempDirectory("drlx-rule-ast-");
+            DrlxCompiler compiler = new DrlxCompiler(outputDir);
+
+            compiler.preBuild(rule);
+            assertThat(Files.exists(DrlxRuleAstParseResult.parseResultFilePath(outputDir))).isTrue();
+
+            KieBase kieBase = compiler.build(rule);
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                unit.persons.add(new Person("Alice", 20));
+                unit.persons.add(new Person("Alice", 40));
+                unit.persons.add(new Person("Bob", 30));
+
+                instance.fire();
+                assertThat(unit.results).containsExactlyInAnyOrder(
+                        "Alice=30.0", "Bob=30.0", "Alice:60", "Bob:30");
+            }
+        } finally {
+            restoreProperty(DrlxBuildCacheStrategy.PROPERTY, previousStrategy);
+        }
+    }
+
+    @Test
+    void testBuildAfterEditingOneRuleReusesTheOthers() throws IOException {
+        String previousStrategy = System.getProperty(DrlxBuildCacheStrategy.PROPERTY);
+        System.setProperty(DrlxBuildCacheStrategy.PROPERTY, "ruleAst");
+
+        try {
+            String header = """
+                    package org.drools.drlx.parser;
+
+                    import org.drools.drlx.domain.Person;
+
+                    import org.drools.drlx.ruleunit.MyUnit;
+                    unit MyUnit;
+                    """;
+            String senior = """
+                    rule Senior {
+                        Person p : /persons[ age > 60 ],
+                        do { results.add("senior " + p.getName()); }
+                    }
+                    """;
+            String adult = """
+                    rule Adult {
+                        Person p : /persons[ age > 18 ],
+                        do { results.add("adult " + p.getName()); }
+                    }
+                    """;
+
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            Path outputDir = Files.createTempDirectory("drlx-rule-ast-");
+            DrlxCompiler compiler = new DrlxCompiler(outputDir);
+            compiler.preBuild(header + senior + adult);
+
+            // Adult's constraint and consequence no longer match the pre-built lambdas:
+            // without per-rule invalidation the default fail-fast mode would reject the build
+            String edited = header + senior + adult.replace("age > 18", "age > 21").replace("adult ", "grown-up ");
+            KieBase kieBase = compiler.build(edited);
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                unit.persons.add(new Person("Alice", 70));
+                unit.persons.add(new Person("Bob", 20));
+
+                instance.fire();
+                assertThat(unit.results).containsExactlyInAnyOrder("senior Alice", "grown-up Alice");
+            }
+        } finally {
+            restoreProperty(DrlxBuildCacheStrategy.PROPERTY, previousStrategy);
+        }
+    }
+
+    @Test
+    void testTwoStepBuildWithRelocatedArchive() throws IOException {
+        String previousStrategy = System.getProperty(DrlxBuildCacheStrategy.PROPERTY);
+        System.setProperty(DrlxBuildCacheStrategy.PROPERTY, "archive");
+
+        try {
+            String rule = """
+                    package org.drools.drlx.parser;
+
+                    import org.drools.drlx.domain.Person;
+
+                    import org.drools.drlx.ruleunit.MyUnit;
+                    unit MyUnit;
+
+                    rule JoinRule {
+                        Person p1 : /seniors[ age > 30 ],
+                        Person p2 : /juniors[ age < p1.age ],
+                        do { System.out.println(p2.getName() + " is younger than " + p1.getName()); }
+                    }
+                    """;
+
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            Path outputDir = Files.createTempDirectory("drlx-archive-");
+            new DrlxCompiler(outputDir).preBuild(rule);
+
+            Path archiveFile = DrlxBuildArchive.archiveFilePath(outputDir);
+            assertThat(Files.exists(archiveFile)).isTrue();
+            assertThat(Files.exists(DrlxLambdaMetadata.metadataFilePath(outputDir))).isFalse();
+
+            // only the archive is moved: it must not depend on the class files left in outputDir
+            Path relocatedDir = Files.createTempDirectory("drlx-archive-relocated-");
+            Files.copy(archiveFile, DrlxBuildArchive.archiveFilePath(relocatedDir));
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            KieBase kieBase = new DrlxCompiler(relocatedDir).build(rule);
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                TrackingAgendaEventListener listener = new TrackingAgendaEventListener();
+                instance.addEventListener(listener);
+                unit.seniors.add(new Person("Alice", 40));
+                unit.juniors.add(new Person("Bob", 25));
+
+                int fired = instance.fire();
+                assertThat(fired).isEqualTo(1);
+                assertThat(listener.getAfterMatchFired()).containsExactly("JoinRule");
+            }
+        } finally {
+            if (previousStrategy == null) {
+                System.clearProperty(DrlxBuildCacheStrategy.PROPERTY);
+            } else {
+                System.setProperty(DrlxBuildCacheStrategy.PROPERTY, previousStrategy);
+            }
+        }
+    }
+
+    @Test
+    void testTwoStepBuildWithLazyArchive() throws IOException {
+        String previousStrategy = System.getProperty(DrlxBuildCacheStrategy.PROPERTY);
+        String previousLoading = System.getProperty(DrlxLambdaLoadMode.PROPERTY);
+        System.setProperty(DrlxBuildCacheStrategy.PROPERTY, "archive");
+
+        try {
+            String rule = """
+                    package org.drools.drlx.parser;
+
+                    import org.drools.drlx.domain.Person;
+
+                    import org.drools.drlx.ruleunit.MyUnit;
+                    unit MyUnit;
+
+                    rule JoinRule {
+                        Person p1 : /seniors[ age > 30 ],
+                        Person p2 : /juniors[ age < p1.age ],
+                        do { System.out.println(p2.getName() + " is younger than " + p1.getName()); }
+                    }
+
+                    rule NeverFires {
+                        Person p : /seniors[ name != null && age > 200 ],
+                        do { System.out.println(p.getName()); }
+                    }
+                    """;
+
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            Path outputDir = Files.createTempDirectory("drlx-archive-lazy-");
+            new DrlxCompiler(outputDir).preBuild(rule);
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            System.setProperty(DrlxLambdaLoadMode.PROPERTY, "lazy");
+            KieBase kieBase = new DrlxCompiler(outputDir).build(rule);
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                TrackingAgendaEventListener listener = new TrackingAgendaEventListener();
+                instance.addEventListener(listener);
+                unit.seniors.add(new Person("Alice", 40));
+                unit.juniors.add(new Person("Bob", 25));
+
+                int fired = instance.fire();
+                assertThat(fired).isEqualTo(1);
+                assertThat(listener.getAfterMatchFired()).containsExactly("JoinRule");
+            }
+        } finally {
+            restoreProperty(DrlxBuildCacheStrategy.PROPERTY, previousStrategy);
+            restoreProperty(DrlxLambdaLoadMode.PROPERTY, previousLoading);
+        }
+    }
+
+    @Test
+    void testTwoStepBuildWithBulkDefinition() throws IOException {
+        String previousDefine = System.getProperty(DrlxLambdaDefineMode.PROPERTY);
+
+        try {
+            String rule = """
+                    package org.drools.drlx.parser;
+
+                    import org.drools.drlx.domain.Person;
+
+                    import org.drools.drlx.ruleunit.MyUnit;
+                    unit MyUnit;
+
+                    rule JoinRule {
+                        Person p1 : /seniors[ age > 30 ],
+                        Person p2 : /juniors[ age < p1.age ],
+                        do { System.out.println(p2.getName() + " is younger than " + p1.getName()); }
+                    }
+                    """;
+
+            LambdaRuntime.getInstance().resetAndRemoveAllPersistedFiles();
+
+            DrlxCompiler compiler = new DrlxCompiler();
+            compiler.preBuild(rule);
+
+            System.setProperty(DrlxLambdaDefineMode.PROPERTY, "bulk");
+            KieBase kieBase = compiler.build(rule);
+            MyUnit unit = new MyUnit();
+            try (DrlxRuleUnitInstance<MyUnit> instance = DrlxRuleUnitInstance.create(kieBase, unit)) {
+                TrackingAgendaEventListener listener = new TrackingAgendaEventListener();
+                instance.addEventListener(listener);
+                unit.seniors.add(new Person("Alice", 40));
+                unit.juniors.add(new Person("Bob", 25));
+
+                int fired = instance.fire();
+                assertThat(fired).isEqualTo(1);
+                assertThat(listener.getAfterMatchFired()).containsExactly("JoinRule");
+            }
+        } finally {
+            restoreProperty(DrlxLambdaDefineMode.PROPERTY, previousDefine);
+        }
+    }
+
+    private static void restoreProperty(String key, String previous) {
+        if (previous == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, previous);
+        }
+    }
+
     @Test
     void testTwoStepBuild() throws IOException {
         String rule = """